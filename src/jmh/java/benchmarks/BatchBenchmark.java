@@ -0,0 +1,91 @@
+package benchmarks;
+
+import core.BatchObserver;
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A map/filter/map chain over tiny items, emitted one by one from {@code create} versus
+ * in batches from {@code fromArray}, into a plain observer and into a
+ * {@link BatchObserver} that takes the batches whole.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Param({"1000000"})
+    public int count;
+
+    private Integer[] items;
+    private Observable<Integer> perItem;
+    private Observable<Integer> batched;
+
+    @Setup
+    public void setup() {
+        items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i & 127;
+        }
+        perItem = Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+        batched = Observable.fromArray(items);
+    }
+
+    private static Observable<Integer> chain(Observable<Integer> source) {
+        return source.map(i -> i + 1)
+                .filter(i -> (i & 1) == 0)
+                .map(i -> i - 1);
+    }
+
+    @Benchmark
+    public void perItem(Blackhole bh) {
+        chain(perItem).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void batchedIntoPlainObserver(Blackhole bh) {
+        chain(batched).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void batchedIntoBatchObserver(Blackhole bh) {
+        chain(batched).subscribe(new BatchSink(bh));
+    }
+
+    static final class BatchSink extends BenchmarkObserver<Integer> implements BatchObserver<Integer> {
+        private final Blackhole bh;
+
+        BatchSink(Blackhole bh) {
+            super(bh);
+            this.bh = bh;
+        }
+
+        @Override
+        public void onNextBatch(Object[] items, int count) {
+            for (int i = 0; i < count; i++) {
+                bh.consume(items[i]);
+            }
+        }
+    }
+}
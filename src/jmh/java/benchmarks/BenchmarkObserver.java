@@ -0,0 +1,41 @@
+package benchmarks;
+
+import core.Observer;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Observer that sinks every item into a {@link Blackhole}. Meant for synchronous
+ * pipelines where {@code subscribe} returns after the terminal event.
+ */
+class BenchmarkObserver<T> implements Observer<T> {
+    private final Blackhole bh;
+    private boolean disposed;
+
+    BenchmarkObserver(Blackhole bh) {
+        this.bh = bh;
+    }
+
+    @Override
+    public void onNext(T item) {
+        bh.consume(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        bh.consume(t);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedulers.IOThreadScheduler;
+import schedulers.Scheduler;
+import schedulers.VirtualThreadScheduler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code subscriptions} sources that each block for {@code blockMillis} (standing in for a
+ * JDBC or HTTP call) subscribed at once via {@code subscribeOn}. One operation waits for all
+ * of them. Besides the wall-clock time, {@code peakPlatformThreads} reports how many
+ * platform threads the JVM needed, which is what dominates the memory footprint of the
+ * cached pool: each one reserves a native stack.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xss512k")
+@State(Scope.Benchmark)
+public class BlockingSubscriptionBenchmark {
+
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    @Param({"10000"})
+    public int subscriptions;
+
+    @Param({"20"})
+    public int blockMillis;
+
+    private Scheduler hop;
+    private Observable<Integer> blocking;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Threads {
+        public long peakPlatformThreads;
+
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            threads.resetPeakThreadCount();
+        }
+
+        void record() {
+            peakPlatformThreads = threads.getPeakThreadCount();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        hop = switch (scheduler) {
+            case "io" -> new IOThreadScheduler();
+            case "virtual" -> new VirtualThreadScheduler();
+            default -> throw new IllegalArgumentException(scheduler);
+        };
+        blocking = Observable.create(emitter -> {
+            try {
+                Thread.sleep(blockMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            emitter.onNext(1);
+            emitter.onComplete();
+        });
+    }
+
+    @Benchmark
+    public void blockingFanOut(Blackhole bh, Threads threads) throws InterruptedException {
+        // every subscription delivers one item and one completion; the observer waits
+        // for "expected items + 1 completion" signals in total
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, subscriptions * 2 - 1);
+        for (int i = 0; i < subscriptions; i++) {
+            blocking.subscribeOn(hop).subscribe(observer);
+        }
+        observer.await();
+        threads.record();
+    }
+}
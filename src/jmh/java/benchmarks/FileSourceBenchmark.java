@@ -0,0 +1,104 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass over a {@code sizeMb} log file of ~80-byte lines: the {@code BufferedReader}
+ * inside {@code Observable.create} approach versus the memory-mapped sources, emitting
+ * undecoded line slices, decoded lines and 64 KiB chunks. The file is written once per
+ * trial and is hot in the page cache, so this measures CPU and allocation, not the disk.
+ * Run with {@code -p sizeMb=1024} for the 1 GB case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileSourceBenchmark {
+
+    @Param({"64"})
+    public int sizeMb;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("file-source-benchmark", ".log");
+        long target = (long) sizeMb * 1024 * 1024;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long i = 0; written < target; i++) {
+                String line = "2024-01-01T00:00:00.000Z INFO  request " + i + " served in " + (i % 997) + " ms ok";
+                writer.write(line);
+                writer.write('\n');
+                written += line.length() + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void bufferedReaderLines(Blackhole bh) {
+        Observable.<String>create(emitter -> {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null && !emitter.isDisposed()) {
+                    emitter.onNext(line);
+                }
+            } catch (IOException e) {
+                emitter.onError(new UncheckedIOException(e));
+                return;
+            }
+            emitter.onComplete();
+        }).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void mappedLines(Blackhole bh) {
+        Observable.fromFileLines(file).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void mappedLinesDecoded(Blackhole bh) {
+        Observable.fromFileLines(file)
+                .map(line -> {
+                    byte[] bytes = new byte[line.remaining()];
+                    line.get(bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                })
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void mappedChunks(Blackhole bh) {
+        Observable.fromFile(file).subscribe(new BenchmarkObserver<>(bh));
+    }
+}
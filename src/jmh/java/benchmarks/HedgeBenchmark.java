@@ -0,0 +1,86 @@
+package benchmarks;
+
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code flatMap} fan-out of {@code calls} requests to a stand-in backend that answers
+ * in 1 ms, except for one request in 50 that takes 50 ms. Compares the latency of the
+ * whole fan-out with plain calls, with each call hedged after 5 ms, and with each call
+ * falling back to a cached reply after 5 ms. Run in sample mode to see the percentiles.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HedgeBenchmark {
+
+    @Param({"10"})
+    public int calls;
+
+    private IOThreadScheduler io;
+    private ComputationScheduler timers;
+    private Observable<String> backend;
+
+    @Setup
+    public void setup() {
+        io = new IOThreadScheduler();
+        timers = new ComputationScheduler(1);
+        backend = Observable.create((ObservableOnSubscribe<String>) emitter -> {
+            long latency = ThreadLocalRandom.current().nextInt(50) == 0 ? 50 : 1;
+            Disposable reply = io.schedule(() -> {
+                emitter.onNext("reply");
+                emitter.onComplete();
+            }, latency, TimeUnit.MILLISECONDS);
+            emitter.setDisposable(reply);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        io.shutdown();
+        timers.shutdown();
+    }
+
+    @Benchmark
+    public void plain(Blackhole bh) throws InterruptedException {
+        run(bh, backend);
+    }
+
+    @Benchmark
+    public void hedged(Blackhole bh) throws InterruptedException {
+        run(bh, backend.hedge(5, TimeUnit.MILLISECONDS, 2, timers));
+    }
+
+    @Benchmark
+    public void timeoutFallback(Blackhole bh) throws InterruptedException {
+        run(bh, backend.timeout(5, TimeUnit.MILLISECONDS, Observable.just("cached"), timers));
+    }
+
+    private void run(Blackhole bh, Observable<String> call) throws InterruptedException {
+        LatchedObserver<String> observer = new LatchedObserver<>(bh, calls);
+        Observable.range(0, calls).flatMap(i -> call).subscribe(observer);
+        observer.await();
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import core.Observer;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observer for asynchronous pipelines. The benchmark thread waits until all
+ * {@code expected} items and the completion signal have arrived, in whatever
+ * order the scheduler delivers them.
+ */
+class LatchedObserver<T> implements Observer<T> {
+    private final Blackhole bh;
+    private final AtomicInteger remaining;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile boolean disposed;
+
+    LatchedObserver(Blackhole bh, int expected) {
+        this.bh = bh;
+        this.remaining = new AtomicInteger(expected + 1);
+    }
+
+    @Override
+    public void onNext(T item) {
+        bh.consume(item);
+        signal();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        bh.consume(t);
+        done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        signal();
+    }
+
+    private void signal() {
+        if (remaining.decrementAndGet() == 0) {
+            done.countDown();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void await() throws InterruptedException {
+        if (!done.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Pipeline did not terminate in time");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import core.Observable;
+import core.Observer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedulers.IOThreadScheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code sources} observables, each emitting its share of {@code count} items from its
+ * own IO thread, joined by {@code merge}, {@code zip} and {@code combineLatest}, with a
+ * {@code flatMap} over the same sources, whose inners share one concurrent queue, as the
+ * contended baseline. One operation is one full run, including the wait for completion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiSourceBenchmark {
+
+    @Param({"2", "8", "32"})
+    public int sources;
+
+    @Param({"1000000"})
+    public int count;
+
+    private IOThreadScheduler io;
+    private Observable<Integer>[] array;
+    private List<Observable<Integer>> list;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        io = new IOThreadScheduler();
+        array = new Observable[sources];
+        for (int s = 0; s < sources; s++) {
+            array[s] = Observable.range(0, count / sources).subscribeOn(io);
+        }
+        list = Arrays.asList(array);
+    }
+
+    @TearDown
+    public void tearDown() {
+        io.shutdown();
+    }
+
+    @Benchmark
+    public void merge(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, count / sources * sources);
+        Observable.merge(array).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void flatMap(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, count / sources * sources);
+        Observable.fromArray(array).flatMap(source -> source).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void zip(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Object> observer = new LatchedObserver<>(bh, count / sources);
+        Observable.zip(list, row -> row[0]).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void combineLatest(Blackhole bh) throws InterruptedException {
+        TerminalObserver observer = new TerminalObserver(bh);
+        Observable.combineLatest(list, latest -> latest[0]).subscribe(observer);
+        observer.await();
+    }
+
+    /**
+     * Waits for the terminal event only: how many combinations combineLatest emits
+     * depends on how the sources interleave.
+     */
+    static final class TerminalObserver implements Observer<Object> {
+        private final Blackhole bh;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean disposed;
+
+        TerminalObserver(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void onNext(Object item) {
+            bh.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            bh.consume(t);
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        void await() throws InterruptedException {
+            if (!done.await(60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Pipeline did not terminate in time");
+            }
+        }
+    }
+}
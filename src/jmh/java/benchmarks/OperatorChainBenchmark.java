@@ -0,0 +1,110 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronous operator chains. One operation is a full subscription over {@code count}
+ * items, so per-item cost is {@code 1 / (score * count)} and per-item allocation is
+ * {@code gc.alloc.rate.norm / count}. Items are boxed up front so that the numbers
+ * only contain what the pipeline itself allocates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperatorChainBenchmark {
+
+    @Param({"1", "1000", "1000000"})
+    public int count;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        source = Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Benchmark
+    public void create(Blackhole bh) {
+        source.subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void createRange(Blackhole bh) {
+        int n = count;
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < n && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void range(Blackhole bh) {
+        Observable.range(0, count).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void map(Blackhole bh) {
+        source.map(i -> i + 1)
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void mapFilter(Blackhole bh) {
+        source.map(i -> i + 1)
+                .filter(i -> (i & 1) == 0)
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void mapFilterFlatMap(Blackhole bh) {
+        source.map(i -> i + 1)
+                .filter(i -> (i & 1) == 0)
+                .flatMap(i -> Observable.<Integer>create(emitter -> {
+                    emitter.onNext(i);
+                    emitter.onComplete();
+                }))
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void mapFilterFlatMapJust(Blackhole bh) {
+        source.map(i -> i + 1)
+                .filter(i -> (i & 1) == 0)
+                .flatMap(Observable::just)
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void concatMapJust(Blackhole bh) {
+        source.concatMap(Observable::just)
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+}
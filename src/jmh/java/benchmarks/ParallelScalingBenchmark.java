@@ -0,0 +1,80 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedulers.ComputationScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A CPU-bound {@code map} ({@link Blackhole#consumeCPU} per item) run on a single thread
+ * and on {@code rails} rails of a {@link ComputationScheduler} with as many event loops.
+ * Throughput should grow with {@code rails} up to the number of physical cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelScalingBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int rails;
+
+    @Param({"10000"})
+    public int count;
+
+    @Param({"1000"})
+    public long work;
+
+    private ComputationScheduler scheduler;
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        scheduler = new ComputationScheduler(rails);
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        source = Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    private Integer burn(Integer item) {
+        Blackhole.consumeCPU(work);
+        return item;
+    }
+
+    @Benchmark
+    public void singleThread(Blackhole bh) {
+        source.map(this::burn).subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void parallel(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, count);
+        source.parallel(rails)
+                .runOn(scheduler)
+                .map(this::burn)
+                .sequential()
+                .subscribe(observer);
+        observer.await();
+    }
+}
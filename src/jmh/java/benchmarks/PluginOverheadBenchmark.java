@@ -0,0 +1,79 @@
+package benchmarks;
+
+import core.Observable;
+import core.ObservablePlugins;
+import core.StageMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code mapFilterFlatMap} chain of {@link OperatorChainBenchmark} with no hook,
+ * with a pass-through {@code onSubscribe} hook and with {@link StageMetrics} installed.
+ * {@code none} should match {@link OperatorChainBenchmark} exactly: hooks are only read
+ * at assembly and subscription, never per item.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PluginOverheadBenchmark {
+
+    @Param({"none", "passThrough", "stageMetrics"})
+    public String hook;
+
+    @Param({"1000"})
+    public int count;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        switch (hook) {
+            case "none" -> ObservablePlugins.reset();
+            case "passThrough" -> ObservablePlugins.setOnSubscribe((observable, observer) -> observer);
+            case "stageMetrics" -> ObservablePlugins.setOnSubscribe(new StageMetrics());
+            default -> throw new IllegalArgumentException(hook);
+        }
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        source = Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        ObservablePlugins.reset();
+    }
+
+    @Benchmark
+    public void mapFilterFlatMap(Blackhole bh) {
+        source.map(i -> i + 1)
+                .filter(i -> (i & 1) == 0)
+                .flatMap(i -> Observable.<Integer>create(emitter -> {
+                    emitter.onNext(i);
+                    emitter.onComplete();
+                }))
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+}
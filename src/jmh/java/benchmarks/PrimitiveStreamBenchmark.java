@@ -0,0 +1,94 @@
+package benchmarks;
+
+import core.LongObservable;
+import core.LongObserver;
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timestamp pipeline (shift, keep the recent half) over boxed {@code Observable<Long>}
+ * and over {@link LongObservable}, which also sums the result without boxing it.
+ * Compare {@code gc.alloc.rate.norm} to see the boxing cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveStreamBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int count;
+
+    private long[] timestamps;
+
+    @Setup
+    public void setup() {
+        timestamps = new long[count];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = now + i;
+        }
+    }
+
+    @Benchmark
+    public void boxed(Blackhole bh) {
+        long cutoff = timestamps[count / 2];
+        Observable.<Long>create(emitter -> {
+                    for (long timestamp : timestamps) {
+                        emitter.onNext(timestamp);
+                    }
+                    emitter.onComplete();
+                })
+                .map(t -> t + 1)
+                .filter(t -> t > cutoff)
+                .subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void primitive(Blackhole bh) {
+        long cutoff = timestamps[count / 2];
+        LongObservable.fromArray(timestamps)
+                .map(t -> t + 1)
+                .filter(t -> t > cutoff)
+                .sum()
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long item) {
+                        bh.consume(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        bh.consume(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+
+                    @Override
+                    public void dispose() {
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return false;
+                    }
+                });
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+import schedulers.Scheduler;
+import schedulers.SingleThreadScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of moving {@code count} items across a thread boundary with
+ * {@code subscribeOn}, {@code observeOn} or both, per scheduler type.
+ * One operation is one full pipeline run, including the wait for completion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerHopBenchmark {
+
+    @Param({"computation", "io", "single"})
+    public String scheduler;
+
+    @Param({"1", "1000", "1000000"})
+    public int count;
+
+    private Scheduler hop;
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        hop = switch (scheduler) {
+            case "computation" -> new ComputationScheduler();
+            case "io" -> new IOThreadScheduler();
+            case "single" -> new SingleThreadScheduler();
+            default -> throw new IllegalArgumentException(scheduler);
+        };
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        source = Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Benchmark
+    public void subscribeOn(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, count);
+        source.subscribeOn(hop).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void observeOn(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, count);
+        source.observeOn(hop).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void subscribeOnObserveOn(Blackhole bh) throws InterruptedException {
+        LatchedObserver<Integer> observer = new LatchedObserver<>(bh, count);
+        source.subscribeOn(hop).observeOn(hop).subscribe(observer);
+        observer.await();
+    }
+}
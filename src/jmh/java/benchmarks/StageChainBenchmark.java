@@ -0,0 +1,81 @@
+package benchmarks;
+
+import core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep map/filter chains against the equivalent hand-written loop. Stages alternate
+ * between {@code map(i -> i + 1)} and {@code filter(i -> i >= 0)}, so no item is dropped.
+ * One operation is one pass over {@code count} items.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StageChainBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int stages;
+
+    @Param({"1000"})
+    public int count;
+
+    private Integer[] items;
+    private Observable<Integer> chain;
+
+    @Setup
+    public void setup() {
+        items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        Observable<Integer> observable = Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+        for (int i = 0; i < stages; i++) {
+            observable = (i & 1) == 0 ? observable.map(v -> v + 1) : observable.filter(v -> v >= 0);
+        }
+        chain = observable;
+    }
+
+    @Benchmark
+    public void chain(Blackhole bh) {
+        chain.subscribe(new BenchmarkObserver<>(bh));
+    }
+
+    @Benchmark
+    public void loop(Blackhole bh) {
+        for (Integer item : items) {
+            Integer value = item;
+            boolean pass = true;
+            for (int i = 0; i < stages && pass; i++) {
+                if ((i & 1) == 0) {
+                    value = value + 1;
+                } else {
+                    pass = value >= 0;
+                }
+            }
+            if (pass) {
+                bh.consume(value);
+            }
+        }
+    }
+}
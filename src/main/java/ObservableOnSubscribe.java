@@ -1,4 +0,0 @@
-@FunctionalInterface
-public interface ObservableOnSubscribe<T> {
-    void subscribe(Observer<? super T> observer);
-}
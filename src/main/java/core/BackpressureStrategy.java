@@ -0,0 +1,15 @@
+package core;
+
+/**
+ * What {@link Flowable#create} does with items emitted while the downstream has no demand.
+ */
+public enum BackpressureStrategy {
+    /** Keeps every item in an unbounded queue until it is requested. */
+    BUFFER,
+    /** Discards the item. */
+    DROP,
+    /** Keeps only the most recent item. */
+    LATEST,
+    /** Signals {@link MissingBackpressureException} and cancels the producer. */
+    ERROR
+}
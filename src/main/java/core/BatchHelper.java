@@ -0,0 +1,25 @@
+package core;
+
+/**
+ * Batch delivery shared by the operators, in the style of {@link DisposableHelper}.
+ */
+final class BatchHelper {
+
+    private BatchHelper() {
+    }
+
+    /**
+     * Hands {@code items[0 .. count)} to {@code downstream} in one call if it takes
+     * batches, otherwise item by item.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void emit(Observer<? super T> downstream, Object[] items, int count) {
+        if (downstream instanceof BatchObserver<?> batch) {
+            ((BatchObserver<? super T>) batch).onNextBatch(items, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            downstream.onNext((T) items[i]);
+        }
+    }
+}
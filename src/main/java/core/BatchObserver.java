@@ -0,0 +1,21 @@
+package core;
+
+/**
+ * An {@link Observer} that can also take a run of items in one call. Sources and
+ * operators that have several items at hand ({@code fromArray}, the {@code observeOn}
+ * drain, fused map/filter stages) hand them over with {@link #onNextBatch}, which costs
+ * one virtual call per batch instead of one per item. Observers that do not implement
+ * this interface keep receiving plain {@code onNext} calls.
+ *
+ * <p>The items are passed as {@code Object[]}, each of them a {@code T}: the arrays are
+ * the operators' own reusable buffers, and a {@code T[]} parameter would make every
+ * implementation with a concrete {@code T} fail its bridge-method cast.
+ */
+public interface BatchObserver<T> extends Observer<T> {
+    /**
+     * Receives {@code items[0]} to {@code items[count - 1]}, in order, as if each had
+     * been passed to {@link #onNext}. The array belongs to the caller and is reused after
+     * this method returns: do not modify it or keep a reference to it.
+     */
+    void onNextBatch(Object[] items, int count);
+}
@@ -0,0 +1,44 @@
+package core;
+
+/**
+ * Emits the latest item, if any, to each new observer and then everything pushed after
+ * it. Observers arriving after the terminal event receive only that event. Backed by a
+ * {@link ReplayRingBuffer} of size one, so a push racing with a subscription still
+ * delivers every item exactly once and in order.
+ */
+public final class BehaviorSubject<T> extends Subject<T> {
+
+    private BehaviorSubject() {
+        super(new Multicast<>(new ReplayRingBuffer<>(1), false));
+    }
+
+    public static <T> BehaviorSubject<T> create() {
+        return new BehaviorSubject<>();
+    }
+
+    /**
+     * Creates a subject whose observers start with {@code value} until an item is pushed.
+     */
+    public static <T> BehaviorSubject<T> createDefault(T value) {
+        BehaviorSubject<T> subject = new BehaviorSubject<>();
+        subject.onNext(value);
+        return subject;
+    }
+
+    /**
+     * The latest item, or null if none was pushed yet.
+     */
+    public T getValue() {
+        ReplayRingBuffer<T> buffer = state.buffer;
+        for (;;) {
+            long index = buffer.produced() - 1;
+            if (index < 0) {
+                return null;
+            }
+            ReplayRingBuffer.Node<T> node = buffer.node(index);
+            if (node.index == index) {
+                return node.value;
+            }
+        }
+    }
+}
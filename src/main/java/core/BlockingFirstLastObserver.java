@@ -0,0 +1,85 @@
+package core;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Waits for the first or the last item of a subscription, for {@code blockingFirst} and
+ * {@code blockingLast}. The first-item variant disposes the upstream as soon as it has
+ * its item.
+ */
+final class BlockingFirstLastObserver<T> extends AtomicReference<Disposable> implements Observer<T> {
+    private final boolean first;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private T value;
+    private Throwable error;
+    private volatile boolean disposed;
+
+    BlockingFirstLastObserver(boolean first) {
+        this.first = first;
+    }
+
+    void setDisposable(Disposable d) {
+        DisposableHelper.set(this, d);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (disposed) {
+            return;
+        }
+        value = item;
+        if (first) {
+            dispose();
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (disposed) {
+            return;
+        }
+        error = t;
+        terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        if (disposed) {
+            return;
+        }
+        terminated.countDown();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        DisposableHelper.dispose(this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    T await() {
+        if (terminated.getCount() != 0) {
+            try {
+                terminated.await();
+            } catch (InterruptedException e) {
+                dispose();
+                Thread.currentThread().interrupt();
+                throw BlockingObservableIterator.rethrow(e);
+            }
+        }
+        if (error != null) {
+            throw BlockingObservableIterator.rethrow(error);
+        }
+        if (value == null) {
+            throw new NoSuchElementException("The source completed without items");
+        }
+        return value;
+    }
+}
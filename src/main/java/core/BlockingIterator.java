@@ -0,0 +1,20 @@
+package core;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} over a live subscription, returned by
+ * {@link Observable#blockingIterator(int)}. Stopping before the end leaves the source
+ * subscribed, and a producer waiting for the consumer keeps waiting, until the iterator is
+ * closed; use it in a try-with-resources block.
+ */
+public interface BlockingIterator<T> extends Iterator<T>, Disposable, AutoCloseable {
+
+    /**
+     * Disposes the subscription.
+     */
+    @Override
+    default void close() {
+        dispose();
+    }
+}
@@ -0,0 +1,279 @@
+package core;
+
+import schedulers.NonBlockingThread;
+
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The bridge behind {@code blockingIterable} and {@code toStream}: the upstream fills a
+ * bounded {@link SpscArrayQueue} of {@code prefetch} items and the consuming thread parks
+ * while it is empty. A producer thread that finds the queue full parks too, and the
+ * consumer wakes it each time it has taken three quarters of {@code prefetch}, so a fast
+ * source never runs more than {@code prefetch} items ahead of a slow consumer.
+ *
+ * <p>The thread that subscribed cannot wait for itself: what a source emits synchronously
+ * on that thread beyond {@code prefetch} goes to an unbounded overflow queue, which the
+ * producer keeps using from then on to preserve order. Put a {@code subscribeOn} in front
+ * of a synchronous source to keep the bound. A {@link NonBlockingThread} takes the same
+ * path instead of parking, since it would stall every other stream on its event loop.
+ *
+ * <p>As a {@link Spliterator}, {@link #trySplit} hands out the next {@code prefetch} items
+ * as an array, so a parallel stream spreads them over the fork-join pool in fixed batches
+ * instead of the ever growing ones of {@code Spliterators.spliteratorUnknownSize}.
+ */
+final class BlockingObservableIterator<T> extends AtomicReference<Disposable>
+        implements Observer<T>, BlockingIterator<T>, Spliterator<T> {
+    private final SpscArrayQueue<T> queue;
+    private final int prefetch;
+    private final int limit;
+    private final Thread owner = Thread.currentThread();
+    private volatile SpscLinkedArrayQueue<T> overflow;
+    private volatile boolean done;
+    private Throwable error;
+    private volatile boolean disposed;
+    private volatile Thread waitingConsumer;
+    private volatile Thread waitingProducer;
+
+    // consumer side
+    private T next;
+    private int consumed;
+
+    BlockingObservableIterator(int prefetch) {
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    void setDisposable(Disposable d) {
+        DisposableHelper.set(this, d);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        SpscLinkedArrayQueue<T> o = overflow;
+        if (o != null) {
+            o.offer(item);
+        } else if (!queue.offer(item)) {
+            Thread current = Thread.currentThread();
+            if (current == owner || current instanceof NonBlockingThread) {
+                o = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+                o.offer(item);
+                overflow = o;
+            } else if (!awaitSpace(item)) {
+                return;
+            }
+        }
+        wakeConsumer();
+    }
+
+    private boolean awaitSpace(T item) {
+        Thread current = Thread.currentThread();
+        waitingProducer = current;
+        try {
+            for (;;) {
+                VarHandle.fullFence();
+                if (queue.offer(item)) {
+                    return true;
+                }
+                if (disposed) {
+                    return false;
+                }
+                if (current.isInterrupted()) {
+                    DisposableHelper.dispose(this);
+                    onError(new InterruptedException("Interrupted while waiting for the consumer"));
+                    return false;
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            waitingProducer = null;
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        error = t;
+        done = true;
+        wakeConsumer();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        wakeConsumer();
+    }
+
+    private void wakeConsumer() {
+        // the queue writes are release-only, the waiter read must not move above them
+        VarHandle.fullFence();
+        Thread waiter = waitingConsumer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        DisposableHelper.dispose(this);
+        Thread waiter = waitingProducer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        for (;;) {
+            boolean d = done;
+            T item = poll();
+            if (item != null) {
+                next = item;
+                return true;
+            }
+            if (d) {
+                Throwable e = error;
+                if (e != null) {
+                    throw rethrow(e);
+                }
+                return false;
+            }
+            await();
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = next;
+        next = null;
+        return item;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!hasNext()) {
+            return false;
+        }
+        action.accept(next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (hasNext()) {
+            action.accept(next());
+        }
+    }
+
+    /**
+     * Waits for a full batch of {@code prefetch} items, or the end of the source.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (!hasNext()) {
+            return null;
+        }
+        Object[] batch = new Object[prefetch];
+        int n = 0;
+        while (n < batch.length && hasNext()) {
+            batch[n++] = next;
+            next = null;
+        }
+        return Spliterators.spliterator(batch, 0, n, ORDERED | NONNULL);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private T poll() {
+        T item = queue.poll();
+        if (item != null) {
+            if (++consumed == limit) {
+                consumed = 0;
+                wakeProducer();
+            }
+            return item;
+        }
+        SpscLinkedArrayQueue<T> o = overflow;
+        return o != null ? o.poll() : null;
+    }
+
+    private boolean isEmpty() {
+        SpscLinkedArrayQueue<T> o = overflow;
+        return queue.isEmpty() && (o == null || o.isEmpty());
+    }
+
+    private void wakeProducer() {
+        VarHandle.fullFence();
+        Thread waiter = waitingProducer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private void await() {
+        // give a producer that shares our core a chance to fill the queue before parking,
+        // otherwise every item it emits wakes us up for just that one item
+        Thread.yield();
+        if (done || !isEmpty()) {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        waitingConsumer = current;
+        VarHandle.fullFence();
+        if (!done && isEmpty()) {
+            LockSupport.park(this);
+        }
+        waitingConsumer = null;
+        if (current.isInterrupted()) {
+            dispose();
+            throw rethrow(new InterruptedException("Interrupted while waiting for the next item"));
+        }
+    }
+
+    /**
+     * Unchecked exceptions and errors are rethrown as they are, checked ones wrapped.
+     */
+    static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        throw new RuntimeException(t);
+    }
+}
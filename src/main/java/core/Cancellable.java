@@ -0,0 +1,10 @@
+package core;
+
+/**
+ * A cancellation action, e.g. closing a resource, registered through
+ * {@link ObservableEmitter#setCancellable}.
+ */
+@FunctionalInterface
+public interface Cancellable {
+    void cancel() throws Exception;
+}
@@ -0,0 +1,125 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A set of disposables disposed together. The set is a copy-on-write array swapped with
+ * CAS, so adding, deleting and disposing never block; it is meant for the handful of
+ * resources a stream holds at a time (e.g. the active inner sources of a flatMap), where
+ * copying is cheaper than any lock. Once disposed, added disposables are disposed on arrival.
+ */
+public final class CompositeDisposable implements Disposable {
+    private static final Disposable[] EMPTY = new Disposable[0];
+    private static final Disposable[] TERMINATED = new Disposable[0];
+
+    private final AtomicReference<Disposable[]> resources = new AtomicReference<>(EMPTY);
+
+    public CompositeDisposable() {
+    }
+
+    public CompositeDisposable(Disposable... disposables) {
+        resources.set(disposables.clone());
+    }
+
+    /**
+     * Adds {@code d}; returns false and disposes it if this composite is already disposed.
+     */
+    public boolean add(Disposable d) {
+        for (;;) {
+            Disposable[] current = resources.get();
+            if (current == TERMINATED) {
+                d.dispose();
+                return false;
+            }
+            Disposable[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = d;
+            if (resources.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes {@code d} and disposes it.
+     */
+    public boolean remove(Disposable d) {
+        if (delete(d)) {
+            d.dispose();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes {@code d} without disposing it, e.g. once the resource finished on its own.
+     */
+    public boolean delete(Disposable d) {
+        for (;;) {
+            Disposable[] current = resources.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == d) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            Disposable[] next;
+            if (current.length == 1) {
+                next = EMPTY;
+            } else {
+                next = new Disposable[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (resources.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        return resources.get().length;
+    }
+
+    /**
+     * Disposes the current contents but keeps accepting new ones.
+     */
+    public void clear() {
+        for (;;) {
+            Disposable[] current = resources.get();
+            if (current == TERMINATED) {
+                return;
+            }
+            if (resources.compareAndSet(current, EMPTY)) {
+                disposeAll(current);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        Disposable[] current = resources.get();
+        if (current != TERMINATED) {
+            current = resources.getAndSet(TERMINATED);
+            if (current != TERMINATED) {
+                disposeAll(current);
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return resources.get() == TERMINATED;
+    }
+
+    private static void disposeAll(Disposable[] disposables) {
+        for (Disposable d : disposables) {
+            d.dispose();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package core;
+
+import java.util.function.Consumer;
+
+/**
+ * An {@link Observable} that shares one upstream subscription between all of its
+ * observers. Subscribing only attaches an observer; upstream is subscribed when
+ * {@link #connect()} is called, or automatically via {@link #refCount()} and
+ * {@link #autoConnect(int)}.
+ */
+public final class ConnectableObservable<T> extends Observable<T> {
+    private final ObservableMulticast<T> multicast;
+
+    ConnectableObservable(ObservableMulticast<T> multicast) {
+        super(multicast);
+        this.multicast = multicast;
+    }
+
+    /**
+     * Subscribes upstream if not connected yet and returns the connection; disposing it
+     * disconnects every observer. Connecting after upstream has terminated starts over.
+     */
+    public Disposable connect() {
+        return multicast.connect(connection -> {
+        });
+    }
+
+    /**
+     * Connects when the first observer subscribes and disconnects when the last one
+     * disposes or terminates.
+     */
+    public Observable<T> refCount() {
+        return assemble(new ObservableRefCount<>(this));
+    }
+
+    /**
+     * Connects once the first observer subscribes and stays connected.
+     */
+    public Observable<T> autoConnect() {
+        return autoConnect(1);
+    }
+
+    /**
+     * Connects once {@code observers} observers have subscribed and stays connected.
+     */
+    public Observable<T> autoConnect(int observers) {
+        if (observers <= 0) {
+            throw new IllegalArgumentException("observers > 0 required but it was " + observers);
+        }
+        return assemble(new ObservableAutoConnect<>(this, observers));
+    }
+
+    Disposable connect(Consumer<? super Disposable> onConnect) {
+        return multicast.connect(onConnect);
+    }
+}
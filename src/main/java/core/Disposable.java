@@ -1,3 +1,5 @@
+package core;
+
 public interface Disposable {
     void dispose();
     boolean isDisposed();
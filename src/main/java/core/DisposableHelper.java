@@ -0,0 +1,94 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Disposable slot handling shared by the {@link Observable} operators, in the style of
+ * {@link SubscriptionHelper}: a slot holds the current resource, or {@link #DISPOSED}
+ * once it has been disposed, after which anything put into it is disposed on arrival.
+ */
+final class DisposableHelper {
+
+    /**
+     * Placed into a disposable slot once it has been disposed.
+     */
+    static final Disposable DISPOSED = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return true;
+        }
+    };
+
+    private DisposableHelper() {
+    }
+
+    /**
+     * Replaces the resource in {@code slot}, disposing the previous one. Returns false and
+     * disposes {@code d} if the slot was already disposed.
+     */
+    static boolean set(AtomicReference<Disposable> slot, Disposable d) {
+        for (;;) {
+            Disposable current = slot.get();
+            if (current == DISPOSED) {
+                if (d != null) {
+                    d.dispose();
+                }
+                return false;
+            }
+            if (slot.compareAndSet(current, d)) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Disposes the resource in {@code slot}; returns false if it was already disposed.
+     */
+    static boolean dispose(AtomicReference<Disposable> slot) {
+        Disposable current = slot.get();
+        if (current != DISPOSED) {
+            current = slot.getAndSet(DISPOSED);
+            if (current != DISPOSED) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wraps a {@link Cancellable} that runs at most once; a failure goes to the current
+     * thread's uncaught exception handler.
+     */
+    static Disposable fromCancellable(Cancellable cancellable) {
+        AtomicReference<Cancellable> ref = new AtomicReference<>(cancellable);
+        return new Disposable() {
+            @Override
+            public void dispose() {
+                Cancellable c = ref.getAndSet(null);
+                if (c != null) {
+                    try {
+                        c.cancel();
+                    } catch (Throwable t) {
+                        Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                    }
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return ref.get() == null;
+            }
+        };
+    }
+}
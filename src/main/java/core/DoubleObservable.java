@@ -0,0 +1,360 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Stream of unboxed {@code double} values. Items travel through {@link DoubleObserver#onNext(double)},
+ * so map/filter/reduce chains allocate nothing per item; {@link #boxed()} and
+ * {@link #mapToObj} lead back to {@link Observable}. Disposing the {@link Disposable}
+ * that {@link #subscribe} returns reaches every stage and, through {@link #boxed()} and
+ * {@code Observable.mapToDouble}, the observable subscriptions on either side.
+ */
+public class DoubleObservable {
+    private final Source source;
+
+    private DoubleObservable(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * The source receives the observer itself; it stops once {@code observer.isDisposed()}.
+     */
+    public static DoubleObservable create(DoubleObservableOnSubscribe source) {
+        return new DoubleObservable(observer -> {
+            source.subscribe(observer);
+            return observer;
+        });
+    }
+
+    public static DoubleObservable fromArray(double... items) {
+        return create(observer -> {
+            for (double item : items) {
+                if (observer.isDisposed()) {
+                    return;
+                }
+                observer.onNext(item);
+            }
+            observer.onComplete();
+        });
+    }
+
+    static <T> DoubleObservable fromObservable(Observable<T> upstream, ToDoubleFunction<? super T> mapper) {
+        return new DoubleObservable(downstream -> {
+            FromObservableObserver<T> observer = new FromObservableObserver<>(downstream, mapper);
+            observer.setUpstream(upstream.subscribe(observer));
+            return observer;
+        });
+    }
+
+    public Disposable subscribe(DoubleObserver observer) {
+        return source.subscribe(observer);
+    }
+
+    public DoubleObservable map(DoubleUnaryOperator mapper) {
+        return stage(downstream -> new StageObserver(downstream) {
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                double value;
+                try {
+                    value = mapper.applyAsDouble(item);
+                } catch (Throwable t) {
+                    onError(t);
+                    return;
+                }
+                downstream.onNext(value);
+            }
+        });
+    }
+
+    public DoubleObservable filter(DoublePredicate predicate) {
+        return stage(downstream -> new StageObserver(downstream) {
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable t) {
+                    onError(t);
+                    return;
+                }
+                if (pass) {
+                    downstream.onNext(item);
+                }
+            }
+        });
+    }
+
+    /**
+     * Folds all items into one value, emitted when upstream completes.
+     */
+    public DoubleObservable reduce(double identity, DoubleBinaryOperator accumulator) {
+        return stage(downstream -> new StageObserver(downstream) {
+            private double accumulated = identity;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulated = accumulator.applyAsDouble(accumulated, item);
+                } catch (Throwable t) {
+                    onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onNext(accumulated);
+                    downstream.onComplete();
+                }
+            }
+        });
+    }
+
+    public DoubleObservable sum() {
+        return reduce(0.0, Double::sum);
+    }
+
+    /**
+     * Emits the smallest item on completion, or nothing if upstream was empty.
+     */
+    public DoubleObservable min() {
+        return extremum(true);
+    }
+
+    /**
+     * Emits the largest item on completion, or nothing if upstream was empty.
+     */
+    public DoubleObservable max() {
+        return extremum(false);
+    }
+
+    private DoubleObservable extremum(boolean min) {
+        return stage(downstream -> new StageObserver(downstream) {
+            private boolean hasValue;
+            private double current;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    hasValue = true;
+                    current = item;
+                } else {
+                    current = min ? Math.min(current, item) : Math.max(current, item);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (hasValue) {
+                        downstream.onNext(current);
+                    }
+                    downstream.onComplete();
+                }
+            }
+        });
+    }
+
+    public Observable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(DoubleFunction<? extends R> mapper) {
+        return Observable.create(downstream -> {
+            MapToObjObserver<R> observer = new MapToObjObserver<>(downstream, mapper);
+            observer.setUpstream(subscribe(observer));
+            downstream.setDisposable(observer);
+        });
+    }
+
+    private DoubleObservable stage(Function<DoubleObserver, StageObserver> factory) {
+        return new DoubleObservable(downstream -> {
+            StageObserver stage = factory.apply(downstream);
+            stage.setUpstream(subscribe(stage));
+            return stage;
+        });
+    }
+
+    /**
+     * Subscribes an observer and returns what disposes the subscription: the observer
+     * itself for a {@link #create} source, which polls it, or the first stage otherwise.
+     */
+    @FunctionalInterface
+    private interface Source {
+        Disposable subscribe(DoubleObserver observer);
+    }
+
+    /**
+     * Disposal shared by the observers below. Each holds the subscription it was given by
+     * the stage before it, which it disposes when it is disposed, and also reports itself
+     * disposed once its downstream is, so a source polling {@code isDisposed()} sees an
+     * observer at the end of the chain that disposed itself. An error, including one thrown
+     * by an operator's function, disposes the upstream before it is forwarded.
+     */
+    private abstract static class ChainedObserver extends AtomicReference<Disposable> {
+        void setUpstream(Disposable d) {
+            if (d != this) {
+                DisposableHelper.set(this, d);
+            }
+        }
+
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        boolean isDisposed(Disposable downstream) {
+            return get() == DisposableHelper.DISPOSED || downstream.isDisposed();
+        }
+    }
+
+    /**
+     * Common terminal-event and disposal handling of the operators above; subclasses
+     * override {@code onNext} and, for aggregates, {@code onComplete}.
+     */
+    private abstract static class StageObserver extends ChainedObserver implements DoubleObserver {
+        final DoubleObserver downstream;
+        boolean done;
+
+        StageObserver(DoubleObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+
+    private static final class FromObservableObserver<T> extends ChainedObserver implements Observer<T> {
+        private final DoubleObserver downstream;
+        private final ToDoubleFunction<? super T> mapper;
+        private boolean done;
+
+        FromObservableObserver(DoubleObserver downstream, ToDoubleFunction<? super T> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            double value;
+            try {
+                value = mapper.applyAsDouble(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+
+    private static final class MapToObjObserver<R> extends ChainedObserver implements DoubleObserver {
+        private final Observer<? super R> downstream;
+        private final DoubleFunction<? extends R> mapper;
+        private boolean done;
+
+        MapToObjObserver(Observer<? super R> downstream, DoubleFunction<? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(double item) {
+            if (done) {
+                return;
+            }
+            R value;
+            try {
+                value = mapper.apply(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+}
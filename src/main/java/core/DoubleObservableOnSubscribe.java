@@ -0,0 +1,6 @@
+package core;
+
+@FunctionalInterface
+public interface DoubleObservableOnSubscribe {
+    void subscribe(DoubleObserver observer);
+}
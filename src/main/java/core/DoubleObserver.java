@@ -0,0 +1,10 @@
+package core;
+
+/**
+ * {@link Observer} for unboxed {@code double} items.
+ */
+public interface DoubleObserver extends Disposable {
+    void onNext(double item);
+    void onError(Throwable t);
+    void onComplete();
+}
@@ -0,0 +1,156 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Demand-driven counterpart of {@link Observable}. A {@link Subscriber} receives a
+ * {@link Subscription} and gets items only after asking for them with
+ * {@link Subscription#request(long)}; every queue-based operator prefetches a bounded
+ * number of items, so memory stays bounded however fast the producer is.
+ */
+public class Flowable<T> implements Publisher<T> {
+    private final Publisher<T> source;
+
+    private Flowable(Publisher<T> source) {
+        this.source = source;
+    }
+
+    public static <T> Flowable<T> create(FlowableOnSubscribe<T> source, BackpressureStrategy strategy) {
+        return new Flowable<>(new FlowableCreate<>(source, strategy));
+    }
+
+    public static <T> Flowable<T> fromIterable(Iterable<? extends T> source) {
+        return new Flowable<>(new FlowableFromIterable<>(source));
+    }
+
+    /**
+     * Subscribes to {@code source} and buffers or sheds its items according to {@code strategy}
+     * while the subscriber has no outstanding demand. Cancelling disposes the subscription
+     * to {@code source}.
+     */
+    public static <T> Flowable<T> fromObservable(Observable<T> source, BackpressureStrategy strategy) {
+        return create(emitter -> {
+            Disposable upstream = source.subscribe(new Observer<T>() {
+                @Override
+                public void onNext(T item) {
+                    emitter.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    emitter.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    emitter.onComplete();
+                }
+
+                @Override
+                public void dispose() {
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return emitter.isCancelled();
+                }
+            });
+            emitter.setDisposable(upstream);
+        }, strategy);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(subscriber);
+    }
+
+    public <R> Flowable<R> map(Function<? super T, ? extends R> mapper) {
+        return new Flowable<>(new FlowableMap<>(this, mapper));
+    }
+
+    public Flowable<T> filter(Predicate<? super T> predicate) {
+        return new Flowable<>(new FlowableFilter<>(this, predicate));
+    }
+
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper) {
+        return flatMap(mapper, Observable.bufferSize(), Observable.bufferSize());
+    }
+
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper, int maxConcurrency) {
+        return flatMap(mapper, maxConcurrency, Observable.bufferSize());
+    }
+
+    /**
+     * Maps each item to an inner publisher and merges their output. At most
+     * {@code maxConcurrency} inners are subscribed at once, each prefetching
+     * {@code prefetch} items.
+     */
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper,
+                                   int maxConcurrency, int prefetch) {
+        checkPositive(maxConcurrency, "maxConcurrency");
+        checkPositive(prefetch, "prefetch");
+        return new Flowable<>(new FlowableFlatMap<>(this, mapper, maxConcurrency, prefetch));
+    }
+
+    public Flowable<T> subscribeOn(Scheduler scheduler) {
+        return new Flowable<>(new FlowableSubscribeOn<>(this, scheduler));
+    }
+
+    public Flowable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, Observable.bufferSize());
+    }
+
+    /**
+     * Delivers items on {@code scheduler}, keeping at most {@code prefetch} of them
+     * requested from upstream and not yet delivered.
+     */
+    public Flowable<T> observeOn(Scheduler scheduler, int prefetch) {
+        checkPositive(prefetch, "prefetch");
+        return new Flowable<>(new FlowableObserveOn<>(this, scheduler, prefetch));
+    }
+
+    /**
+     * Requests everything and forwards it to an {@link Observer}. Disposing the observer
+     * cancels the subscription.
+     */
+    public Observable<T> toObservable() {
+        return Observable.create(observer -> subscribe(new Subscriber<T>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                observer.setCancellable(s::cancel);
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (observer.isDisposed()) {
+                    subscription.cancel();
+                    return;
+                }
+                observer.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    private static void checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + value);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bridges a push-style {@link FlowableOnSubscribe} to request-driven subscribers.
+ * The emitter tracks outstanding demand; what happens to items pushed without demand
+ * depends on the {@link BackpressureStrategy}.
+ */
+final class FlowableCreate<T> implements Publisher<T> {
+    private final FlowableOnSubscribe<T> source;
+    private final BackpressureStrategy strategy;
+
+    FlowableCreate(FlowableOnSubscribe<T> source, BackpressureStrategy strategy) {
+        this.source = source;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        BaseEmitter<T> emitter = switch (strategy) {
+            case BUFFER -> new BufferEmitter<>(subscriber, Observable.bufferSize());
+            case DROP -> new DropEmitter<>(subscriber);
+            case LATEST -> new LatestEmitter<>(subscriber);
+            case ERROR -> new ErrorEmitter<>(subscriber);
+        };
+        subscriber.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+    }
+
+    abstract static class BaseEmitter<T> extends AtomicLong implements FlowableEmitter<T>, Subscription {
+        final Subscriber<? super T> downstream;
+        private final AtomicReference<Disposable> resource = new AtomicReference<>();
+        volatile boolean cancelled;
+        volatile Throwable requestError;
+
+        BaseEmitter(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public final void request(long n) {
+            if (!SubscriptionHelper.validate(n)) {
+                // the error must not overlap a signal the producer may be emitting right now,
+                // so only the source is stopped here and the subclass delivers it serially
+                requestError = new IllegalArgumentException("n > 0 required but it was " + n);
+                DisposableHelper.dispose(resource);
+                onBadRequest();
+                return;
+            }
+            SubscriptionHelper.add(this, n);
+            onRequested();
+        }
+
+        @Override
+        public final void cancel() {
+            cancelled = true;
+            DisposableHelper.dispose(resource);
+            onCancelled();
+        }
+
+        @Override
+        public final void setDisposable(Disposable d) {
+            DisposableHelper.set(resource, d);
+        }
+
+        @Override
+        public final void setCancellable(Cancellable c) {
+            setDisposable(DisposableHelper.fromCancellable(c));
+        }
+
+        @Override
+        public final long requested() {
+            return get();
+        }
+
+        @Override
+        public final boolean isCancelled() {
+            return cancelled || requestError != null;
+        }
+
+        void onRequested() {
+        }
+
+        abstract void onBadRequest();
+
+        void onCancelled() {
+        }
+    }
+
+    /**
+     * Emits straight through while there is demand and hands everything else to {@link #onOverflow}.
+     * Producer signals and a bad request contend for {@code wip}; whichever side finds the
+     * other inside leaves the request error to it, so downstream signals never overlap.
+     */
+    abstract static class NoQueueEmitter<T> extends BaseEmitter<T> {
+        private final AtomicInteger wip = new AtomicInteger();
+        boolean done;
+
+        NoQueueEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled || !enter()) {
+                return;
+            }
+            if (!done) {
+                if (get() != 0) {
+                    downstream.onNext(item);
+                    SubscriptionHelper.produced(this, 1);
+                } else {
+                    onOverflow();
+                }
+            }
+            leave();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (cancelled || !enter()) {
+                return;
+            }
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+            leave();
+        }
+
+        @Override
+        public void onComplete() {
+            if (cancelled || !enter()) {
+                return;
+            }
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+            leave();
+        }
+
+        @Override
+        void onBadRequest() {
+            if (wip.getAndIncrement() == 0) {
+                signalRequestError();
+            }
+        }
+
+        abstract void onOverflow();
+
+        private boolean enter() {
+            return wip.get() == 0 && wip.compareAndSet(0, 1);
+        }
+
+        private void leave() {
+            if (wip.decrementAndGet() != 0) {
+                signalRequestError();
+            }
+        }
+
+        private void signalRequestError() {
+            if (!done) {
+                done = true;
+                cancelled = true;
+                downstream.onError(requestError);
+            }
+        }
+    }
+
+    static final class DropEmitter<T> extends NoQueueEmitter<T> {
+        DropEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            // the item is discarded
+        }
+    }
+
+    static final class ErrorEmitter<T> extends NoQueueEmitter<T> {
+        ErrorEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            done = true;
+            cancel();
+            downstream.onError(new MissingBackpressureException("create: could not emit value due to lack of requests"));
+        }
+    }
+
+    /**
+     * Base for the emitters that park undelivered items and drain them as requests arrive.
+     * The drain may run on the producer thread or on whichever thread calls {@code request}.
+     */
+    abstract static class QueueEmitter<T> extends BaseEmitter<T> {
+        private final AtomicInteger wip = new AtomicInteger();
+        volatile boolean done;
+        Throwable error;
+
+        QueueEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            enqueue(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || cancelled) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || cancelled) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onBadRequest() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        abstract void enqueue(T item);
+
+        abstract T poll();
+
+        abstract boolean isEmpty();
+
+        abstract void clear();
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long requested = get();
+                long emitted = 0;
+                while (emitted != requested) {
+                    if (checkCancelled()) {
+                        return;
+                    }
+                    boolean d = done;
+                    T item = poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                }
+                if (emitted == requested) {
+                    if (checkCancelled()) {
+                        return;
+                    }
+                    if (done && isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                }
+                if (emitted != 0) {
+                    SubscriptionHelper.produced(this, emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkCancelled() {
+            if (cancelled) {
+                clear();
+                return true;
+            }
+            Throwable e = requestError;
+            if (e != null) {
+                cancelled = true;
+                clear();
+                downstream.onError(e);
+                return true;
+            }
+            return false;
+        }
+
+        private void terminate() {
+            cancelled = true;
+            Throwable e = error;
+            if (e != null) {
+                downstream.onError(e);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    static final class BufferEmitter<T> extends QueueEmitter<T> {
+        private final SpscLinkedArrayQueue<T> queue;
+
+        BufferEmitter(Subscriber<? super T> downstream, int chunkSize) {
+            super(downstream);
+            this.queue = new SpscLinkedArrayQueue<>(chunkSize);
+        }
+
+        @Override
+        void enqueue(T item) {
+            queue.offer(item);
+        }
+
+        @Override
+        T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clear() {
+            queue.clear();
+        }
+    }
+
+    static final class LatestEmitter<T> extends QueueEmitter<T> {
+        private final AtomicReference<T> latest = new AtomicReference<>();
+
+        LatestEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void enqueue(T item) {
+            latest.set(item);
+        }
+
+        @Override
+        T poll() {
+            return latest.getAndSet(null);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return latest.get() == null;
+        }
+
+        @Override
+        void clear() {
+            latest.set(null);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package core;
+
+/**
+ * Handed to a {@link FlowableOnSubscribe}. A well-behaved producer checks
+ * {@link #requested()} and stops emitting when it reaches zero; anything emitted
+ * beyond that is handled by the {@link BackpressureStrategy} of the flowable.
+ */
+public interface FlowableEmitter<T> {
+    void onNext(T item);
+    void onError(Throwable t);
+    void onComplete();
+
+    /**
+     * Number of items the downstream can still accept.
+     */
+    long requested();
+
+    boolean isCancelled();
+
+    /**
+     * Sets the resource to dispose when the subscription is cancelled, disposing the
+     * previous one. If it is already cancelled, {@code d} is disposed immediately.
+     */
+    void setDisposable(Disposable d);
+
+    /**
+     * Like {@link #setDisposable}, for a plain cancellation action.
+     */
+    void setCancellable(Cancellable c);
+}
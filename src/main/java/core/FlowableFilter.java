@@ -0,0 +1,88 @@
+package core;
+
+import java.util.function.Predicate;
+
+/**
+ * Every item the predicate rejects is replaced by a request for one more,
+ * so the downstream demand is still met.
+ */
+final class FlowableFilter<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Predicate<? super T> predicate;
+
+    FlowableFilter(Publisher<T> upstream, Predicate<? super T> predicate) {
+        this.upstream = upstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        upstream.subscribe(new FilterSubscriber<>(subscriber, predicate));
+    }
+
+    static final class FilterSubscriber<T> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final Predicate<? super T> predicate;
+        private Subscription upstream;
+        private boolean done;
+
+        FilterSubscriber(Subscriber<? super T> downstream, Predicate<? super T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Throwable t) {
+                upstream.cancel();
+                onError(t);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(item);
+            } else {
+                upstream.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Runs at most {@code maxConcurrency} inner flowables at a time. Each inner prefetches
+ * into its own bounded queue and a single drain loop moves items from the inner queues
+ * to the downstream as it requests them. A finished inner is replaced by requesting one
+ * more item from the outer source.
+ */
+final class FlowableFlatMap<T, R> implements Publisher<R> {
+    private final Publisher<T> upstream;
+    private final Function<? super T, ? extends Publisher<? extends R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+
+    FlowableFlatMap(Publisher<T> upstream, Function<? super T, ? extends Publisher<? extends R>> mapper,
+                    int maxConcurrency, int prefetch) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        upstream.subscribe(new MergeSubscriber<>(subscriber, mapper, maxConcurrency, prefetch));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final InnerSubscriber[] EMPTY = new InnerSubscriber[0];
+    @SuppressWarnings("rawtypes")
+    private static final InnerSubscriber[] TERMINATED = new InnerSubscriber[0];
+
+    static final class MergeSubscriber<T, R> extends AtomicInteger implements Subscriber<T>, Subscription {
+        private final Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends Publisher<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicReference<InnerSubscriber<R>[]> inners;
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        MergeSubscriber(Subscriber<? super R> downstream, Function<? super T, ? extends Publisher<? extends R>> mapper,
+                        int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.inners = new AtomicReference<>(EMPTY);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Publisher<? extends R> publisher;
+            try {
+                publisher = mapper.apply(item);
+            } catch (Throwable t) {
+                upstream.cancel();
+                onError(t);
+                return;
+            }
+            InnerSubscriber<R> inner = new InnerSubscriber<>(this, prefetch);
+            if (add(inner)) {
+                publisher.subscribe(inner);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            if (error.compareAndSet(null, t)) {
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (!SubscriptionHelper.validate(n)) {
+                return;
+            }
+            SubscriptionHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            cancelInners();
+            if (getAndIncrement() == 0) {
+                clearInners();
+            }
+        }
+
+        void innerNext(InnerSubscriber<R> inner, R item) {
+            if (!inner.queue.offer(item)) {
+                inner.cancel();
+                innerError(new MissingBackpressureException("flatMap: inner queue is full"));
+                return;
+            }
+            drain();
+        }
+
+        void innerError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                drain();
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                boolean d = done;
+                InnerSubscriber<R>[] current = inners.get();
+                if (d && current.length == 0) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return;
+                }
+
+                long r = requested.get();
+                long emitted = 0;
+                int finished = 0;
+                for (InnerSubscriber<R> inner : current) {
+                    while (emitted != r) {
+                        if (checkTerminated()) {
+                            return;
+                        }
+                        R item = inner.queue.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        downstream.onNext(item);
+                        emitted++;
+                        inner.consumed(1);
+                    }
+                    if (inner.done && inner.queue.isEmpty()) {
+                        remove(inner);
+                        finished++;
+                    }
+                }
+                if (emitted != 0) {
+                    SubscriptionHelper.produced(requested, emitted);
+                }
+                if (finished != 0) {
+                    if (maxConcurrency != Integer.MAX_VALUE && !cancelled) {
+                        upstream.request(finished);
+                    }
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                clearInners();
+                return true;
+            }
+            Throwable e = error.get();
+            if (e != null) {
+                cancelled = true;
+                upstream.cancel();
+                cancelInners();
+                clearInners();
+                downstream.onError(e);
+                return true;
+            }
+            return false;
+        }
+
+        private boolean add(InnerSubscriber<R> inner) {
+            for (;;) {
+                InnerSubscriber<R>[] current = inners.get();
+                if (current == TERMINATED) {
+                    inner.cancel();
+                    return false;
+                }
+                @SuppressWarnings("unchecked")
+                InnerSubscriber<R>[] next = new InnerSubscriber[current.length + 1];
+                System.arraycopy(current, 0, next, 0, current.length);
+                next[current.length] = inner;
+                if (inners.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void remove(InnerSubscriber<R> inner) {
+            for (;;) {
+                InnerSubscriber<R>[] current = inners.get();
+                int index = -1;
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == inner) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return;
+                }
+                InnerSubscriber<R>[] next;
+                if (current.length == 1) {
+                    next = EMPTY;
+                } else {
+                    next = new InnerSubscriber[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, index);
+                    System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                }
+                if (inners.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void cancelInners() {
+            InnerSubscriber<R>[] current = inners.getAndSet(TERMINATED);
+            for (InnerSubscriber<R> inner : current) {
+                inner.cancel();
+            }
+        }
+
+        private void clearInners() {
+            for (InnerSubscriber<R> inner : inners.get()) {
+                inner.queue.clear();
+            }
+        }
+    }
+
+    static final class InnerSubscriber<R> extends AtomicReference<Subscription> implements Subscriber<R> {
+        private final MergeSubscriber<?, R> parent;
+        private final int prefetch;
+        private final int limit;
+        final SpscArrayQueue<R> queue;
+        volatile boolean done;
+        private long produced;
+
+        InnerSubscriber(MergeSubscriber<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (compareAndSet(null, subscription)) {
+                subscription.request(prefetch);
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            parent.innerNext(this, item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        /**
+         * Called from the drain loop; replenishes the inner in batches of {@code limit}.
+         */
+        void consumed(long n) {
+            long p = produced + n;
+            if (p >= limit) {
+                produced = 0;
+                get().request(p);
+            } else {
+                produced = p;
+            }
+        }
+
+        void cancel() {
+            Subscription subscription = getAndSet(SubscriptionHelper.CANCELLED);
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package core;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits the elements of an {@link Iterable}, never more than requested. Whichever thread
+ * raises the demand from zero runs the emission loop; later requests only add to it.
+ */
+final class FlowableFromIterable<T> implements Publisher<T> {
+    private final Iterable<? extends T> source;
+
+    FlowableFromIterable(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Iterator<? extends T> iterator;
+        boolean hasNext;
+        try {
+            iterator = source.iterator();
+            hasNext = iterator.hasNext();
+        } catch (Throwable t) {
+            subscriber.onSubscribe(SubscriptionHelper.CANCELLED);
+            subscriber.onError(t);
+            return;
+        }
+        if (!hasNext) {
+            subscriber.onSubscribe(SubscriptionHelper.CANCELLED);
+            subscriber.onComplete();
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription<>(subscriber, iterator));
+    }
+
+    static final class IteratorSubscription<T> extends AtomicLong implements Subscription {
+        private final Subscriber<? super T> downstream;
+        private final Iterator<? extends T> iterator;
+        private volatile boolean cancelled;
+
+        IteratorSubscription(Subscriber<? super T> downstream, Iterator<? extends T> iterator) {
+            this.downstream = downstream;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (!SubscriptionHelper.validate(n)) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            if (SubscriptionHelper.add(this, n) != 0) {
+                return;
+            }
+            long requested = n;
+            for (;;) {
+                long emitted = 0;
+                while (emitted != requested) {
+                    if (cancelled) {
+                        return;
+                    }
+                    T item;
+                    try {
+                        item = iterator.next();
+                    } catch (Throwable t) {
+                        cancelled = true;
+                        downstream.onError(t);
+                        return;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                    if (cancelled) {
+                        return;
+                    }
+                    boolean hasNext;
+                    try {
+                        hasNext = iterator.hasNext();
+                    } catch (Throwable t) {
+                        cancelled = true;
+                        downstream.onError(t);
+                        return;
+                    }
+                    if (!hasNext) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                }
+                requested = SubscriptionHelper.produced(this, emitted);
+                if (requested == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package core;
+
+import java.util.function.Function;
+
+final class FlowableMap<T, R> implements Publisher<R> {
+    private final Publisher<T> upstream;
+    private final Function<? super T, ? extends R> mapper;
+
+    FlowableMap(Publisher<T> upstream, Function<? super T, ? extends R> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        upstream.subscribe(new MapSubscriber<>(subscriber, mapper));
+    }
+
+    static final class MapSubscriber<T, R> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends R> mapper;
+        private Subscription upstream;
+        private boolean done;
+
+        MapSubscriber(Subscriber<? super R> downstream, Function<? super T, ? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R result;
+            try {
+                result = mapper.apply(item);
+            } catch (Throwable t) {
+                upstream.cancel();
+                onError(t);
+                return;
+            }
+            downstream.onNext(result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
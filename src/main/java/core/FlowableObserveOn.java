@@ -0,0 +1,193 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requests {@code prefetch} items up front into a bounded queue and drains it on the
+ * {@link Scheduler} as the downstream asks for more. Once three quarters of the
+ * prefetch have been delivered, the same amount is requested again, so upstream never
+ * has more than {@code prefetch} items in flight regardless of how fast it is.
+ */
+final class FlowableObserveOn<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    FlowableObserveOn(Publisher<T> upstream, Scheduler scheduler, int prefetch) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        upstream.subscribe(new ObserveOnSubscriber<>(subscriber, scheduler, prefetch));
+    }
+
+    static final class ObserveOnSubscriber<T> extends AtomicInteger implements Subscriber<T>, Subscription, Runnable {
+        private final Subscriber<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final int limit;
+        private final SpscArrayQueue<T> queue;
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean cancelled;
+        private volatile Throwable requestError;
+        private long consumed;
+
+        ObserveOnSubscriber(Subscriber<? super T> downstream, Scheduler scheduler, int prefetch) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker();
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                error = new MissingBackpressureException("observeOn: queue is full");
+                done = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (!SubscriptionHelper.validate(n)) {
+                requestError = new IllegalArgumentException("n > 0 required but it was " + n);
+                upstream.cancel();
+                schedule();
+                return;
+            }
+            SubscriptionHelper.add(requested, n);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            long c = consumed;
+            for (;;) {
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (checkTerminated(d, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                    if (++c == limit) {
+                        c = 0;
+                        upstream.request(limit);
+                    }
+                }
+                if (emitted == r && checkTerminated(done, queue.isEmpty())) {
+                    return;
+                }
+                if (emitted != 0) {
+                    SubscriptionHelper.produced(requested, emitted);
+                }
+                consumed = c;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean d, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            Throwable re = requestError;
+            if (re != null) {
+                cancelled = true;
+                queue.clear();
+                worker.dispose();
+                downstream.onError(re);
+                return true;
+            }
+            if (d) {
+                Throwable e = error;
+                if (e != null) {
+                    cancelled = true;
+                    queue.clear();
+                    worker.dispose();
+                    downstream.onError(e);
+                    return true;
+                }
+                if (empty) {
+                    cancelled = true;
+                    worker.dispose();
+                    downstream.onComplete();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
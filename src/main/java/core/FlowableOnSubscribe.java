@@ -0,0 +1,6 @@
+package core;
+
+@FunctionalInterface
+public interface FlowableOnSubscribe<T> {
+    void subscribe(FlowableEmitter<T> emitter);
+}
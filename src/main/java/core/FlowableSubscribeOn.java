@@ -0,0 +1,88 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subscribes upstream on the {@link Scheduler}. Requests made before the upstream
+ * subscription arrives are accumulated and forwarded once it does.
+ */
+final class FlowableSubscribeOn<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Scheduler scheduler;
+
+    FlowableSubscribeOn(Publisher<T> upstream, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        SubscribeOnSubscriber<T> parent = new SubscribeOnSubscriber<>(subscriber);
+        subscriber.onSubscribe(parent);
+        scheduler.createWorker().execute(() -> upstream.subscribe(parent));
+    }
+
+    static final class SubscribeOnSubscriber<T> extends AtomicReference<Subscription> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final AtomicLong missedRequested = new AtomicLong();
+
+        SubscribeOnSubscriber(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (!compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            long r = missedRequested.getAndSet(0);
+            if (r != 0) {
+                subscription.request(r);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            Subscription subscription = get();
+            if (subscription != null) {
+                subscription.request(n);
+                return;
+            }
+            SubscriptionHelper.add(missedRequested, n);
+            subscription = get();
+            if (subscription != null && subscription != SubscriptionHelper.CANCELLED) {
+                long r = missedRequested.getAndSet(0);
+                if (r != 0) {
+                    subscription.request(r);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Subscription subscription = getAndSet(SubscriptionHelper.CANCELLED);
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package core;
+
+/**
+ * One group of {@link Observable#groupBy}: the items sharing a key. Like a window it can
+ * be subscribed once and queues items until then.
+ */
+public final class GroupedObservable<K, T> extends Observable<T> {
+    private final K key;
+
+    GroupedObservable(K key, ObservableOnSubscribe<T> source) {
+        super(source);
+        this.key = key;
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,382 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Stream of unboxed {@code int} values. Items travel through {@link IntObserver#onNext(int)},
+ * so map/filter/reduce chains allocate nothing per item; {@link #boxed()} and
+ * {@link #mapToObj} lead back to {@link Observable}. Disposing the {@link Disposable}
+ * that {@link #subscribe} returns reaches every stage and, through {@link #boxed()} and
+ * {@code Observable.mapToInt}, the observable subscriptions on either side.
+ */
+public class IntObservable {
+    private final Source source;
+
+    private IntObservable(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * The source receives the observer itself; it stops once {@code observer.isDisposed()}.
+     */
+    public static IntObservable create(IntObservableOnSubscribe source) {
+        return new IntObservable(observer -> {
+            source.subscribe(observer);
+            return observer;
+        });
+    }
+
+    /**
+     * Emits {@code count} consecutive values starting at {@code start}.
+     */
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count != 0 && start > Integer.MAX_VALUE - count + 1) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Integer.MAX_VALUE");
+        }
+        return create(observer -> {
+            int end = start + count;
+            for (int i = start; i != end; i++) {
+                if (observer.isDisposed()) {
+                    return;
+                }
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public static IntObservable fromArray(int... items) {
+        return create(observer -> {
+            for (int item : items) {
+                if (observer.isDisposed()) {
+                    return;
+                }
+                observer.onNext(item);
+            }
+            observer.onComplete();
+        });
+    }
+
+    static <T> IntObservable fromObservable(Observable<T> upstream, ToIntFunction<? super T> mapper) {
+        return new IntObservable(downstream -> {
+            FromObservableObserver<T> observer = new FromObservableObserver<>(downstream, mapper);
+            observer.setUpstream(upstream.subscribe(observer));
+            return observer;
+        });
+    }
+
+    public Disposable subscribe(IntObserver observer) {
+        return source.subscribe(observer);
+    }
+
+    public IntObservable map(IntUnaryOperator mapper) {
+        return stage(downstream -> new StageObserver(downstream) {
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                int value;
+                try {
+                    value = mapper.applyAsInt(item);
+                } catch (Throwable t) {
+                    onError(t);
+                    return;
+                }
+                downstream.onNext(value);
+            }
+        });
+    }
+
+    public IntObservable filter(IntPredicate predicate) {
+        return stage(downstream -> new StageObserver(downstream) {
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable t) {
+                    onError(t);
+                    return;
+                }
+                if (pass) {
+                    downstream.onNext(item);
+                }
+            }
+        });
+    }
+
+    /**
+     * Folds all items into one value, emitted when upstream completes.
+     */
+    public IntObservable reduce(int identity, IntBinaryOperator accumulator) {
+        return stage(downstream -> new StageObserver(downstream) {
+            private int accumulated = identity;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulated = accumulator.applyAsInt(accumulated, item);
+                } catch (Throwable t) {
+                    onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onNext(accumulated);
+                    downstream.onComplete();
+                }
+            }
+        });
+    }
+
+    public IntObservable sum() {
+        return reduce(0, Integer::sum);
+    }
+
+    /**
+     * Emits the smallest item on completion, or nothing if upstream was empty.
+     */
+    public IntObservable min() {
+        return extremum(true);
+    }
+
+    /**
+     * Emits the largest item on completion, or nothing if upstream was empty.
+     */
+    public IntObservable max() {
+        return extremum(false);
+    }
+
+    private IntObservable extremum(boolean min) {
+        return stage(downstream -> new StageObserver(downstream) {
+            private boolean hasValue;
+            private int current;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    hasValue = true;
+                    current = item;
+                } else {
+                    current = min ? Math.min(current, item) : Math.max(current, item);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (hasValue) {
+                        downstream.onNext(current);
+                    }
+                    downstream.onComplete();
+                }
+            }
+        });
+    }
+
+    public Observable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(IntFunction<? extends R> mapper) {
+        return Observable.create(downstream -> {
+            MapToObjObserver<R> observer = new MapToObjObserver<>(downstream, mapper);
+            observer.setUpstream(subscribe(observer));
+            downstream.setDisposable(observer);
+        });
+    }
+
+    private IntObservable stage(Function<IntObserver, StageObserver> factory) {
+        return new IntObservable(downstream -> {
+            StageObserver stage = factory.apply(downstream);
+            stage.setUpstream(subscribe(stage));
+            return stage;
+        });
+    }
+
+    /**
+     * Subscribes an observer and returns what disposes the subscription: the observer
+     * itself for a {@link #create} source, which polls it, or the first stage otherwise.
+     */
+    @FunctionalInterface
+    private interface Source {
+        Disposable subscribe(IntObserver observer);
+    }
+
+    /**
+     * Disposal shared by the observers below. Each holds the subscription it was given by
+     * the stage before it, which it disposes when it is disposed, and also reports itself
+     * disposed once its downstream is, so a source polling {@code isDisposed()} sees an
+     * observer at the end of the chain that disposed itself. An error, including one thrown
+     * by an operator's function, disposes the upstream before it is forwarded.
+     */
+    private abstract static class ChainedObserver extends AtomicReference<Disposable> {
+        void setUpstream(Disposable d) {
+            if (d != this) {
+                DisposableHelper.set(this, d);
+            }
+        }
+
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        boolean isDisposed(Disposable downstream) {
+            return get() == DisposableHelper.DISPOSED || downstream.isDisposed();
+        }
+    }
+
+    /**
+     * Common terminal-event and disposal handling of the operators above; subclasses
+     * override {@code onNext} and, for aggregates, {@code onComplete}.
+     */
+    private abstract static class StageObserver extends ChainedObserver implements IntObserver {
+        final IntObserver downstream;
+        boolean done;
+
+        StageObserver(IntObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+
+    private static final class FromObservableObserver<T> extends ChainedObserver implements Observer<T> {
+        private final IntObserver downstream;
+        private final ToIntFunction<? super T> mapper;
+        private boolean done;
+
+        FromObservableObserver(IntObserver downstream, ToIntFunction<? super T> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            int value;
+            try {
+                value = mapper.applyAsInt(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+
+    private static final class MapToObjObserver<R> extends ChainedObserver implements IntObserver {
+        private final Observer<? super R> downstream;
+        private final IntFunction<? extends R> mapper;
+        private boolean done;
+
+        MapToObjObserver(Observer<? super R> downstream, IntFunction<? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(int item) {
+            if (done) {
+                return;
+            }
+            R value;
+            try {
+                value = mapper.apply(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+}
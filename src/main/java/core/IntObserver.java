@@ -0,0 +1,10 @@
+package core;
+
+/**
+ * {@link Observer} for unboxed {@code int} items.
+ */
+public interface IntObserver extends Disposable {
+    void onNext(int item);
+    void onError(Throwable t);
+    void onComplete();
+}
@@ -0,0 +1,382 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Stream of unboxed {@code long} values. Items travel through {@link LongObserver#onNext(long)},
+ * so map/filter/reduce chains allocate nothing per item; {@link #boxed()} and
+ * {@link #mapToObj} lead back to {@link Observable}. Disposing the {@link Disposable}
+ * that {@link #subscribe} returns reaches every stage and, through {@link #boxed()} and
+ * {@code Observable.mapToLong}, the observable subscriptions on either side.
+ */
+public class LongObservable {
+    private final Source source;
+
+    private LongObservable(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * The source receives the observer itself; it stops once {@code observer.isDisposed()}.
+     */
+    public static LongObservable create(LongObservableOnSubscribe source) {
+        return new LongObservable(observer -> {
+            source.subscribe(observer);
+            return observer;
+        });
+    }
+
+    /**
+     * Emits {@code count} consecutive values starting at {@code start}.
+     */
+    public static LongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count != 0 && start > Long.MAX_VALUE - count + 1) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Long.MAX_VALUE");
+        }
+        return create(observer -> {
+            long end = start + count;
+            for (long i = start; i != end; i++) {
+                if (observer.isDisposed()) {
+                    return;
+                }
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public static LongObservable fromArray(long... items) {
+        return create(observer -> {
+            for (long item : items) {
+                if (observer.isDisposed()) {
+                    return;
+                }
+                observer.onNext(item);
+            }
+            observer.onComplete();
+        });
+    }
+
+    static <T> LongObservable fromObservable(Observable<T> upstream, ToLongFunction<? super T> mapper) {
+        return new LongObservable(downstream -> {
+            FromObservableObserver<T> observer = new FromObservableObserver<>(downstream, mapper);
+            observer.setUpstream(upstream.subscribe(observer));
+            return observer;
+        });
+    }
+
+    public Disposable subscribe(LongObserver observer) {
+        return source.subscribe(observer);
+    }
+
+    public LongObservable map(LongUnaryOperator mapper) {
+        return stage(downstream -> new StageObserver(downstream) {
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                long value;
+                try {
+                    value = mapper.applyAsLong(item);
+                } catch (Throwable t) {
+                    onError(t);
+                    return;
+                }
+                downstream.onNext(value);
+            }
+        });
+    }
+
+    public LongObservable filter(LongPredicate predicate) {
+        return stage(downstream -> new StageObserver(downstream) {
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable t) {
+                    onError(t);
+                    return;
+                }
+                if (pass) {
+                    downstream.onNext(item);
+                }
+            }
+        });
+    }
+
+    /**
+     * Folds all items into one value, emitted when upstream completes.
+     */
+    public LongObservable reduce(long identity, LongBinaryOperator accumulator) {
+        return stage(downstream -> new StageObserver(downstream) {
+            private long accumulated = identity;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulated = accumulator.applyAsLong(accumulated, item);
+                } catch (Throwable t) {
+                    onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onNext(accumulated);
+                    downstream.onComplete();
+                }
+            }
+        });
+    }
+
+    public LongObservable sum() {
+        return reduce(0L, Long::sum);
+    }
+
+    /**
+     * Emits the smallest item on completion, or nothing if upstream was empty.
+     */
+    public LongObservable min() {
+        return extremum(true);
+    }
+
+    /**
+     * Emits the largest item on completion, or nothing if upstream was empty.
+     */
+    public LongObservable max() {
+        return extremum(false);
+    }
+
+    private LongObservable extremum(boolean min) {
+        return stage(downstream -> new StageObserver(downstream) {
+            private boolean hasValue;
+            private long current;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    hasValue = true;
+                    current = item;
+                } else {
+                    current = min ? Math.min(current, item) : Math.max(current, item);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (hasValue) {
+                        downstream.onNext(current);
+                    }
+                    downstream.onComplete();
+                }
+            }
+        });
+    }
+
+    public Observable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(LongFunction<? extends R> mapper) {
+        return Observable.create(downstream -> {
+            MapToObjObserver<R> observer = new MapToObjObserver<>(downstream, mapper);
+            observer.setUpstream(subscribe(observer));
+            downstream.setDisposable(observer);
+        });
+    }
+
+    private LongObservable stage(Function<LongObserver, StageObserver> factory) {
+        return new LongObservable(downstream -> {
+            StageObserver stage = factory.apply(downstream);
+            stage.setUpstream(subscribe(stage));
+            return stage;
+        });
+    }
+
+    /**
+     * Subscribes an observer and returns what disposes the subscription: the observer
+     * itself for a {@link #create} source, which polls it, or the first stage otherwise.
+     */
+    @FunctionalInterface
+    private interface Source {
+        Disposable subscribe(LongObserver observer);
+    }
+
+    /**
+     * Disposal shared by the observers below. Each holds the subscription it was given by
+     * the stage before it, which it disposes when it is disposed, and also reports itself
+     * disposed once its downstream is, so a source polling {@code isDisposed()} sees an
+     * observer at the end of the chain that disposed itself. An error, including one thrown
+     * by an operator's function, disposes the upstream before it is forwarded.
+     */
+    private abstract static class ChainedObserver extends AtomicReference<Disposable> {
+        void setUpstream(Disposable d) {
+            if (d != this) {
+                DisposableHelper.set(this, d);
+            }
+        }
+
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        boolean isDisposed(Disposable downstream) {
+            return get() == DisposableHelper.DISPOSED || downstream.isDisposed();
+        }
+    }
+
+    /**
+     * Common terminal-event and disposal handling of the operators above; subclasses
+     * override {@code onNext} and, for aggregates, {@code onComplete}.
+     */
+    private abstract static class StageObserver extends ChainedObserver implements LongObserver {
+        final LongObserver downstream;
+        boolean done;
+
+        StageObserver(LongObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+
+    private static final class FromObservableObserver<T> extends ChainedObserver implements Observer<T> {
+        private final LongObserver downstream;
+        private final ToLongFunction<? super T> mapper;
+        private boolean done;
+
+        FromObservableObserver(LongObserver downstream, ToLongFunction<? super T> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            long value;
+            try {
+                value = mapper.applyAsLong(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+
+    private static final class MapToObjObserver<R> extends ChainedObserver implements LongObserver {
+        private final Observer<? super R> downstream;
+        private final LongFunction<? extends R> mapper;
+        private boolean done;
+
+        MapToObjObserver(Observer<? super R> downstream, LongFunction<? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(long item) {
+            if (done) {
+                return;
+            }
+            R value;
+            try {
+                value = mapper.apply(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDisposed(downstream);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package core;
+
+@FunctionalInterface
+public interface LongObservableOnSubscribe {
+    void subscribe(LongObserver observer);
+}
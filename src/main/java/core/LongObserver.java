@@ -0,0 +1,10 @@
+package core;
+
+/**
+ * {@link Observer} for unboxed {@code long} items.
+ */
+public interface LongObserver extends Disposable {
+    void onNext(long item);
+    void onError(Throwable t);
+    void onComplete();
+}
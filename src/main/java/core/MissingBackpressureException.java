@@ -0,0 +1,7 @@
+package core;
+
+public class MissingBackpressureException extends RuntimeException {
+    public MissingBackpressureException(String message) {
+        super(message);
+    }
+}
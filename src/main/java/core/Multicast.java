@@ -0,0 +1,214 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fans one serialized stream out to any number of observers; the state behind
+ * {@link ConnectableObservable} connections and the {@link Subject}s. Observers live in a
+ * copy-on-write array swapped with CAS, so emitting never locks and subscribing never
+ * blocks an emission. Without a buffer, items go straight to the observers present at
+ * that moment. With a {@link ReplayRingBuffer}, items are stored first and each observer
+ * drains the buffer from its own position, so a new observer starts with the history.
+ */
+class Multicast<T> extends AtomicReference<Multicast.InnerSubscription<T>[]>
+        implements Observer<T>, ObservableOnSubscribe<T> {
+    @SuppressWarnings("rawtypes")
+    private static final InnerSubscription[] EMPTY = new InnerSubscription[0];
+    @SuppressWarnings("rawtypes")
+    private static final InnerSubscription[] TERMINATED = new InnerSubscription[0];
+
+    @SuppressWarnings("unchecked")
+    private static <T> InnerSubscription<T>[] empty() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> InnerSubscription<T>[] terminated() {
+        return TERMINATED;
+    }
+
+    final ReplayRingBuffer<T> buffer;
+    private final boolean replayAfterTerminal;
+    private Throwable error;
+    private volatile boolean done;
+    private volatile boolean disposed;
+
+    /**
+     * @param buffer              the history to replay, or null to only pass items through
+     * @param replayAfterTerminal whether observers arriving after the terminal event still
+     *                            receive the history before it
+     */
+    Multicast(ReplayRingBuffer<T> buffer, boolean replayAfterTerminal) {
+        super(empty());
+        this.buffer = buffer;
+        this.replayAfterTerminal = replayAfterTerminal;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        InnerSubscription<T> inner = new InnerSubscription<>(this, downstream);
+        downstream.setDisposable(inner);
+        if (SubscriberArrays.add(this, inner, terminated())) {
+            if (buffer != null) {
+                inner.replay();
+            }
+            return;
+        }
+        if (buffer == null) {
+            inner.terminate();
+            return;
+        }
+        if (!replayAfterTerminal) {
+            inner.index = buffer.produced();
+        }
+        inner.replay();
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done || disposed) {
+            return;
+        }
+        if (buffer != null) {
+            buffer.add(item);
+            for (InnerSubscription<T> inner : get()) {
+                inner.replay();
+            }
+        } else {
+            for (InnerSubscription<T> inner : get()) {
+                inner.downstream.onNext(item);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done || disposed) {
+            return;
+        }
+        error = t;
+        terminate();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done || disposed) {
+            return;
+        }
+        terminate();
+    }
+
+    private void terminate() {
+        done = true;
+        for (InnerSubscription<T> inner : getAndSet(terminated())) {
+            if (buffer != null) {
+                inner.replay();
+            } else {
+                inner.terminate();
+            }
+        }
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    Throwable error() {
+        return done ? error : null;
+    }
+
+    boolean hasObservers() {
+        return get().length != 0;
+    }
+
+    /**
+     * Stops accepting signals; attached observers receive nothing more, not even a
+     * terminal event.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    static final class InnerSubscription<T> extends AtomicInteger implements Disposable {
+        private final Multicast<T> parent;
+        final ObservableEmitter<T> downstream;
+        long index;
+        private volatile boolean disposed;
+
+        InnerSubscription(Multicast<T> parent, ObservableEmitter<T> downstream) {
+            this.parent = parent;
+            this.downstream = downstream;
+            this.index = parent.buffer != null ? parent.buffer.head() : 0;
+        }
+
+        void terminate() {
+            Throwable e = parent.error;
+            if (e != null) {
+                downstream.onError(e);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        /**
+         * Emits everything between this observer's position and the end of the buffer.
+         * Called by the writer after each item and by the observer on subscription; the
+         * work-in-progress counter lets only one of them drain at a time.
+         */
+        void replay() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            ReplayRingBuffer<T> buffer = parent.buffer;
+            int missed = 1;
+            for (;;) {
+                long i = index;
+                for (;;) {
+                    if (disposed || downstream.isDisposed()) {
+                        return;
+                    }
+                    boolean done = parent.done;
+                    if (i == buffer.produced()) {
+                        if (done) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    ReplayRingBuffer.Node<T> node = buffer.node(i);
+                    if (node.index != i) {
+                        i = buffer.head();
+                        continue;
+                    }
+                    downstream.onNext(node.value);
+                    i++;
+                }
+                index = i;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                SubscriberArrays.remove(parent, this, empty());
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
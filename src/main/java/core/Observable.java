@@ -0,0 +1,837 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class Observable<T> {
+    private static final int BUFFER_SIZE = 128;
+    private static final int FILE_CHUNK_SIZE = 64 * 1024;
+    private static final int SOCKET_BUFFER_SIZE = 8 * 1024;
+
+    final ObservableOnSubscribe<T> source;
+
+    Observable(ObservableOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    public static <T> Observable<T> create(ObservableOnSubscribe<T> source) {
+        return assemble(source);
+    }
+
+    /**
+     * Emits {@code start, start + 1, ..., start + count - 1} and completes.
+     */
+    public static Observable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count == 0) {
+            return empty();
+        }
+        if (start > Integer.MAX_VALUE - count + 1) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Integer.MAX_VALUE");
+        }
+        if (count == 1) {
+            return just(start);
+        }
+        return assemble(new ObservableRange(start, count));
+    }
+
+    @SafeVarargs
+    public static <T> Observable<T> fromArray(T... items) {
+        if (items.length == 0) {
+            return empty();
+        }
+        if (items.length == 1) {
+            return just(items[0]);
+        }
+        return assemble(new ObservableFromArray<>(items));
+    }
+
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> source) {
+        return assemble(new ObservableFromIterable<>(source));
+    }
+
+    /**
+     * Emits {@code item} and completes. Cheaper than a one-item {@link #create} as a
+     * {@link #flatMap} inner: the item is emitted without subscribing.
+     */
+    public static <T> Observable<T> just(T item) {
+        return assemble(new ObservableJust<>(item));
+    }
+
+    /**
+     * Completes without items; skipped without subscribing as a {@link #flatMap} inner.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> empty() {
+        return assemble((ObservableOnSubscribe<T>) (ObservableOnSubscribe<?>) ObservableEmpty.INSTANCE);
+    }
+
+    public static <T> Observable<T> error(Throwable error) {
+        return assemble(new ObservableError<>(error));
+    }
+
+    /**
+     * Emits the items of all {@code sources} as they arrive and completes when all have
+     * completed; the first error terminates the merge. Sources on different threads
+     * never block each other: each queues into its own single-producer queue.
+     */
+    @SafeVarargs
+    public static <T> Observable<T> merge(Observable<? extends T>... sources) {
+        return assemble(new ObservableMerge<T>(sources.clone(), false));
+    }
+
+    /**
+     * Like {@link #merge}, but an error waits until every source has terminated; further
+     * errors are attached to the first as suppressed.
+     */
+    @SafeVarargs
+    public static <T> Observable<T> mergeDelayError(Observable<? extends T>... sources) {
+        return assemble(new ObservableMerge<T>(sources.clone(), true));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, R> Observable<R> zip(Observable<? extends T1> source1, Observable<? extends T2> source2,
+                                                BiFunction<? super T1, ? super T2, ? extends R> zipper) {
+        return assemble(new ObservableZip<R>(new Observable<?>[] { source1, source2 },
+                row -> zipper.apply((T1) row[0], (T2) row[1])));
+    }
+
+    /**
+     * Emits {@code zipper} of the n-th items of all {@code sources}, in subscription
+     * order; completes when any source runs out.
+     */
+    public static <R> Observable<R> zip(Iterable<? extends Observable<?>> sources,
+                                        Function<? super Object[], ? extends R> zipper) {
+        return assemble(new ObservableZip<>(toArray(sources), zipper));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, R> Observable<R> combineLatest(Observable<? extends T1> source1,
+                                                          Observable<? extends T2> source2,
+                                                          BiFunction<? super T1, ? super T2, ? extends R> combiner) {
+        return assemble(new ObservableCombineLatest<R>(new Observable<?>[] { source1, source2 },
+                latest -> combiner.apply((T1) latest[0], (T2) latest[1])));
+    }
+
+    /**
+     * Emits {@code combiner} of the latest items of all {@code sources} whenever one of
+     * them emits, once every source has emitted.
+     */
+    public static <R> Observable<R> combineLatest(Iterable<? extends Observable<?>> sources,
+                                                  Function<? super Object[], ? extends R> combiner) {
+        return assemble(new ObservableCombineLatest<>(toArray(sources), combiner));
+    }
+
+    /**
+     * Emits the file in read-only chunks of 64 KiB, see {@link #fromFile(Path, int)}.
+     */
+    public static Observable<ByteBuffer> fromFile(Path path) {
+        return fromFile(path, FILE_CHUNK_SIZE);
+    }
+
+    /**
+     * Emits the file as read-only {@link ByteBuffer} slices of {@code chunkSize} bytes
+     * (the last may be shorter), memory-mapped and never copied. The scan runs on the
+     * subscribing thread; use {@code subscribeOn(io).observeOn(scheduler)} to read ahead
+     * on an I/O thread while slices are consumed elsewhere.
+     */
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize) {
+        checkPositive(chunkSize, "chunkSize");
+        return assemble(new ObservableFromFile(path, chunkSize, -1, ObservableFromFile.REGION_SIZE));
+    }
+
+    /**
+     * Emits the lines of the file, split on {@code '\n'}, see {@link #fromFileLines(Path, byte)}.
+     */
+    public static Observable<ByteBuffer> fromFileLines(Path path) {
+        return fromFileLines(path, (byte) '\n');
+    }
+
+    /**
+     * Emits the file as read-only {@link ByteBuffer} slices between {@code delimiter} bytes,
+     * without the delimiter, memory-mapped and never copied. A trailing delimiter does not
+     * produce an empty last line. Decode a slice only if its text is needed; copying it
+     * into a {@code byte[]} for {@code new String(bytes, UTF_8)} is cheaper than a
+     * {@code CharsetDecoder}.
+     */
+    public static Observable<ByteBuffer> fromFileLines(Path path, byte delimiter) {
+        return assemble(new ObservableFromFile(path, 0, delimiter & 0xFF, ObservableFromFile.REGION_SIZE));
+    }
+
+    /**
+     * Emits what arrives on {@code channel} in buffers of up to 8 KiB, see
+     * {@link #fromChannel(AsynchronousSocketChannel, int)}.
+     */
+    public static Observable<ByteBuffer> fromChannel(AsynchronousSocketChannel channel) {
+        return fromChannel(channel, SOCKET_BUFFER_SIZE);
+    }
+
+    /**
+     * Emits each chunk received on {@code channel} as a new flipped buffer of at most
+     * {@code bufferSize} bytes and completes at end of stream. Reads are asynchronous:
+     * no thread waits for data, and items arrive on the channel group's threads.
+     * Disposing shuts down the channel's input but does not close it.
+     */
+    public static Observable<ByteBuffer> fromChannel(AsynchronousSocketChannel channel, int bufferSize) {
+        checkPositive(bufferSize, "bufferSize");
+        return assemble(new ObservableSocketRead(channel, bufferSize));
+    }
+
+    /**
+     * Emits every connection accepted by {@code server}, asynchronously. Disposing closes
+     * the server channel, the only way to abandon a pending accept.
+     */
+    public static Observable<AsynchronousSocketChannel> accept(AsynchronousServerSocketChannel server) {
+        return assemble(new ObservableSocketAccept(server));
+    }
+
+    /**
+     * Writes every buffer of {@code source} to {@code channel}, queueing buffers while a
+     * write is in flight and sending them with gathering writes. Emits the total number of
+     * bytes written once {@code source} completes and everything has been written. The
+     * buffers' positions are advanced; the channel is left open.
+     */
+    public static Observable<Long> writeTo(Observable<? extends ByteBuffer> source, AsynchronousSocketChannel channel) {
+        return assemble(new ObservableSocketWrite(source, channel));
+    }
+
+    /**
+     * Emits 0 after {@code delay}, then completes.
+     */
+    public static Observable<Long> timer(long delay, TimeUnit unit, Scheduler scheduler) {
+        return assemble(new ObservableTimer(delay, unit, scheduler));
+    }
+
+    public static Observable<Long> interval(long period, TimeUnit unit, Scheduler scheduler) {
+        return interval(period, period, unit, scheduler);
+    }
+
+    /**
+     * Emits 0, 1, 2, ... on {@code scheduler}, the first after {@code initialDelay} and then
+     * once per {@code period}. Stops when the receiving observer reports it is disposed.
+     */
+    public static Observable<Long> interval(long initialDelay, long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return assemble(new ObservableInterval(initialDelay, period, unit, scheduler));
+    }
+
+    /**
+     * Subscribes {@code observer} and returns the handle that cancels the subscription.
+     * Disposing it releases every resource upstream, down to the source.
+     */
+    public Disposable subscribe(Observer<? super T> observer) {
+        ObserverWrapper<T> emitter = new ObserverWrapper<>(ObservablePlugins.onSubscribe(this, observer));
+        source.subscribe(emitter);
+        return emitter;
+    }
+
+    /**
+     * Subscribes an operator's upstream observer. {@code onSubscribe} receives the
+     * subscription before the source starts emitting, so the operator can tie it to its
+     * own downstream and a dispose arriving mid-emission still reaches the source.
+     */
+    void subscribe(Observer<? super T> observer, Consumer<? super Disposable> onSubscribe) {
+        ObserverWrapper<T> emitter = new ObserverWrapper<>(ObservablePlugins.onSubscribe(this, observer));
+        onSubscribe.accept(emitter);
+        source.subscribe(emitter);
+    }
+
+    /**
+     * Adjacent {@code map}/{@code filter} calls are fused into a single stage,
+     * see {@link ObservableMapFilter}.
+     */
+    public <R> Observable<R> map(Function<? super T, ? extends R> mapper) {
+        return assemble(ObservableMapFilter.map(this, mapper));
+    }
+
+    public Observable<T> filter(Predicate<? super T> predicate) {
+        return assemble(ObservableMapFilter.filter(this, predicate));
+    }
+
+    public IntObservable mapToInt(ToIntFunction<? super T> mapper) {
+        return IntObservable.fromObservable(this, mapper);
+    }
+
+    public LongObservable mapToLong(ToLongFunction<? super T> mapper) {
+        return LongObservable.fromObservable(this, mapper);
+    }
+
+    public DoubleObservable mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return DoubleObservable.fromObservable(this, mapper);
+    }
+
+    public <R> Observable<R> flatMap(Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return flatMap(mapper, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Maps each item to an inner observable and emits their items one inner after the
+     * other, in the order of the outer items: a {@link #flatMap} with one inner at a time.
+     */
+    public <R> Observable<R> concatMap(Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return flatMap(mapper, 1);
+    }
+
+    /**
+     * Maps each item to an inner observable and merges their output, with at most
+     * {@code maxConcurrency} inners subscribed at a time; further outer items wait in a
+     * queue. Completes once upstream and all inners have completed. Inners made by
+     * {@link #just} and {@link #empty} are handled in place without a subscription.
+     */
+    public <R> Observable<R> flatMap(Function<? super T, ? extends Observable<? extends R>> mapper,
+                                     int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        return assemble(new ObservableFlatMap<>(this, mapper, maxConcurrency));
+    }
+
+    /**
+     * Fails with {@link java.util.concurrent.TimeoutException} if no item or terminal event
+     * arrives within {@code timeout} of subscribing or of the previous item.
+     */
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return assemble(new ObservableTimeout<>(this, timeout, unit, null, scheduler));
+    }
+
+    /**
+     * Like {@link #timeout(long, TimeUnit, Scheduler)}, but on a timeout disposes this
+     * observable and continues with {@code fallback} instead of failing.
+     */
+    public Observable<T> timeout(long timeout, TimeUnit unit, Observable<? extends T> fallback, Scheduler scheduler) {
+        Objects.requireNonNull(fallback, "fallback");
+        return assemble(new ObservableTimeout<>(this, timeout, unit, fallback, scheduler));
+    }
+
+    /**
+     * Resubscribes after an error when the observable that {@code handler} builds from the
+     * errors emits; its error or completion ends the stream instead.
+     */
+    public Observable<T> retryWhen(Function<? super Observable<Throwable>, ? extends Observable<?>> handler) {
+        return assemble(new ObservableRetryWhen<>(this, handler));
+    }
+
+    /**
+     * Retries up to {@code maxRetries} times, waiting on {@code scheduler}'s timer before
+     * each retry. The wait doubles per retry from {@code initialDelay} up to
+     * {@code maxDelay}, and a random half of it is dropped so that many subscribers that
+     * failed together do not retry together. The error after the last retry is signalled.
+     */
+    public Observable<T> retryWithBackoff(int maxRetries, long initialDelay, long maxDelay, TimeUnit unit,
+                                          Scheduler scheduler) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries >= 0 required but it was " + maxRetries);
+        }
+        if (initialDelay < 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("0 <= initialDelay <= maxDelay required but they were "
+                    + initialDelay + " and " + maxDelay);
+        }
+        return retryWhen(errors -> {
+            int[] retries = new int[1];
+            return errors.concatMap(error -> {
+                int retry = retries[0]++;
+                if (retry >= maxRetries) {
+                    return Observable.<Long>error(error);
+                }
+                long backoff = initialDelay;
+                for (int i = 0; i < retry && backoff < maxDelay; i++) {
+                    backoff *= 2;
+                }
+                backoff = Math.min(backoff, maxDelay);
+                long jittered = backoff - ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                return timer(jittered, unit, scheduler);
+            });
+        });
+    }
+
+    /**
+     * Hedges against a slow subscription: if no item or completion has arrived
+     * {@code delay} after the latest subscription, subscribes again, up to
+     * {@code maxAttempts} subscriptions in all. The first to emit is kept and the others
+     * are disposed. Fails only if every attempt fails. Meant for sources whose
+     * subscriptions are independent requests, such as a call to a replicated backend.
+     */
+    public Observable<T> hedge(long delay, TimeUnit unit, int maxAttempts, Scheduler scheduler) {
+        checkPositive(maxAttempts, "maxAttempts");
+        return assemble(new ObservableHedge<>(this, delay, unit, maxAttempts, scheduler));
+    }
+
+    /**
+     * Emits lists of {@code count} consecutive items; the last list may be shorter.
+     */
+    public Observable<List<T>> buffer(int count) {
+        checkPositive(count, "count");
+        return assemble(new ObservableBuffer<>(this, count));
+    }
+
+    /**
+     * Emits the items collected during each {@code time} period, as measured on
+     * {@code scheduler}. Periods without items emit nothing.
+     */
+    public Observable<List<T>> buffer(long time, TimeUnit unit, Scheduler scheduler) {
+        return buffer(Integer.MAX_VALUE, time, unit, scheduler);
+    }
+
+    /**
+     * Like {@link #buffer(long, TimeUnit, Scheduler)}, but a list is also emitted as soon
+     * as it holds {@code count} items.
+     */
+    public Observable<List<T>> buffer(int count, long time, TimeUnit unit, Scheduler scheduler) {
+        checkPositive(count, "count");
+        return assemble(new ObservableBufferTimed<>(this, time, unit, scheduler, count));
+    }
+
+    /**
+     * Splits the stream into windows of {@code count} consecutive items.
+     * Each window can be subscribed once.
+     */
+    public Observable<Observable<T>> window(int count) {
+        checkPositive(count, "count");
+        return assemble(new ObservableWindow<>(this, count));
+    }
+
+    /**
+     * Opens a new window every {@code time} period, as measured on {@code scheduler}.
+     */
+    public Observable<Observable<T>> window(long time, TimeUnit unit, Scheduler scheduler) {
+        return window(Integer.MAX_VALUE, time, unit, scheduler);
+    }
+
+    /**
+     * Like {@link #window(long, TimeUnit, Scheduler)}, but a new window is also opened as
+     * soon as the current one holds {@code count} items.
+     */
+    public Observable<Observable<T>> window(int count, long time, TimeUnit unit, Scheduler scheduler) {
+        checkPositive(count, "count");
+        return assemble(new ObservableWindowTimed<>(this, time, unit, scheduler, count));
+    }
+
+    /**
+     * Splits the stream into one {@link GroupedObservable} per key, see
+     * {@link #groupBy(Function, int)}; the number of open groups is unbounded.
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector) {
+        return assemble(new ObservableGroupBy<>(this, keySelector, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Emits a {@link GroupedObservable} the first time a key is seen and routes every item
+     * to the group of its key. Each group can be subscribed once and queues its items
+     * until then. A group whose observer disposed is evicted, and the next item with its
+     * key opens a new group. If a new key would exceed {@code maxGroups} open groups, a
+     * group not used recently is completed and evicted first. Disposing the outer stream
+     * stops upstream for all groups.
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           int maxGroups) {
+        checkPositive(maxGroups, "maxGroups");
+        return assemble(new ObservableGroupBy<>(this, keySelector, maxGroups));
+    }
+
+    /**
+     * Folds the values of each key with {@code reducer} and emits the resulting map when
+     * upstream completes. Values must not be null.
+     */
+    public <K, V> Observable<Map<K, V>> reduceByKey(Function<? super T, ? extends K> keySelector,
+                                                   Function<? super T, ? extends V> valueSelector,
+                                                   BinaryOperator<V> reducer) {
+        return reduceByKeyOn(keySelector, valueSelector, reducer, null, 1);
+    }
+
+    /**
+     * Like {@link #reduceByKey(Function, Function, BinaryOperator)}, but aggregates on
+     * {@code stripes} rails running on {@code scheduler}. Items are striped by key hash, so
+     * every key is folded on one rail into that rail's own map without any locking or
+     * contention, and the disjoint maps are joined at the end.
+     */
+    public <K, V> Observable<Map<K, V>> reduceByKey(Function<? super T, ? extends K> keySelector,
+                                                   Function<? super T, ? extends V> valueSelector,
+                                                   BinaryOperator<V> reducer, Scheduler scheduler, int stripes) {
+        checkPositive(stripes, "stripes");
+        return reduceByKeyOn(keySelector, valueSelector, reducer, scheduler, stripes);
+    }
+
+    private <K, V> Observable<Map<K, V>> reduceByKeyOn(Function<? super T, ? extends K> keySelector,
+                                                      Function<? super T, ? extends V> valueSelector,
+                                                      BinaryOperator<V> reducer, Scheduler scheduler, int stripes) {
+        return byKey(keySelector, scheduler, stripes, HashMap<K, V>::new, (map, item) -> {
+            map.merge(keySelector.apply(item), valueSelector.apply(item), reducer);
+            return map;
+        }, (a, b) -> {
+            a.putAll(b);
+            return a;
+        });
+    }
+
+    /**
+     * Counts the items of each key and emits the counts when upstream completes.
+     */
+    public <K> Observable<Map<K, Long>> countByKey(Function<? super T, ? extends K> keySelector) {
+        return countByKeyOn(keySelector, null, 1);
+    }
+
+    /**
+     * Like {@link #countByKey(Function)}, striped over {@code stripes} rails on
+     * {@code scheduler} as in {@link #reduceByKey(Function, Function, BinaryOperator, Scheduler, int)}.
+     */
+    public <K> Observable<Map<K, Long>> countByKey(Function<? super T, ? extends K> keySelector,
+                                                   Scheduler scheduler, int stripes) {
+        checkPositive(stripes, "stripes");
+        return countByKeyOn(keySelector, scheduler, stripes);
+    }
+
+    private <K> Observable<Map<K, Long>> countByKeyOn(Function<? super T, ? extends K> keySelector,
+                                                      Scheduler scheduler, int stripes) {
+        // a mutable long[1] per key, so counting does not box
+        Observable<Map<K, long[]>> counters = byKey(keySelector, scheduler, stripes, HashMap<K, long[]>::new,
+                (map, item) -> {
+                    map.computeIfAbsent(keySelector.apply(item), k -> new long[1])[0]++;
+                    return map;
+                }, (a, b) -> {
+                    a.putAll(b);
+                    return a;
+                });
+        return counters.map(map -> {
+            Map<K, Long> counts = new HashMap<>(map.size() * 2);
+            map.forEach((key, count) -> counts.put(key, count[0]));
+            return counts;
+        });
+    }
+
+    private <K, M> Observable<M> byKey(Function<? super T, ? extends K> keySelector, Scheduler scheduler, int stripes,
+                                       Supplier<M> seed, BiFunction<M, ? super T, M> accumulator,
+                                       BinaryOperator<M> combiner) {
+        ParallelObservable<T> rails = stripes == 1
+                ? ParallelObservable.from(this, 1)
+                : ParallelObservable.from(this, stripes, item -> spread(Objects.hashCode(keySelector.apply(item))));
+        if (scheduler != null) {
+            rails = rails.runOn(scheduler);
+        }
+        return rails.reduce(seed, accumulator).reduce(combiner);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Splits the stream into one rail per available processor, see {@link #parallel(int)}.
+     */
+    public ParallelObservable<T> parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Splits the stream into {@code rails} rails fed round-robin. Combine with
+     * {@link ParallelObservable#runOn} to run per-rail stages concurrently.
+     */
+    public ParallelObservable<T> parallel(int rails) {
+        checkPositive(rails, "rails");
+        return ParallelObservable.from(this, rails);
+    }
+
+    /**
+     * Shares one upstream subscription between all observers; items are only emitted to
+     * the observers subscribed at the time. Nothing happens until
+     * {@link ConnectableObservable#connect()} is called.
+     */
+    public ConnectableObservable<T> publish() {
+        return new ConnectableObservable<>(new ObservableMulticast<>(this, 0));
+    }
+
+    /**
+     * Like {@link #publish()}, but also keeps the last {@code size} items and replays them
+     * to every observer that subscribes later, followed by the terminal event if any.
+     */
+    public ConnectableObservable<T> replay(int size) {
+        checkPositive(size, "size");
+        return new ConnectableObservable<>(new ObservableMulticast<>(this, size));
+    }
+
+    /**
+     * Shares upstream while at least one observer is subscribed:
+     * {@code publish().refCount()}.
+     */
+    public Observable<T> share() {
+        return publish().refCount();
+    }
+
+    /**
+     * Subscribes upstream on the first subscription and replays to every later observer.
+     * History is bounded: at most the last {@link #bufferSize()} items are kept.
+     */
+    public Observable<T> cache() {
+        return replay(BUFFER_SIZE).autoConnect();
+    }
+
+    public Observable<T> subscribeOn(Scheduler scheduler) {
+        return assemble(new ObservableSubscribeOn<>(this, scheduler));
+    }
+
+    public Observable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, BUFFER_SIZE);
+    }
+
+    /**
+     * Delivers all signals on {@code scheduler}, in upstream order. Items are queued and
+     * drained by a single scheduled task that emits at most {@code batchSize} items
+     * before giving the thread back to the scheduler.
+     */
+    public Observable<T> observeOn(Scheduler scheduler, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize > 0 required but it was " + batchSize);
+        }
+        return assemble(new ObservableObserveOn<>(this, scheduler, batchSize));
+    }
+
+    /**
+     * Like {@link #observeOn(Scheduler)}, but at most {@code capacity} items wait for the
+     * scheduler; items arriving while the queue is full are dropped and counted by
+     * {@link OverflowObservable#dropped()}.
+     */
+    public OverflowObservable<T> onOverflowDrop(int capacity, Scheduler scheduler) {
+        return onOverflowBuffer(capacity, OverflowStrategy.DROP_LATEST, null, scheduler);
+    }
+
+    /**
+     * Like {@link #observeOn(Scheduler)}, but only the most recent item waits for the
+     * scheduler: a slow observer always gets the latest value, skipping the ones it had
+     * no time for.
+     */
+    public OverflowObservable<T> onOverflowLatest(Scheduler scheduler) {
+        return onOverflowBuffer(1, OverflowStrategy.DROP_OLDEST, null, scheduler);
+    }
+
+    /**
+     * Like {@link #observeOn(Scheduler)}, but at most {@code capacity} items wait for the
+     * scheduler in a bounded lock-free queue. What happens to an item arriving while it
+     * is full depends on {@code strategy}; a dropped item is counted and passed to
+     * {@code onDropped} (may be null) on the producing thread. A failing
+     * {@code onDropped} disposes the upstream and signals its error.
+     */
+    public OverflowObservable<T> onOverflowBuffer(int capacity, OverflowStrategy strategy,
+                                                  Consumer<? super T> onDropped, Scheduler scheduler) {
+        checkPositive(capacity, "capacity");
+        return new OverflowObservable<>(new ObservableOnOverflow<>(this, capacity, strategy, onDropped, scheduler));
+    }
+
+    /**
+     * Converts to a {@link Flowable}; {@code strategy} decides what happens to items
+     * emitted while the subscriber has no outstanding demand.
+     */
+    public Flowable<T> toFlowable(BackpressureStrategy strategy) {
+        return Flowable.fromObservable(this, strategy);
+    }
+
+    public Iterable<T> blockingIterable() {
+        return blockingIterable(BUFFER_SIZE);
+    }
+
+    /**
+     * Each iteration subscribes and blocks in {@code hasNext()} until an item arrives.
+     * The source runs at most {@code prefetch} items ahead: a producer on another thread
+     * waits for the consumer, see {@link BlockingObservableIterator}. An iteration left
+     * before the end stays subscribed and keeps such a producer waiting; to stop early,
+     * close a {@link #blockingIterator(int)} or a {@link #toStream()} instead.
+     */
+    public Iterable<T> blockingIterable(int prefetch) {
+        checkPositive(prefetch, "prefetch");
+        return () -> subscribeBlocking(prefetch);
+    }
+
+    public BlockingIterator<T> blockingIterator() {
+        return blockingIterator(BUFFER_SIZE);
+    }
+
+    /**
+     * Subscribes now and returns an iterator like those of {@link #blockingIterable(int)},
+     * which disposes the subscription when closed.
+     */
+    public BlockingIterator<T> blockingIterator(int prefetch) {
+        checkPositive(prefetch, "prefetch");
+        return subscribeBlocking(prefetch);
+    }
+
+    public Stream<T> toStream() {
+        return toStream(BUFFER_SIZE);
+    }
+
+    /**
+     * Subscribes now and returns a stream over the items; closing it disposes the
+     * subscription. A {@code parallel()} stream takes the items in batches of at most
+     * {@code prefetch}, so it buffers no more than it has in flight.
+     */
+    public Stream<T> toStream(int prefetch) {
+        checkPositive(prefetch, "prefetch");
+        BlockingObservableIterator<T> iterator = subscribeBlocking(prefetch);
+        return StreamSupport.stream(iterator, false).onClose(iterator::dispose);
+    }
+
+    private BlockingObservableIterator<T> subscribeBlocking(int prefetch) {
+        BlockingObservableIterator<T> iterator = new BlockingObservableIterator<>(prefetch);
+        subscribe(iterator, iterator::setDisposable);
+        return iterator;
+    }
+
+    /**
+     * Blocks until the first item and disposes the subscription; throws
+     * {@link java.util.NoSuchElementException} if the source completes empty and rethrows
+     * its error.
+     */
+    public T blockingFirst() {
+        BlockingFirstLastObserver<T> observer = new BlockingFirstLastObserver<>(true);
+        subscribe(observer, observer::setDisposable);
+        return observer.await();
+    }
+
+    /**
+     * Blocks until the source completes and returns its last item, see
+     * {@link #blockingFirst()}.
+     */
+    public T blockingLast() {
+        BlockingFirstLastObserver<T> observer = new BlockingFirstLastObserver<>(false);
+        subscribe(observer, observer::setDisposable);
+        return observer.await();
+    }
+
+    /**
+     * Default batch size of the queue-based operators.
+     */
+    public static int bufferSize() {
+        return BUFFER_SIZE;
+    }
+
+    static <T> Observable<T> assemble(ObservableOnSubscribe<T> source) {
+        return ObservablePlugins.onAssembly(new Observable<>(source));
+    }
+
+    private static Observable<?>[] toArray(Iterable<? extends Observable<?>> sources) {
+        List<Observable<?>> list = new ArrayList<>();
+        for (Observable<?> source : sources) {
+            list.add(source);
+        }
+        return list.toArray(new Observable<?>[0]);
+    }
+
+    private static void checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + value);
+        }
+    }
+
+    /**
+     * The emitter behind every subscription. Sources and operators register the resource
+     * to release in it; disposing the emitter, or its terminal event, releases it.
+     */
+    private static final class ObserverWrapper<T> extends AtomicReference<Disposable> implements ObservableEmitter<T> {
+        private final Observer<? super T> downstream;
+        private volatile boolean disposed;
+
+        ObserverWrapper(Observer<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!disposed) {
+                downstream.onNext(item);
+            }
+        }
+
+        /**
+         * Passes the batch on whole to a {@link BatchObserver}, otherwise item by item,
+         * stopping as soon as the subscription is disposed.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNextBatch(Object[] items, int count) {
+            Observer<? super T> d = downstream;
+            if (d instanceof BatchObserver<?> batch) {
+                if (!disposed) {
+                    ((BatchObserver<? super T>) batch).onNextBatch(items, count);
+                }
+                return;
+            }
+            for (int i = 0; i < count && !isDisposed(); i++) {
+                d.onNext((T) items[i]);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!disposed) {
+                disposed = true;
+                try {
+                    downstream.onError(t);
+                } finally {
+                    DisposableHelper.dispose(this);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!disposed) {
+                disposed = true;
+                try {
+                    downstream.onComplete();
+                } finally {
+                    DisposableHelper.dispose(this);
+                }
+            }
+        }
+
+        @Override
+        public void setDisposable(Disposable d) {
+            DisposableHelper.set(this, d);
+        }
+
+        @Override
+        public void setCancellable(Cancellable c) {
+            setDisposable(DisposableHelper.fromCancellable(c));
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            DisposableHelper.dispose(this);
+        }
+
+        /**
+         * Also true once the wrapped observer disposed itself, so sources that poll this
+         * (interval, user loops) stop producing for it.
+         */
+        @Override
+        public boolean isDisposed() {
+            return disposed || downstream.isDisposed();
+        }
+    }
+}
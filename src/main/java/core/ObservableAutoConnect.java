@@ -0,0 +1,26 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connects the {@link ConnectableObservable} once the given number of observers have
+ * subscribed; observers disposing never disconnect it.
+ */
+final class ObservableAutoConnect<T> implements ObservableOnSubscribe<T> {
+    private final ConnectableObservable<T> source;
+    private final int observers;
+    private final AtomicInteger subscribed = new AtomicInteger();
+
+    ObservableAutoConnect(ConnectableObservable<T> source, int observers) {
+        this.source = source;
+        this.observers = observers;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        source.subscribe(downstream, downstream::setDisposable);
+        if (subscribed.incrementAndGet() == observers) {
+            source.connect();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects items into lists of exactly {@code count}; the last list may be shorter.
+ * Each list is allocated at its final size, so filling it never copies. A batch from
+ * upstream fills the lists a run at a time.
+ */
+final class ObservableBuffer<T> implements ObservableOnSubscribe<List<T>> {
+    private final Observable<T> upstream;
+    private final int count;
+
+    ObservableBuffer(Observable<T> upstream, int count) {
+        this.upstream = upstream;
+        this.count = count;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<List<T>> downstream) {
+        upstream.subscribe(new BatchObserver<T>() {
+            private List<T> buffer;
+            private boolean disposed;
+
+            @Override
+            public void onNext(T item) {
+                List<T> b = buffer;
+                if (b == null) {
+                    b = new ArrayList<>(count);
+                    buffer = b;
+                }
+                b.add(item);
+                if (b.size() == count) {
+                    buffer = null;
+                    downstream.onNext(b);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onNextBatch(Object[] items, int n) {
+                for (int i = 0; i < n; ) {
+                    List<T> b = buffer;
+                    if (b == null) {
+                        b = new ArrayList<>(count);
+                        buffer = b;
+                    }
+                    int end = Math.min(n, i + count - b.size());
+                    while (i < end) {
+                        b.add((T) items[i++]);
+                    }
+                    if (b.size() == count) {
+                        buffer = null;
+                        downstream.onNext(b);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                buffer = null;
+                downstream.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                List<T> b = buffer;
+                buffer = null;
+                if (b != null) {
+                    downstream.onNext(b);
+                }
+                downstream.onComplete();
+            }
+
+            @Override
+            public void dispose() {
+                disposed = true;
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return disposed;
+            }
+        }, downstream::setDisposable);
+    }
+}
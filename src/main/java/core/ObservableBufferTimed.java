@@ -0,0 +1,132 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits the items collected during each {@code time} period, or sooner once
+ * {@code maxSize} have been collected. Periods in which nothing arrived produce no list.
+ * A new list is sized from the previous one (capped at {@code maxSize}), so steady
+ * traffic fills buffers without regrowing them.
+ */
+final class ObservableBufferTimed<T> implements ObservableOnSubscribe<List<T>> {
+    private static final int MIN_CAPACITY = 16;
+
+    private final Observable<T> upstream;
+    private final long time;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+    private final int maxSize;
+
+    ObservableBufferTimed(Observable<T> upstream, long time, TimeUnit unit, Scheduler scheduler, int maxSize) {
+        this.upstream = upstream;
+        this.time = time;
+        this.unit = unit;
+        this.scheduler = scheduler;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<List<T>> downstream) {
+        BufferTimedObserver<T> parent = new BufferTimedObserver<>(downstream, maxSize);
+        parent.timer = scheduler.createWorker().schedulePeriodically(parent, time, time, unit);
+        CompositeDisposable resources = new CompositeDisposable(parent);
+        downstream.setDisposable(resources);
+        upstream.subscribe(parent, resources::add);
+    }
+
+    static final class BufferTimedObserver<T> implements Observer<T>, Runnable {
+        private final SerializedEmitter<List<T>> emitter;
+        private final int maxSize;
+        private List<T> buffer;
+        private int capacity;
+        volatile Disposable timer;
+        private volatile boolean disposed;
+
+        BufferTimedObserver(Observer<? super List<T>> downstream, int maxSize) {
+            this.emitter = new SerializedEmitter<>(downstream);
+            this.maxSize = maxSize;
+            this.capacity = Math.min(maxSize, MIN_CAPACITY);
+            this.buffer = new ArrayList<>(capacity);
+        }
+
+        @Override
+        public void onNext(T item) {
+            List<T> full = null;
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                b.add(item);
+                if (b.size() == maxSize) {
+                    full = b;
+                    buffer = new ArrayList<>(maxSize);
+                    // queued under the lock so a tick cannot overtake this buffer
+                    emitter.offer(full);
+                }
+            }
+            if (full != null) {
+                emitter.drain();
+            }
+        }
+
+        /**
+         * Timer tick.
+         */
+        @Override
+        public void run() {
+            if (disposed || emitter.isDisposed()) {
+                timer.dispose();
+                return;
+            }
+            List<T> b;
+            synchronized (this) {
+                b = buffer;
+                if (b == null || b.isEmpty()) {
+                    return;
+                }
+                capacity = Math.min(maxSize, Math.max(b.size(), MIN_CAPACITY));
+                buffer = new ArrayList<>(capacity);
+                emitter.offer(b);
+            }
+            emitter.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            timer.dispose();
+            synchronized (this) {
+                buffer = null;
+            }
+            emitter.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            timer.dispose();
+            synchronized (this) {
+                List<T> b = buffer;
+                buffer = null;
+                if (b != null && !b.isEmpty()) {
+                    emitter.offer(b);
+                }
+            }
+            emitter.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            timer.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
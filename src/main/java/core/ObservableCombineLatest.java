@@ -0,0 +1,228 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Emits {@code combiner} of the latest item of every source whenever any of them emits,
+ * once each has emitted at least once. Each arriving item updates the latest values under
+ * a lock and, once all sources have one, queues a snapshot of them there, so the combined
+ * values follow arrival order even when several threads emit at once; whoever finds the
+ * work-in-progress counter at zero applies {@code combiner} to the queued snapshots.
+ * Completes when every source has completed, or as soon as one completes without ever
+ * emitting; the first error terminates it.
+ */
+final class ObservableCombineLatest<R> implements ObservableOnSubscribe<R> {
+    private final Observable<?>[] sources;
+    private final Function<? super Object[], ? extends R> combiner;
+
+    ObservableCombineLatest(Observable<?>[] sources, Function<? super Object[], ? extends R> combiner) {
+        this.sources = sources;
+        this.combiner = combiner;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> downstream) {
+        LatestCoordinator<R> parent = new LatestCoordinator<>(downstream, combiner, sources.length);
+        downstream.setDisposable(parent);
+        parent.subscribe(sources);
+    }
+
+    static final class LatestCoordinator<R> extends AtomicInteger implements Disposable {
+        private final Observer<? super R> downstream;
+        private final Function<? super Object[], ? extends R> combiner;
+        private final LatestObserver<?>[] inners;
+        // guarded by this: the latest item of every source, how many have none yet and
+        // how many have not completed
+        private final Object[] latest;
+        private int missing;
+        private int active;
+        // offered under the lock, polled by the drain
+        private final SpscLinkedArrayQueue<Object[]> queue = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        private volatile boolean done;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CompositeDisposable resources = new CompositeDisposable();
+        private volatile boolean disposed;
+
+        LatestCoordinator(Observer<? super R> downstream, Function<? super Object[], ? extends R> combiner, int n) {
+            this.downstream = downstream;
+            this.combiner = combiner;
+            this.inners = new LatestObserver<?>[n];
+            this.latest = new Object[n];
+            this.missing = n;
+            this.active = n;
+            for (int i = 0; i < n; i++) {
+                inners[i] = new LatestObserver<>(this, i);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void subscribe(Observable<?>[] sources) {
+            if (sources.length == 0) {
+                disposed = true;
+                downstream.onComplete();
+                return;
+            }
+            for (int i = 0; i < sources.length && !disposed; i++) {
+                ((Observable<Object>) sources[i]).subscribe((LatestObserver<Object>) inners[i], resources::add);
+            }
+        }
+
+        void innerNext(int index, Object item) {
+            synchronized (this) {
+                if (disposed) {
+                    return;
+                }
+                Object[] values = latest;
+                if (values[index] == null) {
+                    missing--;
+                }
+                values[index] = item;
+                if (missing == 0) {
+                    queue.offer(values.clone());
+                }
+            }
+            drain();
+        }
+
+        void innerComplete(int index) {
+            synchronized (this) {
+                // a source that never emitted means there will never be a combination
+                if (latest[index] == null || --active == 0) {
+                    done = true;
+                }
+            }
+            drain();
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+                    boolean d = done;
+                    Object[] values = queue.poll();
+                    boolean empty = values == null;
+                    if (d && empty) {
+                        terminate();
+                        downstream.onComplete();
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    R result;
+                    try {
+                        result = combiner.apply(values);
+                    } catch (Throwable t) {
+                        terminate();
+                        downstream.onError(t);
+                        return;
+                    }
+                    downstream.onNext(result);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (disposed) {
+                clear();
+                return true;
+            }
+            Throwable e = error.get();
+            if (e != null) {
+                terminate();
+                downstream.onError(e);
+                return true;
+            }
+            return false;
+        }
+
+        private void terminate() {
+            disposed = true;
+            resources.dispose();
+            clear();
+        }
+
+        private void clear() {
+            synchronized (this) {
+                Arrays.fill(latest, null);
+                queue.clear();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            resources.dispose();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class LatestObserver<T> implements Observer<T> {
+        private final LatestCoordinator<?> parent;
+        private final int index;
+        private boolean done;
+
+        LatestObserver(LatestCoordinator<?> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done) {
+                parent.innerNext(index, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                parent.innerError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.innerComplete(index);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            parent.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package core;
+
+/**
+ * Handed to an {@link ObservableOnSubscribe}. Besides emitting, a source registers the
+ * resource behind it here; the resource is released as soon as the stream is disposed
+ * or terminates, so an abandoned source stops producing right away. Items at hand in an
+ * array can be emitted with one {@link #onNextBatch} call.
+ */
+public interface ObservableEmitter<T> extends BatchObserver<T> {
+    /**
+     * Sets the resource to dispose with this emitter, disposing the previous one. If the
+     * emitter is already disposed, {@code d} is disposed immediately.
+     */
+    void setDisposable(Disposable d);
+
+    /**
+     * Like {@link #setDisposable}, for a plain cancellation action.
+     */
+    void setCancellable(Cancellable c);
+}
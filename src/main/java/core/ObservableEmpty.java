@@ -0,0 +1,17 @@
+package core;
+
+/**
+ * Completes right away. Stateless, so one instance serves every type; {@code flatMap}
+ * skips inners backed by it without subscribing.
+ */
+final class ObservableEmpty implements ObservableOnSubscribe<Object> {
+    static final ObservableEmpty INSTANCE = new ObservableEmpty();
+
+    private ObservableEmpty() {
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Object> downstream) {
+        downstream.onComplete();
+    }
+}
@@ -0,0 +1,17 @@
+package core;
+
+/**
+ * Fails right away with the given error.
+ */
+final class ObservableError<T> implements ObservableOnSubscribe<T> {
+    private final Throwable error;
+
+    ObservableError(Throwable error) {
+        this.error = error;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        downstream.onError(error);
+    }
+}
@@ -0,0 +1,266 @@
+package core;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Merges the inner observables produced by {@code mapper}. Outer items wait in a queue
+ * until fewer than {@code maxConcurrency} inners are active. Inner items may arrive on
+ * any thread; whoever finds the work-in-progress counter at zero becomes the single
+ * emitter and drains the shared queue, so the downstream is never called concurrently
+ * and no thread ever blocks. The merged stream completes only after the outer source
+ * and every inner have completed; the first error terminates it. Scalar inners
+ * ({@code just}, {@code empty}) never take an inner slot: their item is emitted, or
+ * queued behind earlier ones, in place.
+ */
+final class ObservableFlatMap<T, R> implements ObservableOnSubscribe<R> {
+    private final Observable<T> upstream;
+    private final Function<? super T, ? extends Observable<? extends R>> mapper;
+    private final int maxConcurrency;
+
+    ObservableFlatMap(Observable<T> upstream, Function<? super T, ? extends Observable<? extends R>> mapper,
+                      int maxConcurrency) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> downstream) {
+        MergeObserver<T, R> parent = new MergeObserver<>(downstream, mapper, maxConcurrency);
+        downstream.setDisposable(parent);
+        upstream.subscribe(parent, parent.resources::add);
+    }
+
+    static final class MergeObserver<T, R> extends AtomicInteger implements Observer<T> {
+        private final Observer<? super R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final SpscLinkedArrayQueue<T> pending = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        private final ConcurrentLinkedQueue<R> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        // the outer subscription plus one entry per active inner source
+        final CompositeDisposable resources = new CompositeDisposable();
+
+        private volatile boolean done;
+        private volatile boolean disposed;
+
+        MergeObserver(Observer<? super R> downstream, Function<? super T, ? extends Observable<? extends R>> mapper,
+                      int maxConcurrency) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            pending.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            resources.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        void innerNext(R item) {
+            if (disposed) {
+                return;
+            }
+            if (get() == 0 && compareAndSet(0, 1)) {
+                if (queue.isEmpty()) {
+                    downstream.onNext(item);
+                } else {
+                    queue.offer(item);
+                }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void innerComplete(InnerObserver<R> inner) {
+            resources.delete(inner.upstream);
+            active.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                R item;
+                while ((item = queue.poll()) != null) {
+                    downstream.onNext(item);
+                    if (checkTerminated()) {
+                        return;
+                    }
+                }
+                while (active.get() < maxConcurrency) {
+                    T next = pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    subscribeInner(next);
+                    if (checkTerminated()) {
+                        return;
+                    }
+                }
+                if (checkTerminated()) {
+                    return;
+                }
+                if (done && active.get() == 0 && pending.isEmpty() && queue.isEmpty()) {
+                    disposed = true;
+                    downstream.onComplete();
+                    return;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Runs inside the drain loop, so a scalar inner's item can go downstream right here.
+         */
+        @SuppressWarnings("unchecked")
+        private void subscribeInner(T item) {
+            Observable<? extends R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Throwable t) {
+                error.compareAndSet(null, t);
+                return;
+            }
+            if (inner.source instanceof ObservableJust<?> scalar) {
+                R value = (R) scalar.value;
+                if (queue.isEmpty()) {
+                    downstream.onNext(value);
+                } else {
+                    queue.offer(value);
+                }
+                return;
+            }
+            if (inner.source == ObservableEmpty.INSTANCE) {
+                return;
+            }
+            active.incrementAndGet();
+            InnerObserver<R> innerObserver = new InnerObserver<>(this);
+            inner.subscribe(innerObserver, d -> {
+                innerObserver.upstream = d;
+                resources.add(d);
+            });
+        }
+
+        private boolean checkTerminated() {
+            if (disposed) {
+                pending.clear();
+                queue.clear();
+                return true;
+            }
+            Throwable e = error.get();
+            if (e != null) {
+                disposed = true;
+                pending.clear();
+                queue.clear();
+                downstream.onError(e);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class InnerObserver<R> implements Observer<R> {
+        private final MergeObserver<?, R> parent;
+        Disposable upstream;
+        private boolean done;
+
+        InnerObserver(MergeObserver<?, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.innerNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                parent.innerError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.innerComplete(this);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            parent.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package core;
+
+/**
+ * Emits the elements of an array in order, as batches of up to {@link Observable#bufferSize()}
+ * items, checking for disposal between batches. The array is not copied up front, so
+ * changes made to it before a subscription are visible to that subscription.
+ */
+final class ObservableFromArray<T> implements ObservableOnSubscribe<T> {
+    private final T[] items;
+
+    ObservableFromArray(T[] items) {
+        this.items = items;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        T[] a = items;
+        int chunk = Observable.bufferSize();
+        if (a.length <= chunk) {
+            downstream.onNextBatch(a, a.length);
+        } else {
+            Object[] batch = new Object[chunk];
+            for (int i = 0; i < a.length; i += chunk) {
+                if (downstream.isDisposed()) {
+                    return;
+                }
+                int n = Math.min(chunk, a.length - i);
+                System.arraycopy(a, i, batch, 0, n);
+                downstream.onNextBatch(batch, n);
+            }
+        }
+        if (!downstream.isDisposed()) {
+            downstream.onComplete();
+        }
+    }
+}
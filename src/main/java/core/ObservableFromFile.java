@@ -0,0 +1,128 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Emits the contents of a file as read-only {@link ByteBuffer} slices of memory-mapped
+ * regions, either in fixed-size chunks or split on a delimiter byte. Nothing is copied:
+ * each slice is a view of the page cache, valid for as long as it is referenced (the
+ * mapping outlives the channel, which is closed when the scan ends). Files larger than
+ * one mapping are mapped region by region; a line that crosses a region end is
+ * re-mapped from its start, so lines longer than a region are rejected.
+ */
+final class ObservableFromFile implements ObservableOnSubscribe<ByteBuffer> {
+    static final int REGION_SIZE = 1 << 28;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private final Path path;
+    private final int chunkSize;
+    private final int delimiter;
+    private final int regionSize;
+
+    /**
+     * @param delimiter the byte to split on, or -1 to emit {@code chunkSize} chunks
+     */
+    ObservableFromFile(Path path, int chunkSize, int delimiter, int regionSize) {
+        this.path = path;
+        this.chunkSize = chunkSize;
+        this.delimiter = delimiter;
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<ByteBuffer> emitter) {
+        boolean completed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            completed = delimiter < 0 ? emitChunks(channel, emitter) : emitLines(channel, emitter);
+        } catch (IOException e) {
+            emitter.onError(e);
+            return;
+        }
+        if (completed) {
+            emitter.onComplete();
+        }
+    }
+
+    private boolean emitChunks(FileChannel channel, ObservableEmitter<ByteBuffer> emitter) throws IOException {
+        long size = channel.size();
+        // whole chunks per region, so no chunk straddles two mappings
+        int span = Math.max(1, regionSize / chunkSize) * chunkSize;
+        for (long start = 0; start < size; start += span) {
+            int length = (int) Math.min(span, size - start);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            for (int offset = 0; offset < length; offset += chunkSize) {
+                if (emitter.isDisposed()) {
+                    return false;
+                }
+                emitter.onNext(region.slice(offset, Math.min(chunkSize, length - offset)));
+            }
+        }
+        return true;
+    }
+
+    private boolean emitLines(FileChannel channel, ObservableEmitter<ByteBuffer> emitter) throws IOException {
+        long size = channel.size();
+        long start = 0;
+        while (start < size) {
+            int length = (int) Math.min(regionSize, size - start);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            region.order(ByteOrder.LITTLE_ENDIAN);
+            int lineStart = 0;
+            int end;
+            while ((end = indexOf(region, lineStart, length, (byte) delimiter)) >= 0) {
+                if (emitter.isDisposed()) {
+                    return false;
+                }
+                emitter.onNext(region.slice(lineStart, end - lineStart));
+                lineStart = end + 1;
+            }
+            if (start + length == size) {
+                if (lineStart < length) {
+                    if (emitter.isDisposed()) {
+                        return false;
+                    }
+                    emitter.onNext(region.slice(lineStart, length - lineStart));
+                }
+                return true;
+            }
+            if (lineStart == 0) {
+                throw new IOException("Line at offset " + start + " of " + path + " is longer than "
+                        + regionSize + " bytes");
+            }
+            start += lineStart;
+        }
+        return true;
+    }
+
+    /**
+     * Index of the first {@code value} in {@code [from, to)}, or -1. Tests eight bytes per
+     * step: XOR turns matching bytes into zero bytes, and the classic has-zero-byte
+     * expression flags them. The buffer is little-endian, so the lowest flag is the first
+     * match; borrows can only produce false flags above a real one.
+     */
+    static int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+        long pattern = (value & 0xFFL) * ONES;
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = buffer.getLong(i) ^ pattern;
+            long found = (word - ONES) & ~word & HIGHS;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,44 @@
+package core;
+
+import java.util.Iterator;
+
+/**
+ * Emits the elements of an {@link Iterable}, asking it for a new iterator on each
+ * subscription. A failing {@code iterator()}, {@code hasNext()} or {@code next()} ends
+ * the stream with that error.
+ */
+final class ObservableFromIterable<T> implements ObservableOnSubscribe<T> {
+    private final Iterable<? extends T> source;
+
+    ObservableFromIterable(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        Iterator<? extends T> iterator;
+        try {
+            iterator = source.iterator();
+        } catch (Throwable t) {
+            downstream.onError(t);
+            return;
+        }
+        for (;;) {
+            if (downstream.isDisposed()) {
+                return;
+            }
+            T item;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                item = iterator.next();
+            } catch (Throwable t) {
+                downstream.onError(t);
+                return;
+            }
+            downstream.onNext(item);
+        }
+        downstream.onComplete();
+    }
+}
@@ -0,0 +1,168 @@
+package core;
+
+import java.util.function.Function;
+
+/**
+ * Routes every item to the group of its key, emitting a {@link GroupedObservable} when a
+ * key is seen for the first time. Groups are looked up in an {@link OpenHashMap} owned by
+ * the upstream thread, so routing takes no lock. A group whose observer disposed is
+ * evicted; the next item with its key opens a new group. With {@code maxGroups}, opening
+ * a group beyond the limit first completes and evicts another one, chosen with the CLOCK
+ * algorithm: a hand sweeps the table, clearing each group's referenced bit and evicting
+ * the first group found without it, which approximates least-recently-used at O(1) cost.
+ */
+final class ObservableGroupBy<T, K> implements ObservableOnSubscribe<GroupedObservable<K, T>> {
+    private final Observable<T> upstream;
+    private final Function<? super T, ? extends K> keySelector;
+    private final int maxGroups;
+
+    ObservableGroupBy(Observable<T> upstream, Function<? super T, ? extends K> keySelector, int maxGroups) {
+        this.upstream = upstream;
+        this.keySelector = keySelector;
+        this.maxGroups = maxGroups;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<GroupedObservable<K, T>> downstream) {
+        upstream.subscribe(new GroupByObserver<>(downstream, keySelector, maxGroups), downstream::setDisposable);
+    }
+
+    static final class Group<T> {
+        final UnicastWindow<T> window = new UnicastWindow<>();
+        boolean referenced;
+    }
+
+    static final class GroupByObserver<T, K> implements Observer<T> {
+        private static final int MIN_PURGE_THRESHOLD = 64;
+
+        private final Observer<? super GroupedObservable<K, T>> downstream;
+        private final Function<? super T, ? extends K> keySelector;
+        private final int maxGroups;
+        private final OpenHashMap<K, Group<T>> groups = new OpenHashMap<>();
+        private int hand;
+        private int purgeThreshold = MIN_PURGE_THRESHOLD;
+        private boolean done;
+        private boolean disposed;
+
+        GroupByObserver(Observer<? super GroupedObservable<K, T>> downstream, Function<? super T, ? extends K> keySelector,
+                        int maxGroups) {
+            this.downstream = downstream;
+            this.keySelector = keySelector;
+            this.maxGroups = maxGroups;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            K key;
+            try {
+                key = keySelector.apply(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            Group<T> group = groups.get(key);
+            if (group != null && group.window.isCancelled()) {
+                groups.remove(key);
+                group = null;
+            }
+            if (group == null) {
+                if (groups.size() >= maxGroups) {
+                    evictOne();
+                } else if (groups.size() >= purgeThreshold) {
+                    purgeCancelled();
+                }
+                group = new Group<>();
+                groups.put(key, group);
+                downstream.onNext(new GroupedObservable<>(key, group.window));
+            }
+            group.referenced = true;
+            group.window.offer(item);
+            group.window.drain();
+        }
+
+        /**
+         * Advances the CLOCK hand until it finds a group to evict. Terminates within two
+         * sweeps, since the first one clears every referenced bit.
+         */
+        private void evictOne() {
+            for (;;) {
+                int slot = hand & (groups.capacity() - 1);
+                Group<T> group = groups.valueAt(slot);
+                if (group == null) {
+                    hand = slot + 1;
+                    continue;
+                }
+                if (group.referenced && !group.window.isCancelled()) {
+                    group.referenced = false;
+                    hand = slot + 1;
+                    continue;
+                }
+                // the hand stays put: removal may shift the next entry into this slot
+                groups.removeAt(slot);
+                group.window.markDone(null);
+                group.window.drain();
+                return;
+            }
+        }
+
+        /**
+         * Drops groups whose observer disposed and whose key never came back, so an
+         * unbounded groupBy does not keep them forever. Runs each time the map doubles.
+         */
+        private void purgeCancelled() {
+            for (int slot = 0; slot < groups.capacity(); ) {
+                Group<T> group = groups.valueAt(slot);
+                if (group != null && group.window.isCancelled()) {
+                    groups.removeAt(slot);
+                } else {
+                    slot++;
+                }
+            }
+            purgeThreshold = Math.max(MIN_PURGE_THRESHOLD, groups.size() * 2);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            closeGroups(t);
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            closeGroups(null);
+            downstream.onComplete();
+        }
+
+        private void closeGroups(Throwable t) {
+            for (int slot = 0; slot < groups.capacity(); slot++) {
+                Group<T> group = groups.valueAt(slot);
+                if (group != null) {
+                    group.window.markDone(t);
+                    group.window.drain();
+                }
+            }
+            groups.clear();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Subscribes to upstream again whenever the latest attempt has stayed silent for
+ * {@code delay}, up to {@code maxAttempts} concurrent attempts. Later attempts are
+ * subscribed from the scheduler's timer task, not a worker, so an attempt that blocks its
+ * thread does not hold back the next one. The first attempt to signal
+ * an item or completion wins a CAS; the others are disposed and only the winner reaches the
+ * downstream. An attempt that fails before a winner is chosen is dropped, and the next
+ * attempt starts at once if no other is running; the stream fails only when every attempt
+ * has failed, with the last error.
+ */
+final class ObservableHedge<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final long delay;
+    private final TimeUnit unit;
+    private final int maxAttempts;
+    private final Scheduler scheduler;
+
+    ObservableHedge(Observable<T> upstream, long delay, TimeUnit unit, int maxAttempts, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.delay = delay;
+        this.unit = unit;
+        this.maxAttempts = maxAttempts;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        HedgeCoordinator<T> parent = new HedgeCoordinator<>(downstream, this);
+        downstream.setDisposable(parent);
+        parent.startNext();
+    }
+
+    static final class HedgeCoordinator<T> implements Disposable {
+        private final Observer<? super T> downstream;
+        private final Observable<T> source;
+        private final long delay;
+        private final TimeUnit unit;
+        private final Scheduler scheduler;
+        private final AtomicReferenceArray<AttemptObserver<T>> attempts;
+        private final AtomicInteger launched = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicReference<AttemptObserver<T>> winner = new AtomicReference<>();
+        // the pending hedge timer, replaced each time an attempt starts
+        private final AtomicReference<Disposable> timer = new AtomicReference<>();
+        private volatile boolean disposed;
+
+        HedgeCoordinator(Observer<? super T> downstream, ObservableHedge<T> hedge) {
+            this.downstream = downstream;
+            this.source = hedge.upstream;
+            this.delay = hedge.delay;
+            this.unit = hedge.unit;
+            this.scheduler = hedge.scheduler;
+            this.attempts = new AtomicReferenceArray<>(hedge.maxAttempts);
+        }
+
+        void startNext() {
+            if (disposed || winner.get() != null) {
+                return;
+            }
+            int index = launched.getAndIncrement();
+            if (index >= attempts.length()) {
+                return;
+            }
+            if (index + 1 < attempts.length()) {
+                DisposableHelper.set(timer, scheduler.schedule(this::startNext, delay, unit));
+            }
+            AttemptObserver<T> attempt = new AttemptObserver<>(this);
+            attempts.set(index, attempt);
+            // a winner chosen before the set above may have missed this attempt in its cleanup
+            if (disposed || winner.get() != null) {
+                attempt.dispose();
+                return;
+            }
+            source.subscribe(attempt, d -> DisposableHelper.set(attempt, d));
+        }
+
+        /**
+         * Returns true if {@code attempt} may signal the downstream, making it the winner if
+         * none has been chosen yet.
+         */
+        boolean tryWin(AttemptObserver<T> attempt) {
+            AttemptObserver<T> current = winner.get();
+            if (current == attempt) {
+                return true;
+            }
+            if (current != null || !winner.compareAndSet(null, attempt)) {
+                attempt.dispose();
+                return false;
+            }
+            DisposableHelper.dispose(timer);
+            for (int i = 0; i < attempts.length(); i++) {
+                AttemptObserver<T> other = attempts.get(i);
+                if (other != null && other != attempt) {
+                    other.dispose();
+                }
+            }
+            return true;
+        }
+
+        void attemptError(AttemptObserver<T> attempt, Throwable t) {
+            if (winner.get() == attempt) {
+                downstream.onError(t);
+                return;
+            }
+            int failures = failed.incrementAndGet();
+            if (failures == attempts.length()) {
+                if (tryWin(attempt)) {
+                    downstream.onError(t);
+                }
+            } else if (failures == launched.get()) {
+                startNext();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            DisposableHelper.dispose(timer);
+            for (int i = 0; i < attempts.length(); i++) {
+                AttemptObserver<T> attempt = attempts.get(i);
+                if (attempt != null) {
+                    attempt.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        void next(T item) {
+            downstream.onNext(item);
+        }
+
+        void complete() {
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * One subscription to upstream; holds that subscription's disposable.
+     */
+    static final class AttemptObserver<T> extends AtomicReference<Disposable> implements Observer<T> {
+        private final HedgeCoordinator<T> parent;
+
+        AttemptObserver(HedgeCoordinator<T> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (parent.tryWin(this)) {
+                parent.next(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.attemptError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (parent.tryWin(this)) {
+                parent.complete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() == DisposableHelper.DISPOSED;
+        }
+    }
+}
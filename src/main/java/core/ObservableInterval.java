@@ -0,0 +1,51 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits 0, 1, 2, ... on the {@link Scheduler} at a fixed rate until the observer is disposed.
+ */
+final class ObservableInterval implements ObservableOnSubscribe<Long> {
+    private final long initialDelay;
+    private final long period;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ObservableInterval(long initialDelay, long period, TimeUnit unit, Scheduler scheduler) {
+        this.initialDelay = initialDelay;
+        this.period = period;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Long> observer) {
+        IntervalTask task = new IntervalTask(observer);
+        task.resource = scheduler.createWorker().schedulePeriodically(task, initialDelay, period, unit);
+        observer.setDisposable(task.resource);
+    }
+
+    static final class IntervalTask implements Runnable {
+        private final Observer<? super Long> downstream;
+        private long count;
+        volatile Disposable resource;
+
+        IntervalTask(Observer<? super Long> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void run() {
+            if (downstream.isDisposed()) {
+                Disposable d = resource;
+                if (d != null) {
+                    d.dispose();
+                }
+                return;
+            }
+            downstream.onNext(count++);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package core;
+
+/**
+ * Emits a single item and completes. {@code flatMap} recognizes this source and emits
+ * {@link #value} directly instead of subscribing to it.
+ */
+final class ObservableJust<T> implements ObservableOnSubscribe<T> {
+    final T value;
+
+    ObservableJust(T value) {
+        this.value = value;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        downstream.onNext(value);
+        downstream.onComplete();
+    }
+}
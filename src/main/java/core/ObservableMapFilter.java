@@ -0,0 +1,180 @@
+package core;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A run of adjacent map/filter stages collapsed into one. Calling {@code map} or
+ * {@code filter} on an observable that is already such a run composes the new stage
+ * into its function instead of subscribing another observer, so a chain of any length
+ * costs one observer, one try/catch and one terminal-state check per item. Filters
+ * reject an item by returning {@link #SKIP}, which short-circuits the stages after them.
+ * A batch from upstream goes through the function in one loop and leaves as one batch.
+ */
+final class ObservableMapFilter<T, R> implements ObservableOnSubscribe<R> {
+    private static final Object SKIP = new Object();
+
+    private final Observable<T> upstream;
+    private final Function<Object, Object> function;
+
+    private ObservableMapFilter(Observable<T> upstream, Function<Object, Object> function) {
+        this.upstream = upstream;
+        this.function = function;
+    }
+
+    static <T, R> ObservableOnSubscribe<R> map(Observable<T> parent, Function<? super T, ? extends R> mapper) {
+        if (parent.source instanceof ObservableMapFilter<?, ?> fused) {
+            return new ObservableMapFilter<>(fused.upstream, andThenMap(fused.function, mapper));
+        }
+        return new ObservableMapFilter<>(parent, andThenMap(null, mapper));
+    }
+
+    static <T> ObservableOnSubscribe<T> filter(Observable<T> parent, Predicate<? super T> predicate) {
+        if (parent.source instanceof ObservableMapFilter<?, ?> fused) {
+            return new ObservableMapFilter<>(fused.upstream, andThenFilter(fused.function, predicate));
+        }
+        return new ObservableMapFilter<>(parent, andThenFilter(null, predicate));
+    }
+
+    /**
+     * Appends a map stage to a fused function, or starts one if {@code previous} is null.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> andThenMap(Function<Object, Object> previous, Function<?, ?> mapper) {
+        Function<Object, Object> stage = (Function<Object, Object>) mapper;
+        if (previous == null) {
+            return stage;
+        }
+        return value -> {
+            Object result = previous.apply(value);
+            return result == SKIP ? SKIP : stage.apply(result);
+        };
+    }
+
+    /**
+     * Appends a filter stage to a fused function, or starts one if {@code previous} is null.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> andThenFilter(Function<Object, Object> previous, Predicate<?> predicate) {
+        Predicate<Object> stage = (Predicate<Object>) predicate;
+        if (previous == null) {
+            return value -> stage.test(value) ? value : SKIP;
+        }
+        return value -> {
+            Object result = previous.apply(value);
+            return result == SKIP || !stage.test(result) ? SKIP : result;
+        };
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> downstream) {
+        upstream.subscribe(new MapFilterObserver<>(downstream, function), downstream::setDisposable);
+    }
+
+    static final class MapFilterObserver<T, R> implements BatchObserver<T> {
+        private final Observer<? super R> downstream;
+        private final Function<Object, Object> function;
+        // output buffer of onNextBatch; null while a batch is being emitted, so a
+        // reentrant batch allocates its own
+        private Object[] scratch;
+        private boolean done;
+        private boolean disposed;
+
+        MapFilterObserver(Observer<? super R> downstream, Function<Object, Object> function) {
+            this.downstream = downstream;
+            this.function = function;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Object result;
+            try {
+                result = function.apply(item);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            if (result != SKIP) {
+                downstream.onNext((R) result);
+            }
+        }
+
+        /**
+         * Runs the fused function over the whole batch, packing the items that pass into
+         * one output batch. Stops, dropping the batch, as soon as the downstream is disposed,
+         * so the function does not run for items the per-item path would never have seen.
+         */
+        @Override
+        public void onNextBatch(Object[] items, int count) {
+            if (done) {
+                return;
+            }
+            Object[] out = scratch;
+            scratch = null;
+            if (out == null || out.length < count) {
+                out = new Object[count];
+            }
+            Function<Object, Object> f = function;
+            int n = 0;
+            Throwable failure = null;
+            for (int i = 0; i < count; i++) {
+                if (isDisposed()) {
+                    Arrays.fill(out, 0, n, null);
+                    scratch = out;
+                    return;
+                }
+                Object result;
+                try {
+                    result = f.apply(items[i]);
+                } catch (Throwable t) {
+                    failure = t;
+                    break;
+                }
+                if (result != SKIP) {
+                    out[n++] = result;
+                }
+            }
+            if (n != 0) {
+                BatchHelper.emit(downstream, out, n);
+                Arrays.fill(out, 0, n, null);
+            }
+            scratch = out;
+            if (failure != null) {
+                onError(failure);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed || downstream.isDisposed();
+        }
+    }
+}
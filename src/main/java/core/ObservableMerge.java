@@ -0,0 +1,240 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Merges a fixed set of sources. Each source has its own {@link SpscLinkedArrayQueue},
+ * written only by the thread that source emits on, so sources running on different
+ * threads never contend with each other; the only shared write is the work-in-progress
+ * counter. Whoever finds it at zero emits directly or drains every queue, taking at most
+ * {@link Observable#bufferSize()} items from one source before moving on to the next, so
+ * a busy source cannot starve the others. With {@code delayErrors}, errors are collected
+ * and the first one, with the others suppressed, is signalled once every source has
+ * terminated; otherwise the first error terminates the merge.
+ */
+final class ObservableMerge<T> implements ObservableOnSubscribe<T> {
+    private final Observable<? extends T>[] sources;
+    private final boolean delayErrors;
+
+    ObservableMerge(Observable<? extends T>[] sources, boolean delayErrors) {
+        this.sources = sources;
+        this.delayErrors = delayErrors;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        MergeCoordinator<T> parent = new MergeCoordinator<>(downstream, sources.length, delayErrors);
+        downstream.setDisposable(parent);
+        parent.subscribe(sources);
+    }
+
+    static final class MergeCoordinator<T> extends AtomicInteger implements Disposable {
+        private final Observer<? super T> downstream;
+        private final InnerObserver<T>[] inners;
+        private final boolean delayErrors;
+        private final AtomicInteger active;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CompositeDisposable resources = new CompositeDisposable();
+        // drain side: the source to start the next pass with
+        private int index;
+        private volatile boolean disposed;
+
+        @SuppressWarnings("unchecked")
+        MergeCoordinator(Observer<? super T> downstream, int n, boolean delayErrors) {
+            this.downstream = downstream;
+            this.delayErrors = delayErrors;
+            this.active = new AtomicInteger(n);
+            this.inners = new InnerObserver[n];
+            for (int i = 0; i < n; i++) {
+                inners[i] = new InnerObserver<>(this);
+            }
+        }
+
+        void subscribe(Observable<? extends T>[] sources) {
+            if (sources.length == 0) {
+                drain();
+            }
+            for (int i = 0; i < sources.length && !disposed; i++) {
+                sources[i].subscribe(inners[i], resources::add);
+            }
+        }
+
+        void innerNext(InnerObserver<T> inner, T item) {
+            if (disposed) {
+                return;
+            }
+            if (get() == 0 && compareAndSet(0, 1)) {
+                if (inner.queue.isEmpty()) {
+                    downstream.onNext(item);
+                    if (decrementAndGet() == 0) {
+                        return;
+                    }
+                } else {
+                    inner.queue.offer(item);
+                }
+            } else {
+                inner.queue.offer(item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void innerError(Throwable t) {
+            if (!error.compareAndSet(null, t)) {
+                Throwable first = error.get();
+                if (first != t) {
+                    first.addSuppressed(t);
+                }
+            }
+            if (delayErrors) {
+                active.decrementAndGet();
+            }
+            drain();
+        }
+
+        void innerComplete() {
+            active.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            InnerObserver<T>[] in = inners;
+            int n = in.length;
+            int limit = Observable.bufferSize();
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                boolean d = active.get() == 0;
+                boolean empty = true;
+                int start = index;
+                for (int k = 0; k < n; k++) {
+                    int i = start + k < n ? start + k : start + k - n;
+                    SpscLinkedArrayQueue<T> q = in[i].queue;
+                    for (int j = 0; j < limit; j++) {
+                        T item = q.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        downstream.onNext(item);
+                        if (checkTerminated()) {
+                            return;
+                        }
+                    }
+                    if (!q.isEmpty()) {
+                        empty = false;
+                    }
+                }
+                index = n == 0 || start + 1 == n ? 0 : start + 1;
+                if (d && empty) {
+                    disposed = true;
+                    Throwable e = error.get();
+                    if (e != null) {
+                        downstream.onError(e);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+                if (!empty) {
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (disposed) {
+                clearQueues();
+                return true;
+            }
+            if (!delayErrors) {
+                Throwable e = error.get();
+                if (e != null) {
+                    disposed = true;
+                    resources.dispose();
+                    clearQueues();
+                    downstream.onError(e);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void clearQueues() {
+            for (InnerObserver<T> inner : inners) {
+                inner.queue.clear();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            resources.dispose();
+            if (getAndIncrement() == 0) {
+                clearQueues();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class InnerObserver<T> implements Observer<T> {
+        private final MergeCoordinator<T> parent;
+        final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        private boolean done;
+
+        InnerObserver(MergeCoordinator<T> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done) {
+                parent.innerNext(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                parent.innerError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.innerComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            parent.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The source behind a {@link ConnectableObservable}. Observers attach to the current
+ * {@link Connection}; {@link #connect} subscribes it to upstream once, and every item is
+ * then handed to all attached observers, see {@link Multicast}. With
+ * {@code replaySize == 0} (publish) nothing is retained.
+ */
+final class ObservableMulticast<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final int replaySize;
+    private final AtomicReference<Connection<T>> current = new AtomicReference<>();
+
+    ObservableMulticast(Observable<T> upstream, int replaySize) {
+        this.upstream = upstream;
+        this.replaySize = replaySize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        for (;;) {
+            Connection<T> connection = current.get();
+            if (connection == null || connection.isDisposed()) {
+                Connection<T> fresh = new Connection<>(this, replaySize);
+                if (!current.compareAndSet(connection, fresh)) {
+                    continue;
+                }
+                connection = fresh;
+            }
+            connection.subscribe(downstream);
+            return;
+        }
+    }
+
+    /**
+     * Connects the current connection, starting a fresh one if the previous has terminated
+     * or been disposed. {@code onConnect} receives the connection before upstream is
+     * subscribed, so it can be disposed while upstream is still emitting synchronously.
+     */
+    Disposable connect(Consumer<? super Disposable> onConnect) {
+        for (;;) {
+            Connection<T> connection = current.get();
+            if (connection == null || connection.isDisposed() || connection.isDone()) {
+                Connection<T> fresh = new Connection<>(this, replaySize);
+                if (!current.compareAndSet(connection, fresh)) {
+                    continue;
+                }
+                connection = fresh;
+            }
+            onConnect.accept(connection);
+            if (connection.connected.compareAndSet(false, true)) {
+                upstream.subscribe(connection, connection::setUpstream);
+            }
+            return connection;
+        }
+    }
+
+    /**
+     * One upstream subscription shared by the observers attached to it.
+     */
+    static final class Connection<T> extends Multicast<T> {
+        private final ObservableMulticast<T> parent;
+        final AtomicBoolean connected = new AtomicBoolean();
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+        Connection(ObservableMulticast<T> parent, int replaySize) {
+            super(replaySize > 0 ? new ReplayRingBuffer<>(replaySize) : null, true);
+            this.parent = parent;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.set(upstream, d);
+        }
+
+        /**
+         * Disconnects from upstream. Observers stay attached but receive nothing more;
+         * the next subscribe or connect starts a fresh connection.
+         */
+        @Override
+        public void dispose() {
+            if (!isDisposed()) {
+                super.dispose();
+                DisposableHelper.dispose(upstream);
+                parent.current.compareAndSet(this, null);
+            }
+        }
+    }
+}
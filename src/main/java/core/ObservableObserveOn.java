@@ -0,0 +1,161 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves signals onto a {@link Scheduler.Worker} through a queue. Upstream only enqueues and,
+ * if no drain is in flight, submits one; the drain then delivers everything it finds
+ * in order, handing the downstream what it finds queued as batches. A drain hands the
+ * thread back to the scheduler after {@code batchSize} items so a busy stream cannot
+ * starve the other tasks of a shared pool.
+ */
+final class ObservableObserveOn<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final Scheduler scheduler;
+    private final int batchSize;
+
+    ObservableObserveOn(Observable<T> upstream, Scheduler scheduler, int batchSize) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        ObserveOnObserver<T> parent = new ObserveOnObserver<>(downstream, scheduler, batchSize);
+        CompositeDisposable resources = new CompositeDisposable(parent);
+        downstream.setDisposable(resources);
+        upstream.subscribe(parent, resources::add);
+    }
+
+    static final class ObserveOnObserver<T> extends AtomicInteger implements BatchObserver<T>, Runnable {
+        private final Observer<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final int batchSize;
+        private final SpscLinkedArrayQueue<T> queue;
+        // drain side: items polled for the next downstream batch
+        private final Object[] batch;
+
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean disposed;
+
+        ObserveOnObserver(Observer<? super T> downstream, Scheduler scheduler, int batchSize) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker();
+            this.batchSize = batchSize;
+            this.queue = new SpscLinkedArrayQueue<>(batchSize);
+            this.batch = new Object[Math.min(batchSize, Observable.bufferSize())];
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(item);
+            schedule();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNextBatch(Object[] items, int count) {
+            if (done) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                queue.offer((T) items[i]);
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int emitted = 0;
+            for (;;) {
+                for (;;) {
+                    if (disposed || downstream.isDisposed()) {
+                        queue.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    boolean d = done;
+                    Object[] b = batch;
+                    int limit = Math.min(b.length, batchSize - emitted);
+                    int n = 0;
+                    T item;
+                    while (n < limit && (item = queue.poll()) != null) {
+                        b[n++] = item;
+                    }
+                    if (n != 0) {
+                        BatchHelper.emit(downstream, b, n);
+                        Arrays.fill(b, 0, n, null);
+                        emitted += n;
+                        if (emitted == batchSize) {
+                            // wip stays non-zero, so no other drain can start until this one resumes
+                            worker.execute(this);
+                            return;
+                        }
+                        continue;
+                    }
+                    if (d) {
+                        disposed = true;
+                        worker.dispose();
+                        Throwable e = error;
+                        if (e != null) {
+                            downstream.onError(e);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
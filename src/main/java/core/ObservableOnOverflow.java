@@ -0,0 +1,218 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * An {@code observeOn} whose queue is bounded: items wait for the {@link Scheduler.Worker}
+ * in an {@link OverflowRingBuffer} of {@code capacity}, and an item arriving while it is
+ * full is shed according to the {@link OverflowStrategy}. A consumer slower than its
+ * producer therefore loses items, counted in {@link #dropped} and handed to
+ * {@code onDropped}, instead of growing the queue until the heap runs out. The drain
+ * works like the one of {@link ObservableObserveOn}.
+ */
+final class ObservableOnOverflow<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final int capacity;
+    private final OverflowStrategy strategy;
+    private final Consumer<? super T> onDropped;
+    private final Scheduler scheduler;
+    final LongAdder dropped = new LongAdder();
+
+    ObservableOnOverflow(Observable<T> upstream, int capacity, OverflowStrategy strategy,
+                         Consumer<? super T> onDropped, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.capacity = capacity;
+        this.strategy = strategy;
+        this.onDropped = onDropped;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        OverflowObserver<T> parent = new OverflowObserver<>(downstream, this);
+        downstream.setDisposable(parent);
+        upstream.subscribe(parent, parent.resources::add);
+    }
+
+    static final class OverflowObserver<T> extends AtomicInteger implements BatchObserver<T>, Runnable {
+        private final Observer<? super T> downstream;
+        private final OverflowRingBuffer<T> queue;
+        private final OverflowStrategy strategy;
+        private final Consumer<? super T> onDropped;
+        private final LongAdder dropped;
+        private final int capacity;
+        private final Scheduler.Worker worker;
+        // drain side: items polled for the next downstream batch
+        private final Object[] batch = new Object[Observable.bufferSize()];
+        // the upstream subscription
+        final CompositeDisposable resources = new CompositeDisposable();
+
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean disposed;
+
+        OverflowObserver(Observer<? super T> downstream, ObservableOnOverflow<T> parent) {
+            this.downstream = downstream;
+            this.queue = new OverflowRingBuffer<>(parent.capacity);
+            this.strategy = parent.strategy;
+            this.onDropped = parent.onDropped;
+            this.dropped = parent.dropped;
+            this.capacity = parent.capacity;
+            this.worker = parent.scheduler.createWorker();
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done && enqueue(item)) {
+                schedule();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNextBatch(Object[] items, int count) {
+            for (int i = 0; i < count && !done; i++) {
+                if (!enqueue((T) items[i])) {
+                    break;
+                }
+            }
+            schedule();
+        }
+
+        /**
+         * Returns false once the operator has failed.
+         */
+        private boolean enqueue(T item) {
+            switch (strategy) {
+                case DROP_LATEST -> {
+                    if (!queue.offer(item)) {
+                        return drop(item);
+                    }
+                }
+                case DROP_OLDEST -> {
+                    T evicted = queue.offerEvicting(item);
+                    if (evicted != null) {
+                        return drop(evicted);
+                    }
+                }
+                case ERROR -> {
+                    if (!queue.offer(item)) {
+                        fail(new MissingBackpressureException("Queue is full: " + capacity + " items"));
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean drop(T item) {
+            dropped.increment();
+            if (onDropped != null) {
+                try {
+                    onDropped.accept(item);
+                } catch (Throwable t) {
+                    fail(t);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void fail(Throwable t) {
+            resources.dispose();
+            onError(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int emitted = 0;
+            for (;;) {
+                for (;;) {
+                    if (disposed || downstream.isDisposed()) {
+                        queue.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    boolean d = done;
+                    Object[] b = batch;
+                    int limit = b.length - emitted;
+                    int n = 0;
+                    T item;
+                    while (n < limit && (item = queue.poll()) != null) {
+                        b[n++] = item;
+                    }
+                    if (n != 0) {
+                        BatchHelper.emit(downstream, b, n);
+                        Arrays.fill(b, 0, n, null);
+                        emitted += n;
+                        if (emitted == b.length) {
+                            // wip stays non-zero, so no other drain can start until this one resumes
+                            worker.execute(this);
+                            return;
+                        }
+                        continue;
+                    }
+                    if (d) {
+                        disposed = true;
+                        worker.dispose();
+                        Throwable e = error;
+                        if (e != null) {
+                            downstream.onError(e);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            resources.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
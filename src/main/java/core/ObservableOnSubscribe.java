@@ -0,0 +1,6 @@
+package core;
+
+@FunctionalInterface
+public interface ObservableOnSubscribe<T> {
+    void subscribe(ObservableEmitter<T> emitter);
+}
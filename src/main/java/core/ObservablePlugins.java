@@ -0,0 +1,57 @@
+package core;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Global hooks into pipeline assembly and subscription, for instrumentation and
+ * debugging. {@code onAssembly} sees every {@link Observable} an operator creates and
+ * may replace it; {@code onSubscribe} sees every observer subscribed to an
+ * {@link Observable}, including the internal observers operators subscribe upstream,
+ * and may wrap it.
+ *
+ * <p>Hooks are read once per assembly and once per subscription, never per item, so
+ * with no hook installed the item path is exactly what it would be without this class.
+ * Adjacent map/filter stages are fused before they are assembled and appear as one stage.
+ */
+public final class ObservablePlugins {
+    private static volatile Function<? super Observable<?>, ? extends Observable<?>> onAssembly;
+    private static volatile BiFunction<? super Observable<?>, ? super Observer<?>, ? extends Observer<?>> onSubscribe;
+
+    private ObservablePlugins() {
+    }
+
+    public static void setOnAssembly(Function<? super Observable<?>, ? extends Observable<?>> hook) {
+        onAssembly = hook;
+    }
+
+    public static void setOnSubscribe(BiFunction<? super Observable<?>, ? super Observer<?>, ? extends Observer<?>> hook) {
+        onSubscribe = hook;
+    }
+
+    /**
+     * Removes all hooks.
+     */
+    public static void reset() {
+        onAssembly = null;
+        onSubscribe = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Observable<T> onAssembly(Observable<T> observable) {
+        Function<? super Observable<?>, ? extends Observable<?>> hook = onAssembly;
+        if (hook == null) {
+            return observable;
+        }
+        return (Observable<T>) hook.apply(observable);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Observer<? super T> onSubscribe(Observable<T> observable, Observer<? super T> observer) {
+        BiFunction<? super Observable<?>, ? super Observer<?>, ? extends Observer<?>> hook = onSubscribe;
+        if (hook == null) {
+            return observer;
+        }
+        return (Observer<? super T>) hook.apply(observable, observer);
+    }
+}
@@ -0,0 +1,27 @@
+package core;
+
+/**
+ * Emits {@code count} consecutive integers from {@code start}. The loop checks the
+ * emitter's disposed state once per item and nothing else, so a disposed range stops
+ * right after the item that triggered the dispose.
+ */
+final class ObservableRange implements ObservableOnSubscribe<Integer> {
+    private final int start;
+    private final int end;
+
+    ObservableRange(int start, int count) {
+        this.start = start;
+        this.end = start + count;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Integer> downstream) {
+        for (int i = start; i != end; i++) {
+            if (downstream.isDisposed()) {
+                return;
+            }
+            downstream.onNext(i);
+        }
+        downstream.onComplete();
+    }
+}
@@ -0,0 +1,56 @@
+package core;
+
+/**
+ * Keeps the {@link ConnectableObservable} connected while at least one observer is
+ * subscribed. The count and the connection are only touched on subscribe and dispose,
+ * under the instance lock; items flow without it.
+ */
+final class ObservableRefCount<T> implements ObservableOnSubscribe<T> {
+    private final ConnectableObservable<T> source;
+    private int count;
+    private Disposable connection;
+
+    ObservableRefCount(ConnectableObservable<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        boolean connect;
+        synchronized (this) {
+            connect = count++ == 0;
+        }
+        CompositeDisposable resources = new CompositeDisposable(DisposableHelper.fromCancellable(this::release));
+        downstream.setDisposable(resources);
+        source.subscribe(downstream, resources::add);
+        if (connect) {
+            source.connect(this::connected);
+        }
+    }
+
+    private void connected(Disposable d) {
+        boolean orphaned;
+        synchronized (this) {
+            orphaned = count == 0;
+            if (!orphaned) {
+                connection = d;
+            }
+        }
+        if (orphaned) {
+            d.dispose();
+        }
+    }
+
+    private void release() {
+        Disposable d = null;
+        synchronized (this) {
+            if (--count == 0) {
+                d = connection;
+                connection = null;
+            }
+        }
+        if (d != null) {
+            d.dispose();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Resubscribes to upstream when the observable returned by {@code handler} emits. Upstream
+ * errors are pushed into the observable the handler was given, so the handler decides when,
+ * and whether, to retry: an item resubscribes, an error or completion ends the stream with
+ * that signal. Resubscriptions are trampolined through a work-in-progress counter, so a
+ * handler that answers synchronously retries in a loop rather than recursively.
+ */
+final class ObservableRetryWhen<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final Function<? super Observable<Throwable>, ? extends Observable<?>> handler;
+
+    ObservableRetryWhen(Observable<T> upstream,
+                        Function<? super Observable<Throwable>, ? extends Observable<?>> handler) {
+        this.upstream = upstream;
+        this.handler = handler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        PublishSubject<Throwable> errors = PublishSubject.create();
+        Observable<?> retries;
+        try {
+            retries = handler.apply(errors);
+        } catch (Throwable t) {
+            downstream.onError(t);
+            return;
+        }
+        RetryObserver<T> parent = new RetryObserver<>(downstream, upstream, errors);
+        downstream.setDisposable(parent);
+        retries.subscribe(parent.signals, d -> DisposableHelper.set(parent.signals, d));
+        parent.subscribeNext();
+    }
+
+    static final class RetryObserver<T> extends AtomicInteger implements Observer<T> {
+        private final Observer<? super T> downstream;
+        private final Observable<T> source;
+        private final PublishSubject<Throwable> errors;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        final SignalObserver signals = new SignalObserver(this);
+        // true while a subscription to upstream is live; guards against the handler
+        // emitting more than once per error
+        private volatile boolean active;
+        private volatile boolean disposed;
+
+        RetryObserver(Observer<? super T> downstream, Observable<T> source, PublishSubject<Throwable> errors) {
+            this.downstream = downstream;
+            this.source = source;
+            this.errors = errors;
+        }
+
+        void subscribeNext() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (disposed) {
+                    return;
+                }
+                if (!active) {
+                    active = true;
+                    source.subscribe(this, d -> DisposableHelper.set(upstream, d));
+                }
+            } while (decrementAndGet() != 0);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            active = false;
+            errors.onNext(t);
+        }
+
+        @Override
+        public void onComplete() {
+            DisposableHelper.dispose(signals);
+            downstream.onComplete();
+        }
+
+        void signalError(Throwable t) {
+            dispose();
+            downstream.onError(t);
+        }
+
+        void signalComplete() {
+            dispose();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            DisposableHelper.dispose(signals);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * Subscribed to the handler's observable: each item is a go-ahead to retry.
+     */
+    static final class SignalObserver extends AtomicReference<Disposable> implements Observer<Object> {
+        private final RetryObserver<?> parent;
+
+        SignalObserver(RetryObserver<?> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(Object item) {
+            parent.subscribeNext();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.signalError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.signalComplete();
+        }
+
+        @Override
+        public void dispose() {
+            parent.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.isDisposed();
+        }
+    }
+}
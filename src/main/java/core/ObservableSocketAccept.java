@@ -0,0 +1,61 @@
+package core;
+
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+
+/**
+ * Emits every connection accepted by an {@link AsynchronousServerSocketChannel}, with one
+ * accept outstanding at a time and no thread blocked waiting for clients. A pending
+ * accept can only be abandoned by closing the server channel, so disposing closes it.
+ */
+final class ObservableSocketAccept implements ObservableOnSubscribe<AsynchronousSocketChannel> {
+    private final AsynchronousServerSocketChannel server;
+
+    ObservableSocketAccept(AsynchronousServerSocketChannel server) {
+        this.server = server;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<AsynchronousSocketChannel> emitter) {
+        AcceptHandler handler = new AcceptHandler(server, emitter);
+        emitter.setCancellable(server::close);
+        handler.accept();
+    }
+
+    static final class AcceptHandler implements CompletionHandler<AsynchronousSocketChannel, Void> {
+        private final AsynchronousServerSocketChannel server;
+        private final ObservableEmitter<AsynchronousSocketChannel> downstream;
+
+        AcceptHandler(AsynchronousServerSocketChannel server, ObservableEmitter<AsynchronousSocketChannel> downstream) {
+            this.server = server;
+            this.downstream = downstream;
+        }
+
+        void accept() {
+            if (downstream.isDisposed()) {
+                return;
+            }
+            try {
+                server.accept(null, this);
+            } catch (RuntimeException e) {
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void completed(AsynchronousSocketChannel channel, Void attachment) {
+            downstream.onNext(channel);
+            accept();
+        }
+
+        @Override
+        public void failed(Throwable t, Void attachment) {
+            if (t instanceof AsynchronousCloseException && downstream.isDisposed()) {
+                return;
+            }
+            downstream.onError(t);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+
+/**
+ * Emits what arrives on an {@link AsynchronousSocketChannel}. One read is outstanding at a
+ * time and no thread waits for data: each completion emits the filled buffer, flipped,
+ * and issues the next read from the channel group's thread. End of stream completes.
+ * Every read gets a fresh buffer because downstream may keep the previous one.
+ * Disposing shuts the channel's input down, which ends the pending read; the channel
+ * itself stays open, e.g. for writing a response.
+ */
+final class ObservableSocketRead implements ObservableOnSubscribe<ByteBuffer> {
+    private final AsynchronousSocketChannel channel;
+    private final int bufferSize;
+
+    ObservableSocketRead(AsynchronousSocketChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<ByteBuffer> emitter) {
+        ReadHandler handler = new ReadHandler(channel, emitter, bufferSize);
+        emitter.setCancellable(handler::cancel);
+        handler.read();
+    }
+
+    static final class ReadHandler implements CompletionHandler<Integer, ByteBuffer> {
+        private final AsynchronousSocketChannel channel;
+        private final ObservableEmitter<ByteBuffer> downstream;
+        private final int bufferSize;
+
+        ReadHandler(AsynchronousSocketChannel channel, ObservableEmitter<ByteBuffer> downstream, int bufferSize) {
+            this.channel = channel;
+            this.downstream = downstream;
+            this.bufferSize = bufferSize;
+        }
+
+        void read() {
+            if (downstream.isDisposed()) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            try {
+                channel.read(buffer, buffer, this);
+            } catch (RuntimeException e) {
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void completed(Integer count, ByteBuffer buffer) {
+            if (count < 0) {
+                downstream.onComplete();
+                return;
+            }
+            buffer.flip();
+            downstream.onNext(buffer);
+            read();
+        }
+
+        @Override
+        public void failed(Throwable t, ByteBuffer buffer) {
+            if (t instanceof AsynchronousCloseException && downstream.isDisposed()) {
+                return;
+            }
+            downstream.onError(t);
+        }
+
+        void cancel() {
+            if (channel.isOpen()) {
+                try {
+                    channel.shutdownInput();
+                } catch (IOException ignored) {
+                    // already shut down or closed by the peer
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package core;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes every buffer of the upstream to an {@link AsynchronousSocketChannel}, then emits
+ * the number of bytes written and completes. Buffers queue up while a write is in flight
+ * and the next write gathers up to {@link #MAX_GATHER} of them into one system call.
+ * Whoever finds the work-in-progress counter at zero (the upstream thread or the channel
+ * group thread completing a write) starts the next write, so there is exactly one write
+ * outstanding and no thread ever waits for the socket. There is no backpressure: a
+ * producer faster than the network grows the queue.
+ */
+final class ObservableSocketWrite implements ObservableOnSubscribe<Long> {
+    static final int MAX_GATHER = 64;
+
+    private final Observable<? extends ByteBuffer> upstream;
+    private final AsynchronousSocketChannel channel;
+
+    ObservableSocketWrite(Observable<? extends ByteBuffer> upstream, AsynchronousSocketChannel channel) {
+        this.upstream = upstream;
+        this.channel = channel;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Long> downstream) {
+        WriteObserver parent = new WriteObserver(downstream, channel);
+        CompositeDisposable resources = new CompositeDisposable(parent);
+        downstream.setDisposable(resources);
+        upstream.subscribe(parent, resources::add);
+    }
+
+    static final class WriteObserver extends AtomicInteger
+            implements Observer<ByteBuffer>, CompletionHandler<Long, Void> {
+        private final Observer<? super Long> downstream;
+        private final AsynchronousSocketChannel channel;
+        private final SpscLinkedArrayQueue<ByteBuffer> queue = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        // the buffers of the current write; only touched while no write is in flight
+        private final ByteBuffer[] batch = new ByteBuffer[MAX_GATHER];
+        private int batchSize;
+        private long written;
+
+        private volatile boolean writing;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile Throwable writeError;
+        private volatile boolean disposed;
+
+        WriteObserver(Observer<? super Long> downstream, AsynchronousSocketChannel channel) {
+            this.downstream = downstream;
+            this.channel = channel;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            if (done) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void completed(Long count, Void attachment) {
+            written += count;
+            int remaining = 0;
+            for (int i = 0; i < batchSize; i++) {
+                ByteBuffer buffer = batch[i];
+                batch[i] = null;
+                if (buffer.hasRemaining()) {
+                    batch[remaining++] = buffer;
+                }
+            }
+            batchSize = remaining;
+            writing = false;
+            drain();
+        }
+
+        @Override
+        public void failed(Throwable t, Void attachment) {
+            writeError = t;
+            writing = false;
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                if (!writing) {
+                    Throwable e = writeError;
+                    if (e != null) {
+                        disposed = true;
+                        queue.clear();
+                        downstream.onError(e);
+                        return;
+                    }
+                    boolean finished = done;
+                    ByteBuffer buffer;
+                    while (batchSize < MAX_GATHER && (buffer = queue.poll()) != null) {
+                        if (buffer.hasRemaining()) {
+                            batch[batchSize++] = buffer;
+                        }
+                    }
+                    if (batchSize != 0) {
+                        writing = true;
+                        try {
+                            channel.write(batch, 0, batchSize, 0L, TimeUnit.MILLISECONDS, null, this);
+                        } catch (RuntimeException t) {
+                            writeError = t;
+                            writing = false;
+                        }
+                        continue;
+                    }
+                    if (finished && queue.isEmpty()) {
+                        disposed = true;
+                        if (error != null) {
+                            downstream.onError(error);
+                        } else {
+                            downstream.onNext(written);
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package core;
+
+import schedulers.Scheduler;
+
+/**
+ * Subscribes upstream on a {@link Scheduler.Worker}, so the source emits on that thread.
+ */
+final class ObservableSubscribeOn<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final Scheduler scheduler;
+
+    ObservableSubscribeOn(Observable<T> upstream, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        Scheduler.Worker worker = scheduler.createWorker();
+        CompositeDisposable resources = new CompositeDisposable(worker);
+        downstream.setDisposable(resources);
+        worker.execute(() -> upstream.subscribe(downstream, resources::add));
+    }
+}
@@ -0,0 +1,165 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Signals {@link TimeoutException} if upstream stays silent for longer than the timeout,
+ * measured from subscription and then from each item. Every item gets an index; a timer
+ * only wins if the index it was armed for is still current, so an item and its timer
+ * racing on different threads resolve with one CAS and no lock. With a {@code fallback},
+ * a timeout disposes upstream and switches the downstream over to the fallback instead.
+ */
+final class ObservableTimeout<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Observable<? extends T> fallback;
+    private final Scheduler scheduler;
+
+    ObservableTimeout(Observable<T> upstream, long timeout, TimeUnit unit, Observable<? extends T> fallback,
+                      Scheduler scheduler) {
+        this.upstream = upstream;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.fallback = fallback;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        TimeoutObserver<T> parent = new TimeoutObserver<>(downstream, timeout, unit, fallback, scheduler);
+        parent.startTimer(0);
+        downstream.setDisposable(parent);
+        upstream.subscribe(parent, parent.upstream::add);
+    }
+
+    static final class TimeoutObserver<T> extends AtomicLong implements Observer<T> {
+        private static final long TERMINATED = Long.MAX_VALUE;
+
+        private final Observer<? super T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final Observable<? extends T> fallback;
+        private final Scheduler.Worker worker;
+        // a composite so that an upstream disposable arriving after a timeout is disposed
+        final CompositeDisposable upstream = new CompositeDisposable();
+        private final AtomicReference<Disposable> fallbackUpstream = new AtomicReference<>();
+        private volatile Disposable timer;
+        private volatile boolean disposed;
+
+        TimeoutObserver(Observer<? super T> downstream, long timeout, TimeUnit unit,
+                        Observable<? extends T> fallback, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.fallback = fallback;
+            this.worker = scheduler.createWorker();
+        }
+
+        void startTimer(long index) {
+            timer = worker.schedule(() -> onTimeout(index), timeout, unit);
+        }
+
+        private void onTimeout(long index) {
+            if (!compareAndSet(index, TERMINATED)) {
+                return;
+            }
+            upstream.dispose();
+            worker.dispose();
+            if (fallback == null) {
+                disposed = true;
+                downstream.onError(new TimeoutException(
+                        "The source did not signal an event for " + timeout + " " + unit.toString().toLowerCase()));
+                return;
+            }
+            fallback.subscribe(new FallbackObserver<>(downstream, this),
+                    d -> DisposableHelper.set(fallbackUpstream, d));
+        }
+
+        @Override
+        public void onNext(T item) {
+            long index = get();
+            if (index == TERMINATED || !compareAndSet(index, index + 1)) {
+                return;
+            }
+            timer.dispose();
+            downstream.onNext(item);
+            startTimer(index + 1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (getAndSet(TERMINATED) != TERMINATED) {
+                timer.dispose();
+                worker.dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (getAndSet(TERMINATED) != TERMINATED) {
+                timer.dispose();
+                worker.dispose();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            timer.dispose();
+            worker.dispose();
+            upstream.dispose();
+            DisposableHelper.dispose(fallbackUpstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * Passes the fallback's events through; disposing it disposes the whole timeout.
+     */
+    static final class FallbackObserver<T> implements Observer<T> {
+        private final Observer<? super T> downstream;
+        private final TimeoutObserver<T> parent;
+
+        FallbackObserver(Observer<? super T> downstream, TimeoutObserver<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            parent.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.isDisposed();
+        }
+    }
+}
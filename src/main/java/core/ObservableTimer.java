@@ -0,0 +1,30 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits 0 on a {@link Scheduler.Worker} after the delay, then completes.
+ */
+final class ObservableTimer implements ObservableOnSubscribe<Long> {
+    private final long delay;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ObservableTimer(long delay, TimeUnit unit, Scheduler scheduler) {
+        this.delay = delay;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Long> observer) {
+        observer.setDisposable(scheduler.createWorker().schedule(() -> {
+            if (!observer.isDisposed()) {
+                observer.onNext(0L);
+                observer.onComplete();
+            }
+        }, delay, unit));
+    }
+}
@@ -0,0 +1,73 @@
+package core;
+
+/**
+ * Splits upstream into consecutive windows of {@code count} items. A window is emitted
+ * when its first item arrives and completes after its last.
+ */
+final class ObservableWindow<T> implements ObservableOnSubscribe<Observable<T>> {
+    private final Observable<T> upstream;
+    private final int count;
+
+    ObservableWindow(Observable<T> upstream, int count) {
+        this.upstream = upstream;
+        this.count = count;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Observable<T>> downstream) {
+        upstream.subscribe(new Observer<T>() {
+            private UnicastWindow<T> window;
+            private int size;
+            private boolean disposed;
+
+            @Override
+            public void onNext(T item) {
+                UnicastWindow<T> w = window;
+                if (w == null) {
+                    w = new UnicastWindow<>();
+                    window = w;
+                    downstream.onNext(Observable.create(w));
+                }
+                w.offer(item);
+                if (++size == count) {
+                    window = null;
+                    size = 0;
+                    w.markDone(null);
+                }
+                w.drain();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                UnicastWindow<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.markDone(t);
+                    w.drain();
+                }
+                downstream.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                UnicastWindow<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.markDone(null);
+                    w.drain();
+                }
+                downstream.onComplete();
+            }
+
+            @Override
+            public void dispose() {
+                disposed = true;
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return disposed;
+            }
+        }, downstream::setDisposable);
+    }
+}
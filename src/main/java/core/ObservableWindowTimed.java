@@ -0,0 +1,139 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a new window every {@code time} period, or sooner once the current one holds
+ * {@code maxSize} items. Windows are emitted when they open, so an idle period still
+ * produces an (empty) window.
+ */
+final class ObservableWindowTimed<T> implements ObservableOnSubscribe<Observable<T>> {
+    private final Observable<T> upstream;
+    private final long time;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+    private final int maxSize;
+
+    ObservableWindowTimed(Observable<T> upstream, long time, TimeUnit unit, Scheduler scheduler, int maxSize) {
+        this.upstream = upstream;
+        this.time = time;
+        this.unit = unit;
+        this.scheduler = scheduler;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Observable<T>> downstream) {
+        WindowTimedObserver<T> parent = new WindowTimedObserver<>(downstream, maxSize);
+        parent.timer = scheduler.createWorker().schedulePeriodically(parent, time, time, unit);
+        CompositeDisposable resources = new CompositeDisposable(parent);
+        downstream.setDisposable(resources);
+        upstream.subscribe(parent, resources::add);
+    }
+
+    static final class WindowTimedObserver<T> implements Observer<T>, Runnable {
+        private final SerializedEmitter<Observable<T>> emitter;
+        private final int maxSize;
+        private UnicastWindow<T> window;
+        private int size;
+        volatile Disposable timer;
+        private volatile boolean disposed;
+
+        WindowTimedObserver(Observer<? super Observable<T>> downstream, int maxSize) {
+            this.emitter = new SerializedEmitter<>(downstream);
+            this.maxSize = maxSize;
+            this.window = new UnicastWindow<>();
+            emitter.onNext(Observable.create(window));
+        }
+
+        @Override
+        public void onNext(T item) {
+            UnicastWindow<T> current;
+            UnicastWindow<T> opened = null;
+            synchronized (this) {
+                current = window;
+                if (current == null) {
+                    return;
+                }
+                current.offer(item);
+                if (++size == maxSize) {
+                    current.markDone(null);
+                    opened = new UnicastWindow<>();
+                    window = opened;
+                    size = 0;
+                    // queued under the lock so a tick cannot overtake this window
+                    emitter.offer(Observable.create(opened));
+                }
+            }
+            current.drain();
+            if (opened != null) {
+                emitter.drain();
+            }
+        }
+
+        /**
+         * Timer tick.
+         */
+        @Override
+        public void run() {
+            if (disposed || emitter.isDisposed()) {
+                timer.dispose();
+                return;
+            }
+            UnicastWindow<T> closed;
+            UnicastWindow<T> opened = new UnicastWindow<>();
+            synchronized (this) {
+                closed = window;
+                if (closed == null) {
+                    return;
+                }
+                closed.markDone(null);
+                window = opened;
+                size = 0;
+                emitter.offer(Observable.create(opened));
+            }
+            closed.drain();
+            emitter.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(t);
+            emitter.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(null);
+            emitter.onComplete();
+        }
+
+        private void terminate(Throwable t) {
+            timer.dispose();
+            UnicastWindow<T> closed;
+            synchronized (this) {
+                closed = window;
+                window = null;
+                if (closed != null) {
+                    closed.markDone(t);
+                }
+            }
+            if (closed != null) {
+                closed.drain();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            timer.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
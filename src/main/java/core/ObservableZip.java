@@ -0,0 +1,199 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Combines the n-th items of every source. Each source queues its items in its own
+ * {@link SpscLinkedArrayQueue}, so sources emitting on different threads only meet on
+ * the work-in-progress counter; whoever finds it at zero fills the current row from the
+ * queues and emits {@code zipper} of each complete row. The zip completes as soon as a
+ * source that has completed leaves its slot of the row empty, disposing the others; the
+ * first error terminates it.
+ */
+final class ObservableZip<R> implements ObservableOnSubscribe<R> {
+    private final Observable<?>[] sources;
+    private final Function<? super Object[], ? extends R> zipper;
+
+    ObservableZip(Observable<?>[] sources, Function<? super Object[], ? extends R> zipper) {
+        this.sources = sources;
+        this.zipper = zipper;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> downstream) {
+        ZipCoordinator<R> parent = new ZipCoordinator<>(downstream, zipper, sources.length);
+        downstream.setDisposable(parent);
+        parent.subscribe(sources);
+    }
+
+    static final class ZipCoordinator<R> extends AtomicInteger implements Disposable {
+        private final Observer<? super R> downstream;
+        private final Function<? super Object[], ? extends R> zipper;
+        private final ZipObserver<?>[] inners;
+        // drain side: the items of the row being assembled, null where still missing
+        private final Object[] row;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CompositeDisposable resources = new CompositeDisposable();
+        private volatile boolean disposed;
+
+        ZipCoordinator(Observer<? super R> downstream, Function<? super Object[], ? extends R> zipper, int n) {
+            this.downstream = downstream;
+            this.zipper = zipper;
+            this.inners = new ZipObserver<?>[n];
+            this.row = new Object[n];
+            for (int i = 0; i < n; i++) {
+                inners[i] = new ZipObserver<>(this);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void subscribe(Observable<?>[] sources) {
+            if (sources.length == 0) {
+                disposed = true;
+                downstream.onComplete();
+                return;
+            }
+            for (int i = 0; i < sources.length && !disposed; i++) {
+                ((Observable<Object>) sources[i]).subscribe((ZipObserver<Object>) inners[i], resources::add);
+            }
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            ZipObserver<?>[] in = inners;
+            Object[] r = row;
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (disposed) {
+                        clear();
+                        return;
+                    }
+                    Throwable e = error.get();
+                    if (e != null) {
+                        terminate();
+                        downstream.onError(e);
+                        return;
+                    }
+                    int missing = 0;
+                    for (int i = 0; i < in.length; i++) {
+                        if (r[i] != null) {
+                            continue;
+                        }
+                        ZipObserver<?> inner = in[i];
+                        boolean d = inner.done;
+                        Object item = inner.queue.poll();
+                        if (item == null) {
+                            if (d) {
+                                terminate();
+                                downstream.onComplete();
+                                return;
+                            }
+                            missing++;
+                        } else {
+                            r[i] = item;
+                        }
+                    }
+                    if (missing != 0) {
+                        break;
+                    }
+                    R result;
+                    try {
+                        result = zipper.apply(r.clone());
+                    } catch (Throwable t) {
+                        terminate();
+                        downstream.onError(t);
+                        return;
+                    }
+                    Arrays.fill(r, null);
+                    downstream.onNext(result);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate() {
+            disposed = true;
+            resources.dispose();
+            clear();
+        }
+
+        private void clear() {
+            Arrays.fill(row, null);
+            for (ZipObserver<?> inner : inners) {
+                inner.queue.clear();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            resources.dispose();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class ZipObserver<T> implements Observer<T> {
+        private final ZipCoordinator<?> parent;
+        final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        volatile boolean done;
+
+        ZipObserver(ZipCoordinator<?> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done) {
+                queue.offer(item);
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                parent.innerError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            parent.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.isDisposed();
+        }
+    }
+}
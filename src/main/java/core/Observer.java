@@ -1,3 +1,5 @@
+package core;
+
 public interface Observer<T> extends Disposable {
     void onNext(T item);
     void onError(Throwable t);
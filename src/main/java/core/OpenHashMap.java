@@ -0,0 +1,149 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * A single-threaded hash map with open addressing and linear probing, for operators
+ * that look a key up on every item. Keys and values sit in two flat arrays, so a hit
+ * costs one hash, a few adjacent slot reads and no allocation, unlike the entry objects
+ * and pointer chasing of {@code HashMap}. Removal shifts the following entries back
+ * instead of leaving tombstones. Slots are exposed so callers can sweep the table.
+ * A null key is stored as a sentinel.
+ */
+final class OpenHashMap<K, V> {
+    private static final Object NULL_KEY = new Object();
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    OpenHashMap() {
+        keys = new Object[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of slots; valid slot indexes are {@code 0 .. capacity() - 1}.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        Object k = key == null ? NULL_KEY : key;
+        Object[] ks = keys;
+        for (int i = slot(k); ; i = (i + 1) & mask) {
+            Object candidate = ks[i];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate == k || candidate.equals(k)) {
+                return (V) values[i];
+            }
+        }
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing any previous value.
+     */
+    void put(K key, V value) {
+        Object k = key == null ? NULL_KEY : key;
+        int i = slot(k);
+        for (; ; i = (i + 1) & mask) {
+            Object candidate = keys[i];
+            if (candidate == null) {
+                break;
+            }
+            if (candidate == k || candidate.equals(k)) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = k;
+        values[i] = value;
+        // keep the load factor at or below one half so probe runs stay short
+        if (++size > keys.length >>> 1) {
+            resize();
+        }
+    }
+
+    boolean remove(Object key) {
+        Object k = key == null ? NULL_KEY : key;
+        for (int i = slot(k); ; i = (i + 1) & mask) {
+            Object candidate = keys[i];
+            if (candidate == null) {
+                return false;
+            }
+            if (candidate == k || candidate.equals(k)) {
+                removeAt(i);
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    /**
+     * Empties {@code slot}, moving later entries of the same probe run back so lookups
+     * still find them. An entry may move into {@code slot}, so a sweep should look at the
+     * same index again.
+     */
+    void removeAt(int slot) {
+        Object[] ks = keys;
+        Object[] vs = values;
+        int gap = slot;
+        for (int i = (gap + 1) & mask; ks[i] != null; i = (i + 1) & mask) {
+            int home = slot(ks[i]);
+            // move the entry if the gap lies on its probe path from home to i
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                ks[gap] = ks[i];
+                vs[gap] = vs[i];
+                gap = i;
+            }
+        }
+        ks[gap] = null;
+        vs[gap] = null;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new Object[oldKeys.length << 1];
+        values = new Object[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object k = oldKeys[j];
+            if (k != null) {
+                int i = slot(k);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
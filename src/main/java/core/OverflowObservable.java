@@ -0,0 +1,22 @@
+package core;
+
+/**
+ * The result of the {@code onOverflow*} operators: an {@link Observable} that also
+ * reports how many items it has shed, summed over all of its subscriptions.
+ */
+public final class OverflowObservable<T> extends Observable<T> {
+    private final ObservableOnOverflow<T> overflow;
+
+    OverflowObservable(ObservableOnOverflow<T> overflow) {
+        super(overflow);
+        this.overflow = overflow;
+    }
+
+    /**
+     * Items dropped because the queue was full, including those passed to the
+     * {@code onDropped} callback.
+     */
+    public long dropped() {
+        return overflow.dropped.sum();
+    }
+}
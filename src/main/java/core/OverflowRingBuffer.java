@@ -0,0 +1,99 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for one producer and one consumer, where the producer may also
+ * evict the oldest item to make room. Both sides advance the consumer index with a CAS,
+ * so an item is either polled or evicted, never both; the producer index is written by
+ * the producer alone. Slots are overwritten rather than cleared, so up to
+ * {@code capacity} consumed items stay reachable until their slot is reused.
+ */
+final class OverflowRingBuffer<T> {
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private volatile long producerIndex;
+
+    OverflowRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Producer side. Returns false if the queue is full.
+     */
+    boolean offer(T value) {
+        long p = producerIndex;
+        if (p - consumerIndex.get() == capacity) {
+            return false;
+        }
+        buffer.setRelease((int) p & mask, value);
+        producerIndex = p + 1;
+        return true;
+    }
+
+    /**
+     * Producer side. Adds {@code value}, evicting the oldest item if the queue is full;
+     * returns the evicted item, or null.
+     */
+    T offerEvicting(T value) {
+        long p = producerIndex;
+        T evicted = null;
+        for (;;) {
+            long c = consumerIndex.get();
+            if (p - c < capacity) {
+                break;
+            }
+            T oldest = buffer.getAcquire((int) c & mask);
+            if (consumerIndex.compareAndSet(c, c + 1)) {
+                evicted = oldest;
+                break;
+            }
+            // the consumer took it, so there is room now
+        }
+        buffer.setRelease((int) p & mask, value);
+        producerIndex = p + 1;
+        return evicted;
+    }
+
+    /**
+     * Consumer side. Returns null when the queue is empty.
+     */
+    T poll() {
+        for (;;) {
+            long c = consumerIndex.get();
+            if (c == producerIndex) {
+                return null;
+            }
+            T value = buffer.getAcquire((int) c & mask);
+            if (consumerIndex.compareAndSet(c, c + 1)) {
+                return value;
+            }
+            // the producer evicted it; try the next one
+        }
+    }
+
+    /**
+     * Consumer side.
+     */
+    boolean isEmpty() {
+        return consumerIndex.get() == producerIndex;
+    }
+
+    /**
+     * Consumer side. Drops everything currently in the queue.
+     */
+    void clear() {
+        while (poll() != null) {
+            // drop
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package core;
+
+/**
+ * What {@link Observable#onOverflowBuffer} does with an item that arrives while its
+ * bounded queue is full.
+ */
+public enum OverflowStrategy {
+    /** Discards the arriving item and keeps the queued ones. */
+    DROP_LATEST,
+    /** Discards the oldest queued item to make room for the arriving one. */
+    DROP_OLDEST,
+    /** Disposes the upstream and signals {@link MissingBackpressureException} after the queued items. */
+    ERROR
+}
@@ -0,0 +1,134 @@
+package core;
+
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits an {@link Observable} into rails by handing its items out round-robin, or by
+ * {@code railSelector} if given, e.g. by key hash so each key stays on one rail.
+ * Without {@code runOn} the rails still run on the upstream thread.
+ */
+final class ParallelFromObservable<T> implements ParallelOnSubscribe<T> {
+    private final Observable<T> upstream;
+    private final int parallelism;
+    private final ToIntFunction<? super T> railSelector;
+
+    ParallelFromObservable(Observable<T> upstream, int parallelism, ToIntFunction<? super T> railSelector) {
+        this.upstream = upstream;
+        this.parallelism = parallelism;
+        this.railSelector = railSelector;
+    }
+
+    @Override
+    public int parallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void subscribe(Observer<? super T>[] rails, Consumer<? super Disposable> onSubscribe) {
+        Observer<T> dispatcher = railSelector == null
+                ? new DispatchObserver<>(rails)
+                : new KeyedDispatchObserver<>(rails, railSelector);
+        upstream.subscribe(dispatcher, onSubscribe);
+    }
+
+    static final class DispatchObserver<T> implements Observer<T> {
+        private final Observer<? super T>[] rails;
+        private int index;
+        private boolean disposed;
+
+        DispatchObserver(Observer<? super T>[] rails) {
+            this.rails = rails;
+        }
+
+        @Override
+        public void onNext(T item) {
+            int i = index;
+            rails[i].onNext(item);
+            index = i + 1 == rails.length ? 0 : i + 1;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            for (Observer<? super T> rail : rails) {
+                rail.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            for (Observer<? super T> rail : rails) {
+                rail.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class KeyedDispatchObserver<T> implements Observer<T> {
+        private final Observer<? super T>[] rails;
+        private final ToIntFunction<? super T> railSelector;
+        private boolean done;
+        private boolean disposed;
+
+        KeyedDispatchObserver(Observer<? super T>[] rails, ToIntFunction<? super T> railSelector) {
+            this.rails = rails;
+            this.railSelector = railSelector;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            int rail;
+            try {
+                rail = Math.floorMod(railSelector.applyAsInt(item), rails.length);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            rails[rail].onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Observer<? super T> rail : rails) {
+                rail.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Observer<? super T> rail : rails) {
+                rail.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
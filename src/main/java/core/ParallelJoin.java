@@ -0,0 +1,190 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Merges the rails back into one {@link Observable}. Each rail has its own SPSC queue;
+ * a rail that finds no drain in progress emits directly, otherwise it enqueues and the
+ * drain in progress picks the item up. Items of one rail keep their order, items of
+ * different rails interleave.
+ */
+final class ParallelJoin<T> implements ObservableOnSubscribe<T> {
+    private final ParallelOnSubscribe<T> source;
+
+    ParallelJoin(ParallelOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        int n = source.parallelism();
+        JoinCoordinator<T> parent = new JoinCoordinator<>(downstream, n);
+        Observer<? super T>[] rails = ParallelObservable.newRails(n);
+        System.arraycopy(parent.rails, 0, rails, 0, n);
+        downstream.setDisposable(parent.resources);
+        source.subscribe(rails, parent.resources::add);
+    }
+
+    static final class JoinCoordinator<T> extends AtomicInteger {
+        private final Observer<? super T> downstream;
+        final JoinRail<T>[] rails;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CompositeDisposable resources = new CompositeDisposable();
+
+        @SuppressWarnings("unchecked")
+        JoinCoordinator(Observer<? super T> downstream, int n) {
+            this.downstream = downstream;
+            this.rails = new JoinRail[n];
+            for (int i = 0; i < n; i++) {
+                rails[i] = new JoinRail<>(this);
+            }
+            this.remaining = new AtomicInteger(n);
+        }
+
+        void railNext(JoinRail<T> rail, T item) {
+            if (resources.isDisposed()) {
+                return;
+            }
+            if (get() == 0 && compareAndSet(0, 1)) {
+                if (rail.queue.isEmpty()) {
+                    downstream.onNext(item);
+                } else {
+                    rail.queue.offer(item);
+                }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                rail.queue.offer(item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void railError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void railComplete() {
+            remaining.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                boolean empty = true;
+                for (JoinRail<T> rail : rails) {
+                    T item;
+                    while ((item = rail.queue.poll()) != null) {
+                        if (checkTerminated()) {
+                            return;
+                        }
+                        downstream.onNext(item);
+                        empty = false;
+                    }
+                }
+                if (checkTerminated()) {
+                    return;
+                }
+                if (empty && remaining.get() == 0 && allEmpty()) {
+                    resources.dispose();
+                    downstream.onComplete();
+                    return;
+                }
+                if (!empty) {
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean allEmpty() {
+            for (JoinRail<T> rail : rails) {
+                if (!rail.queue.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean checkTerminated() {
+            if (resources.isDisposed() || downstream.isDisposed()) {
+                resources.dispose();
+                clear();
+                return true;
+            }
+            Throwable e = error.get();
+            if (e != null) {
+                resources.dispose();
+                clear();
+                downstream.onError(e);
+                return true;
+            }
+            return false;
+        }
+
+        private void clear() {
+            for (JoinRail<T> rail : rails) {
+                rail.queue.clear();
+            }
+        }
+    }
+
+    static final class JoinRail<T> implements Observer<T> {
+        private final JoinCoordinator<T> parent;
+        final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        private boolean done;
+
+        JoinRail(JoinCoordinator<T> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done) {
+                parent.railNext(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                parent.railError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.railComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            parent.resources.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.resources.isDisposed();
+        }
+    }
+}
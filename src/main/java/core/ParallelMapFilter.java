@@ -0,0 +1,46 @@
+package core;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Per-rail map/filter stages, fused the same way as {@link ObservableMapFilter}.
+ */
+final class ParallelMapFilter<T, R> implements ParallelOnSubscribe<R> {
+    private final ParallelOnSubscribe<T> source;
+    private final Function<Object, Object> function;
+
+    private ParallelMapFilter(ParallelOnSubscribe<T> source, Function<Object, Object> function) {
+        this.source = source;
+        this.function = function;
+    }
+
+    static <T, R> ParallelOnSubscribe<R> map(ParallelOnSubscribe<T> source, Function<? super T, ? extends R> mapper) {
+        if (source instanceof ParallelMapFilter<?, ?> fused) {
+            return new ParallelMapFilter<>(fused.source, ObservableMapFilter.andThenMap(fused.function, mapper));
+        }
+        return new ParallelMapFilter<>(source, ObservableMapFilter.andThenMap(null, mapper));
+    }
+
+    static <T> ParallelOnSubscribe<T> filter(ParallelOnSubscribe<T> source, Predicate<? super T> predicate) {
+        if (source instanceof ParallelMapFilter<?, ?> fused) {
+            return new ParallelMapFilter<>(fused.source, ObservableMapFilter.andThenFilter(fused.function, predicate));
+        }
+        return new ParallelMapFilter<>(source, ObservableMapFilter.andThenFilter(null, predicate));
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    public void subscribe(Observer<? super R>[] rails, Consumer<? super Disposable> onSubscribe) {
+        Observer<? super T>[] parents = ParallelObservable.newRails(rails.length);
+        for (int i = 0; i < rails.length; i++) {
+            parents[i] = new ObservableMapFilter.MapFilterObserver<>(rails[i], function);
+        }
+        source.subscribe(parents, onSubscribe);
+    }
+}
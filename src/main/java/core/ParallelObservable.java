@@ -0,0 +1,99 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.Comparator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A stream split into a fixed number of rails, created by {@link Observable#parallel}.
+ * Upstream items are dealt to the rails round-robin; {@link #runOn} gives every rail its
+ * own worker so per-rail stages run concurrently. Rails are not backpressured, so a slow
+ * rail buffers the items dealt to it. {@link #sequential()} and {@link #sorted} merge the
+ * rails back into an {@link Observable}.
+ */
+public class ParallelObservable<T> {
+    final ParallelOnSubscribe<T> source;
+
+    private ParallelObservable(ParallelOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    static <T> ParallelObservable<T> from(Observable<T> upstream, int parallelism) {
+        return new ParallelObservable<>(new ParallelFromObservable<>(upstream, parallelism, null));
+    }
+
+    /**
+     * Splits by {@code railSelector} instead of round-robin; items with equal selector
+     * values always go to the same rail, in upstream order.
+     */
+    static <T> ParallelObservable<T> from(Observable<T> upstream, int parallelism,
+                                          ToIntFunction<? super T> railSelector) {
+        return new ParallelObservable<>(new ParallelFromObservable<>(upstream, parallelism, railSelector));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Observer<? super T>[] newRails(int n) {
+        return new Observer[n];
+    }
+
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    public ParallelObservable<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Observable.bufferSize());
+    }
+
+    /**
+     * Runs each rail on its own {@link Scheduler.Worker}; see {@link Observable#observeOn(Scheduler, int)}
+     * for {@code batchSize}.
+     */
+    public ParallelObservable<T> runOn(Scheduler scheduler, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize > 0 required but it was " + batchSize);
+        }
+        return new ParallelObservable<>(new ParallelRunOn<>(source, scheduler, batchSize));
+    }
+
+    public <R> ParallelObservable<R> map(Function<? super T, ? extends R> mapper) {
+        return new ParallelObservable<>(ParallelMapFilter.map(source, mapper));
+    }
+
+    public ParallelObservable<T> filter(Predicate<? super T> predicate) {
+        return new ParallelObservable<>(ParallelMapFilter.filter(source, predicate));
+    }
+
+    /**
+     * Folds every rail into its own accumulator; each rail then emits one value.
+     */
+    public <R> ParallelObservable<R> reduce(Supplier<R> seed, BiFunction<R, ? super T, R> reducer) {
+        return new ParallelObservable<>(new ParallelReduce<>(source, seed, reducer));
+    }
+
+    /**
+     * Reduces all rails into a single value; completes empty if there were no items.
+     */
+    public Observable<T> reduce(BinaryOperator<T> reducer) {
+        return Observable.create(new ParallelReduceFull<>(source, reducer));
+    }
+
+    /**
+     * Merges the rails back into one stream, in no particular cross-rail order.
+     */
+    public Observable<T> sequential() {
+        return Observable.create(new ParallelJoin<>(source));
+    }
+
+    /**
+     * Sorts every rail in parallel, then merges them into one ordered stream.
+     */
+    public Observable<T> sorted(Comparator<? super T> comparator) {
+        return Observable.create(new ParallelSorted<>(source, comparator));
+    }
+}
@@ -0,0 +1,15 @@
+package core;
+
+import java.util.function.Consumer;
+
+/**
+ * The source behind a {@link ParallelObservable}: subscribes one observer per rail.
+ * Signals on a single rail are sequential; different rails may run concurrently.
+ * {@code onSubscribe} receives the resources of the subscription before any signal, the
+ * same way {@link Observable}'s internal subscribe hands out the upstream emitter.
+ */
+interface ParallelOnSubscribe<T> {
+    int parallelism();
+
+    void subscribe(Observer<? super T>[] rails, Consumer<? super Disposable> onSubscribe);
+}
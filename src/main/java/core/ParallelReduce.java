@@ -0,0 +1,102 @@
+package core;
+
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Folds each rail into its own accumulator, created from {@code seed} per rail, and
+ * emits it when the rail completes.
+ */
+final class ParallelReduce<T, R> implements ParallelOnSubscribe<R> {
+    private final ParallelOnSubscribe<T> source;
+    private final Supplier<R> seed;
+    private final BiFunction<R, ? super T, R> reducer;
+
+    ParallelReduce(ParallelOnSubscribe<T> source, Supplier<R> seed, BiFunction<R, ? super T, R> reducer) {
+        this.source = source;
+        this.seed = seed;
+        this.reducer = reducer;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    public void subscribe(Observer<? super R>[] rails, Consumer<? super Disposable> onSubscribe) {
+        Observer<? super T>[] parents = ParallelObservable.newRails(rails.length);
+        for (int i = 0; i < rails.length; i++) {
+            R initial;
+            try {
+                initial = seed.get();
+            } catch (Throwable t) {
+                for (Observer<? super R> rail : rails) {
+                    rail.onError(t);
+                }
+                return;
+            }
+            parents[i] = new ReduceObserver<>(rails[i], initial, reducer);
+        }
+        source.subscribe(parents, onSubscribe);
+    }
+
+    static final class ReduceObserver<T, R> implements Observer<T> {
+        private final Observer<? super R> downstream;
+        private final BiFunction<R, ? super T, R> reducer;
+        private R accumulator;
+        private boolean done;
+        private boolean disposed;
+
+        ReduceObserver(Observer<? super R> downstream, R initial, BiFunction<R, ? super T, R> reducer) {
+            this.downstream = downstream;
+            this.accumulator = initial;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                accumulator = reducer.apply(accumulator, item);
+            } catch (Throwable t) {
+                onError(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            accumulator = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            R result = accumulator;
+            accumulator = null;
+            downstream.onNext(result);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+
+/**
+ * Reduces every rail locally, then combines the rail results into one value emitted by
+ * whichever rail completes last. Empty rails contribute nothing; if all are empty the
+ * result completes without a value.
+ */
+final class ParallelReduceFull<T> implements ObservableOnSubscribe<T> {
+    private final ParallelOnSubscribe<T> source;
+    private final BinaryOperator<T> reducer;
+
+    ParallelReduceFull(ParallelOnSubscribe<T> source, BinaryOperator<T> reducer) {
+        this.source = source;
+        this.reducer = reducer;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        int n = source.parallelism();
+        ReduceCoordinator<T> parent = new ReduceCoordinator<>(downstream, reducer, n);
+        Observer<? super T>[] rails = ParallelObservable.newRails(n);
+        for (int i = 0; i < n; i++) {
+            rails[i] = new RailObserver<>(parent, reducer);
+        }
+        downstream.setDisposable(parent.resources);
+        source.subscribe(rails, parent.resources::add);
+    }
+
+    static final class ReduceCoordinator<T> {
+        private final Observer<? super T> downstream;
+        private final BinaryOperator<T> reducer;
+        private final AtomicInteger remaining;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private T result;
+        final CompositeDisposable resources = new CompositeDisposable();
+
+        ReduceCoordinator(Observer<? super T> downstream, BinaryOperator<T> reducer, int rails) {
+            this.downstream = downstream;
+            this.reducer = reducer;
+            this.remaining = new AtomicInteger(rails);
+        }
+
+        void railDone(T value) {
+            if (value != null) {
+                synchronized (this) {
+                    try {
+                        result = result == null ? value : reducer.apply(result, value);
+                    } catch (Throwable t) {
+                        railError(t);
+                        return;
+                    }
+                }
+            }
+            if (remaining.decrementAndGet() == 0 && terminated.compareAndSet(false, true)) {
+                T r;
+                synchronized (this) {
+                    r = result;
+                }
+                if (r != null) {
+                    downstream.onNext(r);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        void railError(Throwable t) {
+            if (terminated.compareAndSet(false, true)) {
+                resources.dispose();
+                downstream.onError(t);
+            }
+        }
+    }
+
+    static final class RailObserver<T> implements Observer<T> {
+        private final ReduceCoordinator<T> parent;
+        private final BinaryOperator<T> reducer;
+        private T accumulator;
+        private boolean done;
+
+        RailObserver(ReduceCoordinator<T> parent, BinaryOperator<T> reducer) {
+            this.parent = parent;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                accumulator = accumulator == null ? item : reducer.apply(accumulator, item);
+            } catch (Throwable t) {
+                onError(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            accumulator = null;
+            parent.railError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            T value = accumulator;
+            accumulator = null;
+            parent.railDone(value);
+        }
+
+        @Override
+        public void dispose() {
+            parent.resources.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.resources.isDisposed();
+        }
+    }
+}
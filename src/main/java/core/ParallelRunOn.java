@@ -0,0 +1,37 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Moves every rail onto its own {@link Scheduler.Worker}, reusing the observeOn queue
+ * drain per rail. On an event-loop scheduler each rail is pinned to one core.
+ */
+final class ParallelRunOn<T> implements ParallelOnSubscribe<T> {
+    private final ParallelOnSubscribe<T> source;
+    private final Scheduler scheduler;
+    private final int batchSize;
+
+    ParallelRunOn(ParallelOnSubscribe<T> source, Scheduler scheduler, int batchSize) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    public void subscribe(Observer<? super T>[] rails, Consumer<? super Disposable> onSubscribe) {
+        Observer<? super T>[] parents = ParallelObservable.newRails(rails.length);
+        for (int i = 0; i < rails.length; i++) {
+            parents[i] = new ObservableObserveOn.ObserveOnObserver<>(rails[i], scheduler, batchSize);
+        }
+        CompositeDisposable resources = new CompositeDisposable(parents);
+        onSubscribe.accept(resources);
+        source.subscribe(parents, resources::add);
+    }
+}
@@ -0,0 +1,149 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects and sorts every rail on its own thread, then k-way merges the sorted rails
+ * into one ordered sequence. The merge runs on the rail that completes last.
+ */
+final class ParallelSorted<T> implements ObservableOnSubscribe<T> {
+    private final ParallelOnSubscribe<T> source;
+    private final Comparator<? super T> comparator;
+
+    ParallelSorted(ParallelOnSubscribe<T> source, Comparator<? super T> comparator) {
+        this.source = source;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> downstream) {
+        int n = source.parallelism();
+        SortedCoordinator<T> parent = new SortedCoordinator<>(downstream, comparator, n);
+        Observer<? super T>[] rails = ParallelObservable.newRails(n);
+        for (int i = 0; i < n; i++) {
+            rails[i] = new SortedRail<>(parent, i);
+        }
+        downstream.setDisposable(parent.resources);
+        source.subscribe(rails, parent.resources::add);
+    }
+
+    static final class SortedCoordinator<T> {
+        private final Observer<? super T> downstream;
+        private final Comparator<? super T> comparator;
+        private final List<T>[] lists;
+        private final AtomicInteger remaining;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        final CompositeDisposable resources = new CompositeDisposable();
+
+        @SuppressWarnings("unchecked")
+        SortedCoordinator(Observer<? super T> downstream, Comparator<? super T> comparator, int n) {
+            this.downstream = downstream;
+            this.comparator = comparator;
+            this.lists = new List[n];
+            this.remaining = new AtomicInteger(n);
+        }
+
+        void railDone(int index, List<T> sorted) {
+            lists[index] = sorted;
+            // the decrement publishes lists[index] to the rail that finishes last
+            if (remaining.decrementAndGet() == 0 && terminated.compareAndSet(false, true)) {
+                merge();
+            }
+        }
+
+        void railError(Throwable t) {
+            if (terminated.compareAndSet(false, true)) {
+                resources.dispose();
+                downstream.onError(t);
+            }
+        }
+
+        private void merge() {
+            int n = lists.length;
+            int[] positions = new int[n];
+            for (;;) {
+                if (resources.isDisposed() || downstream.isDisposed()) {
+                    return;
+                }
+                int min = -1;
+                T minItem = null;
+                for (int i = 0; i < n; i++) {
+                    List<T> list = lists[i];
+                    if (positions[i] < list.size()) {
+                        T item = list.get(positions[i]);
+                        if (min < 0 || comparator.compare(item, minItem) < 0) {
+                            min = i;
+                            minItem = item;
+                        }
+                    }
+                }
+                if (min < 0) {
+                    break;
+                }
+                positions[min]++;
+                downstream.onNext(minItem);
+            }
+            downstream.onComplete();
+        }
+    }
+
+    static final class SortedRail<T> implements Observer<T> {
+        private final SortedCoordinator<T> parent;
+        private final int index;
+        private List<T> list = new ArrayList<>();
+        private boolean done;
+
+        SortedRail(SortedCoordinator<T> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done) {
+                list.add(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            list = null;
+            parent.railError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            List<T> sorted = list;
+            list = null;
+            try {
+                sorted.sort(parent.comparator);
+            } catch (Throwable t) {
+                parent.railError(t);
+                return;
+            }
+            parent.railDone(index, sorted);
+        }
+
+        @Override
+        public void dispose() {
+            parent.resources.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return parent.resources.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package core;
+
+/**
+ * Emits to each observer the items pushed after it subscribed. Observers arriving after
+ * the terminal event receive only that event.
+ */
+public final class PublishSubject<T> extends Subject<T> {
+
+    private PublishSubject() {
+        super(new Multicast<>(null, false));
+    }
+
+    public static <T> PublishSubject<T> create() {
+        return new PublishSubject<>();
+    }
+}
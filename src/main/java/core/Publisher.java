@@ -0,0 +1,6 @@
+package core;
+
+@FunctionalInterface
+public interface Publisher<T> {
+    void subscribe(Subscriber<? super T> subscriber);
+}
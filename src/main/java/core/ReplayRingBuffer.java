@@ -0,0 +1,105 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last {@code size} items of a stream for replay. There is one writer (the
+ * serialized upstream) and any number of readers, each with its own position, and
+ * nobody locks: the writer stores an immutable {@link Node} tagged with its absolute
+ * index into slot {@code index & mask} and then publishes the new count with a lazy set.
+ * A reader that finds a node with a larger index than the one it asked for was lapped by
+ * the writer and skips ahead to the oldest retained item.
+ * <p>
+ * A time-bounded buffer also stamps each node with {@link Scheduler#now} and treats
+ * items older than {@code maxAge} as gone when a reader starts. Memory stays bounded by
+ * {@code size} either way; stale items are simply overwritten later.
+ */
+final class ReplayRingBuffer<T> {
+    private final AtomicReferenceArray<Node<T>> slots;
+    private final int mask;
+    private final int size;
+    private final AtomicLong produced = new AtomicLong();
+    private final long maxAge;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ReplayRingBuffer(int size) {
+        this(size, 0, null, null);
+    }
+
+    ReplayRingBuffer(int size, long maxAge, TimeUnit unit, Scheduler scheduler) {
+        int capacity = 1 << (32 - Integer.numberOfLeadingZeros(size - 1));
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.size = size;
+        this.maxAge = maxAge;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Appends {@code item}; must not be called concurrently with itself.
+     */
+    void add(T item) {
+        long index = produced.get();
+        long time = scheduler != null ? scheduler.now(unit) : 0L;
+        slots.lazySet((int) index & mask, new Node<>(index, time, item));
+        produced.lazySet(index + 1);
+    }
+
+    /**
+     * Number of items added so far; items below {@code produced() - size} are gone.
+     */
+    long produced() {
+        return produced.get();
+    }
+
+    /**
+     * Index of the oldest item still retained.
+     */
+    long head() {
+        long end = produced.get();
+        long index = Math.max(0, end - size);
+        if (scheduler == null) {
+            return index;
+        }
+        long cutoff = scheduler.now(unit) - maxAge;
+        while (index < end) {
+            Node<T> node = node(index);
+            if (node.index != index) {
+                end = produced.get();
+                index = Math.max(index, end - size);
+                continue;
+            }
+            if (node.time > cutoff) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the node at {@code index}, which must be below {@link #produced()}. A node
+     * with a different index means the slot has been overwritten since.
+     */
+    Node<T> node(long index) {
+        return slots.get((int) index & mask);
+    }
+
+    static final class Node<T> {
+        final long index;
+        final long time;
+        final T value;
+
+        Node(long index, long time, T value) {
+            this.index = index;
+            this.time = time;
+            this.value = value;
+        }
+    }
+}
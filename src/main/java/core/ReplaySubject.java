@@ -0,0 +1,44 @@
+package core;
+
+import schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays retained items to each new observer, followed by the terminal event if any,
+ * and then emits everything pushed after it. History is always bounded by a size; the
+ * time-bounded variant additionally skips items older than the given age.
+ */
+public final class ReplaySubject<T> extends Subject<T> {
+
+    private ReplaySubject(ReplayRingBuffer<T> buffer) {
+        super(new Multicast<>(buffer, true));
+    }
+
+    /**
+     * Retains the last {@code size} items.
+     */
+    public static <T> ReplaySubject<T> createWithSize(int size) {
+        checkPositive(size, "size");
+        return new ReplaySubject<>(new ReplayRingBuffer<>(size));
+    }
+
+    /**
+     * Retains the last {@code size} items and replays only those pushed less than
+     * {@code maxAge} ago, as measured by {@code scheduler}.
+     */
+    public static <T> ReplaySubject<T> createWithTimeAndSize(long maxAge, TimeUnit unit, Scheduler scheduler,
+                                                           int size) {
+        checkPositive(size, "size");
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return new ReplaySubject<>(new ReplayRingBuffer<>(size, maxAge, unit, scheduler));
+    }
+
+    private static void checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + value);
+        }
+    }
+}
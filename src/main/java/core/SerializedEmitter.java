@@ -0,0 +1,98 @@
+package core;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Funnels signals produced on several threads (typically upstream plus a timer) into one
+ * observer without locking: signals are queued and whichever caller finds the
+ * work-in-progress counter at zero delivers everything queued so far, in order.
+ * Callers that decide the order under their own lock {@link #offer} there and
+ * {@link #drain} after releasing it.
+ */
+final class SerializedEmitter<R> extends AtomicInteger {
+    private final Observer<? super R> downstream;
+    private final ConcurrentLinkedQueue<R> queue = new ConcurrentLinkedQueue<>();
+    private volatile boolean done;
+    private Throwable error;
+    private boolean terminated;
+
+    SerializedEmitter(Observer<? super R> downstream) {
+        this.downstream = downstream;
+    }
+
+    void onNext(R item) {
+        offer(item);
+        drain();
+    }
+
+    /**
+     * Queues {@code item} without delivering it; a later {@link #drain} does.
+     */
+    void offer(R item) {
+        if (!done) {
+            queue.offer(item);
+        }
+    }
+
+    void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        error = t;
+        done = true;
+        drain();
+    }
+
+    void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    boolean isDisposed() {
+        return terminated || downstream.isDisposed();
+    }
+
+    void drain() {
+        if (getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (terminated) {
+                return;
+            }
+            for (;;) {
+                if (downstream.isDisposed()) {
+                    terminated = true;
+                    queue.clear();
+                    return;
+                }
+                boolean d = done;
+                R item = queue.poll();
+                boolean empty = item == null;
+                if (d && empty) {
+                    terminated = true;
+                    Throwable e = error;
+                    if (e != null) {
+                        downstream.onError(e);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                downstream.onNext(item);
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
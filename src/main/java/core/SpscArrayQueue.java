@@ -0,0 +1,69 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread.
+ * A slot is free while it holds null, so each side only touches its own index and
+ * the slot it is about to use.
+ */
+final class SpscArrayQueue<T> {
+    private final AtomicReferenceArray<Object> buffer;
+    private final int mask;
+
+    private long producerIndex;
+    private long consumerIndex;
+
+    SpscArrayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Producer side. Returns false if the queue is full. {@code value} must not be null.
+     */
+    boolean offer(T value) {
+        int offset = (int) producerIndex & mask;
+        if (buffer.getAcquire(offset) != null) {
+            return false;
+        }
+        buffer.setRelease(offset, value);
+        producerIndex++;
+        return true;
+    }
+
+    /**
+     * Consumer side. Returns null when the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        int offset = (int) consumerIndex & mask;
+        Object value = buffer.getAcquire(offset);
+        if (value == null) {
+            return null;
+        }
+        buffer.setRelease(offset, null);
+        consumerIndex++;
+        return (T) value;
+    }
+
+    /**
+     * Consumer side.
+     */
+    boolean isEmpty() {
+        return buffer.getAcquire((int) consumerIndex & mask) == null;
+    }
+
+    /**
+     * Consumer side. Drops everything currently in the queue.
+     */
+    void clear() {
+        while (poll() != null) {
+            // drop
+        }
+    }
+}
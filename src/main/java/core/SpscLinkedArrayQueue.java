@@ -0,0 +1,100 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded lock-free queue for exactly one producer thread and one consumer thread.
+ * Elements are stored in fixed-size array chunks that are linked together when the
+ * producer runs past the end of the current one, so an {@code offer} is a single
+ * release store and allocates only once per {@code chunkSize} elements.
+ */
+final class SpscLinkedArrayQueue<T> {
+    private final int chunkSize;
+
+    private Chunk producerChunk;
+    private int producerIndex;
+
+    private Chunk consumerChunk;
+    private int consumerIndex;
+
+    SpscLinkedArrayQueue(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        Chunk first = new Chunk(chunkSize);
+        this.producerChunk = first;
+        this.consumerChunk = first;
+    }
+
+    /**
+     * Producer side. {@code value} must not be null.
+     */
+    void offer(T value) {
+        int index = producerIndex;
+        if (index == chunkSize) {
+            Chunk next = new Chunk(chunkSize);
+            next.setPlain(0, value);
+            producerChunk.next = next;
+            producerChunk = next;
+            producerIndex = 1;
+        } else {
+            producerChunk.setRelease(index, value);
+            producerIndex = index + 1;
+        }
+    }
+
+    /**
+     * Consumer side. Returns null when the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        Chunk chunk = consumerChunk;
+        int index = consumerIndex;
+        if (index == chunkSize) {
+            Chunk next = chunk.next;
+            if (next == null) {
+                return null;
+            }
+            consumerChunk = next;
+            chunk = next;
+            index = 0;
+        }
+        Object value = chunk.getAcquire(index);
+        if (value == null) {
+            return null;
+        }
+        chunk.setPlain(index, null);
+        consumerIndex = index + 1;
+        return (T) value;
+    }
+
+    /**
+     * Consumer side.
+     */
+    boolean isEmpty() {
+        Chunk chunk = consumerChunk;
+        int index = consumerIndex;
+        if (index == chunkSize) {
+            return chunk.next == null;
+        }
+        return chunk.getAcquire(index) == null;
+    }
+
+    /**
+     * Consumer side. Drops everything currently in the queue.
+     */
+    void clear() {
+        while (poll() != null) {
+            // drop
+        }
+    }
+
+    private static final class Chunk extends AtomicReferenceArray<Object> {
+        volatile Chunk next;
+
+        Chunk(int length) {
+            super(length);
+        }
+    }
+}
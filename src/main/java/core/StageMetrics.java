@@ -0,0 +1,139 @@
+package core;
+
+import metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An {@link ObservablePlugins#setOnSubscribe onSubscribe} hook that meters what every
+ * stage emits: item, error and completion counts, and the latency of delivering each
+ * item downstream. The latency is inclusive: it covers every synchronous stage after
+ * this one, so the difference between two adjacent stages is the cost of the later one.
+ * Stages are grouped by name, by default the operator ({@code Map}, {@code FlatMap},
+ * {@code ObserveOn}, ...).
+ *
+ * <pre>
+ * StageMetrics metrics = new StageMetrics();
+ * ObservablePlugins.setOnSubscribe(metrics);
+ * ...
+ * metrics.stages().forEach((name, stage) -> log.info("{}: {}", name, stage));
+ * </pre>
+ */
+public final class StageMetrics implements BiFunction<Observable<?>, Observer<?>, Observer<?>> {
+    private final Function<? super Observable<?>, String> namer;
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+
+    public StageMetrics() {
+        this(StageMetrics::operatorName);
+    }
+
+    public StageMetrics(Function<? super Observable<?>, String> namer) {
+        this.namer = namer;
+    }
+
+    @Override
+    public Observer<?> apply(Observable<?> observable, Observer<?> observer) {
+        Stage stage = stages.computeIfAbsent(namer.apply(observable), name -> new Stage());
+        return new MeteredObserver<>(observer, stage);
+    }
+
+    public Map<String, Stage> stages() {
+        return Collections.unmodifiableMap(stages);
+    }
+
+    public void reset() {
+        stages.clear();
+    }
+
+    /**
+     * The operator behind {@code observable}: its source class without the
+     * {@code Observable} prefix, or {@code Create} for lambda sources.
+     */
+    public static String operatorName(Observable<?> observable) {
+        Class<?> type = observable.source.getClass();
+        if (type.isSynthetic() || type.isHidden()) {
+            return "Create";
+        }
+        String name = type.getSimpleName();
+        return name.startsWith("Observable") && name.length() > "Observable".length()
+                ? name.substring("Observable".length())
+                : name;
+    }
+
+    public static final class Stage {
+        private final LongAdder items = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder completions = new LongAdder();
+        private final LatencyHistogram onNextLatency = new LatencyHistogram();
+
+        public long items() {
+            return items.sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public long completions() {
+            return completions.sum();
+        }
+
+        public LatencyHistogram onNextLatency() {
+            return onNextLatency;
+        }
+
+        @Override
+        public String toString() {
+            return "items=" + items() + " errors=" + errors() + " completions=" + completions()
+                    + " onNext[" + onNextLatency + "]";
+        }
+    }
+
+    static final class MeteredObserver<T> implements Observer<T> {
+        private final Observer<T> downstream;
+        private final Stage stage;
+
+        MeteredObserver(Observer<T> downstream, Stage stage) {
+            this.downstream = downstream;
+            this.stage = stage;
+        }
+
+        @Override
+        public void onNext(T item) {
+            long start = System.nanoTime();
+            try {
+                downstream.onNext(item);
+            } finally {
+                stage.onNextLatency.record(System.nanoTime() - start);
+                stage.items.increment();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            stage.errors.increment();
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            stage.completions.increment();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            downstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return downstream.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package core;
+
+/**
+ * Both an {@link Observer} and an {@link Observable}: whatever is pushed into it is
+ * multicast to its current observers. Use it to bridge callback APIs such as event buses
+ * into a stream. As with any observer, {@code onNext}, {@code onError} and
+ * {@code onComplete} must not be called concurrently.
+ */
+public abstract class Subject<T> extends Observable<T> implements Observer<T> {
+    final Multicast<T> state;
+
+    Subject(Multicast<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    @Override
+    public void onNext(T item) {
+        state.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        state.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        state.onComplete();
+    }
+
+    /**
+     * Stops accepting signals, e.g. when the subject is subscribed to an upstream that
+     * should be cancelled. Current observers receive nothing more, not even a terminal
+     * event.
+     */
+    @Override
+    public void dispose() {
+        state.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return state.isDisposed();
+    }
+
+    public boolean hasObservers() {
+        return state.hasObservers();
+    }
+
+    public boolean hasComplete() {
+        return state.isDone() && state.error() == null;
+    }
+
+    public boolean hasThrowable() {
+        return state.error() != null;
+    }
+
+    /**
+     * The error the subject terminated with, or null.
+     */
+    public Throwable getThrowable() {
+        return state.error();
+    }
+}
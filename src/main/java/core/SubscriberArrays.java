@@ -0,0 +1,62 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write subscriber arrays swapped with CAS, shared by the multicasting types.
+ * Readers iterate whatever array they loaded without synchronization; a writer copies,
+ * modifies and CASes, retrying on contention. A {@code terminated} sentinel closes the
+ * array for good.
+ */
+final class SubscriberArrays {
+
+    private SubscriberArrays() {
+    }
+
+    /**
+     * Appends {@code s}; returns false if the array is {@code terminated}.
+     */
+    static <S> boolean add(AtomicReference<S[]> array, S s, S[] terminated) {
+        for (;;) {
+            S[] current = array.get();
+            if (current == terminated) {
+                return false;
+            }
+            S[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = s;
+            if (array.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes {@code s} if present; the last one removed leaves {@code empty} behind.
+     */
+    static <S> void remove(AtomicReference<S[]> array, S s, S[] empty) {
+        for (;;) {
+            S[] current = array.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == s) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            S[] next;
+            if (current.length == 1) {
+                next = empty;
+            } else {
+                next = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (array.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
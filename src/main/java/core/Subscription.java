@@ -0,0 +1,6 @@
+package core;
+
+public interface Subscription {
+    void request(long n);
+    void cancel();
+}
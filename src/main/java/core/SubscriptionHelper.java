@@ -0,0 +1,68 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request accounting shared by the {@link Flowable} operators. Outstanding demand is
+ * capped at {@link Long#MAX_VALUE}, which means "unbounded".
+ */
+final class SubscriptionHelper {
+
+    /**
+     * Placed into a subscription slot once it has been cancelled.
+     */
+    static final Subscription CANCELLED = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private SubscriptionHelper() {
+    }
+
+    static boolean validate(long n) {
+        return n > 0;
+    }
+
+    /**
+     * Adds {@code n} to {@code requested} and returns the previous value.
+     */
+    static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long next = current + n;
+            if (next < 0L) {
+                next = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, next)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Subtracts {@code n} emitted items from {@code requested} and returns the new value.
+     */
+    static long produced(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long next = current - n;
+            if (next < 0L) {
+                next = 0L;
+            }
+            if (requested.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+}
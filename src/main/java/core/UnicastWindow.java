@@ -0,0 +1,84 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A window of {@code window(...)} or a group of {@code groupBy(...)}: queues what the
+ * parent operator feeds it until its single observer subscribes, then replays and relays
+ * the rest. Feeding is split into
+ * {@link #offer}/{@link #markDone} and {@link #drain} so the parent can feed while holding
+ * its own lock and deliver outside of it.
+ */
+final class UnicastWindow<T> extends AtomicInteger implements ObservableOnSubscribe<T> {
+    private final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(Observable.bufferSize());
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile Observer<? super T> downstream;
+    private volatile boolean done;
+    private Throwable error;
+
+    @Override
+    public void subscribe(ObservableEmitter<T> observer) {
+        if (!subscribed.compareAndSet(false, true)) {
+            observer.onError(new IllegalStateException("A window can only be subscribed once"));
+            return;
+        }
+        downstream = observer;
+        drain();
+    }
+
+    /**
+     * True once the observer has disposed, so the parent can stop feeding this window.
+     */
+    boolean isCancelled() {
+        Observer<? super T> observer = downstream;
+        return observer != null && observer.isDisposed();
+    }
+
+    void offer(T item) {
+        queue.offer(item);
+    }
+
+    void markDone(Throwable t) {
+        error = t;
+        done = true;
+    }
+
+    void drain() {
+        if (getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Observer<? super T> observer = downstream;
+            if (observer != null) {
+                for (;;) {
+                    if (observer.isDisposed()) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        Throwable e = error;
+                        if (e != null) {
+                            observer.onError(e);
+                        } else {
+                            observer.onComplete();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    observer.onNext(item);
+                }
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
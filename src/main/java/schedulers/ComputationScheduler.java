@@ -1,21 +1,86 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * A fixed set of single-threaded event loops, one per core by default. Workers are handed
+ * out round-robin and each stays on its loop, so a stream's tasks run in order on one
+ * thread and keep their data in that core's cache.
+ */
 public class ComputationScheduler implements Scheduler {
-    private final ExecutorService executor;
+    private final ThreadPoolExecutor[] loops;
+    private final Executor[] instrumented;
+    private final AtomicInteger next = new AtomicInteger();
+    private final TaskMetrics metrics = new TaskMetrics("computation", this::startedThreads);
 
     public ComputationScheduler() {
         this(Runtime.getRuntime().availableProcessors());
     }
 
     public ComputationScheduler(int threads) {
-        executor = Executors.newFixedThreadPool(threads);
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads > 0 required but it was " + threads);
+        }
+        DaemonThreadFactory factory = new DaemonThreadFactory(true);
+        loops = new ThreadPoolExecutor[threads];
+        instrumented = new Executor[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), factory);
+            instrumented[i] = metrics.instrument(loops[i]);
+        }
     }
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        nextLoop().execute(task);
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new EventLoopWorker(nextLoop());
+    }
+
+    private Executor nextLoop() {
+        return instrumented[Math.floorMod(next.getAndIncrement(), loops.length)];
+    }
+
+    @Override
+    public void shutdown() {
+        for (ThreadPoolExecutor loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return loops[0].isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor loop : loops) {
+            if (!loop.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    private int startedThreads() {
+        int started = 0;
+        for (ThreadPoolExecutor loop : loops) {
+            started += loop.getPoolSize();
+        }
+        return started;
     }
 }
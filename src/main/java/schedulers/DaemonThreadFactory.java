@@ -0,0 +1,39 @@
+package schedulers;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Names threads {@code pool-N-thread-M} like the JDK default thread factory, but makes them
+ * daemons, so an idle scheduler that was never shut down does not keep the JVM alive.
+ * A {@code nonBlocking} factory creates {@link NonBlockingThread}s.
+ */
+final class DaemonThreadFactory implements ThreadFactory {
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final String prefix = "pool-" + POOLS.incrementAndGet() + "-thread-";
+    private final AtomicInteger threads = new AtomicInteger();
+    private final boolean nonBlocking;
+
+    DaemonThreadFactory() {
+        this(false);
+    }
+
+    DaemonThreadFactory(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        String name = prefix + threads.incrementAndGet();
+        Thread thread = nonBlocking ? new EventLoopThread(task, name) : new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class EventLoopThread extends Thread implements NonBlockingThread {
+        EventLoopThread(Runnable task, String name) {
+            super(task, name);
+        }
+    }
+}
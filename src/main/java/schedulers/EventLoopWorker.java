@@ -0,0 +1,51 @@
+package schedulers;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link Scheduler.Worker} pinned to a single-threaded executor. The executor's own
+ * queue provides the ordering, so submitting a task costs one enqueue.
+ */
+final class EventLoopWorker implements Scheduler.Worker {
+    private final Executor loop;
+    private volatile boolean disposed;
+
+    EventLoopWorker(Executor loop) {
+        this.loop = loop;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (disposed) {
+            return;
+        }
+        loop.execute(() -> {
+            if (!disposed) {
+                runSafely(task);
+            }
+        });
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Runs a task without letting its failure kill the loop thread or stall a drain;
+     * the exception goes to the thread's uncaught exception handler instead.
+     */
+    static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+    }
+}
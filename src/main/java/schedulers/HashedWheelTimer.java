@@ -0,0 +1,312 @@
+package schedulers;
+
+import core.Disposable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer for very large numbers of pending timeouts. Time is cut into ticks and timeouts
+ * are hashed into a ring of buckets by the tick they expire on; a timeout further away
+ * than one revolution simply waits for the right number of rounds. Scheduling and
+ * cancelling are O(1): both only append to a lock-free queue that the timer thread moves
+ * into the wheel on its next tick. The price is precision: a task runs up to one tick late.
+ * <p>
+ * Expired tasks run on the timer thread and must be short; {@link Scheduler}'s timed
+ * methods only use it to hand the real work over to the scheduler.
+ */
+public final class HashedWheelTimer {
+    private static final HashedWheelTimer SHARED = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 512);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean stopped;
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration > 0 required but it was " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be in (0, 2^30] but it was " + wheelSize);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(wheelSize - 1));
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, "wheel-timer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Timer behind the default timed methods of {@link Scheduler}: 1 ms ticks, 512 buckets.
+     */
+    static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs {@code task} on the timer thread once {@code delay} has elapsed.
+     */
+    public Disposable newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("Timer has been stopped");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        added.offer(timeout);
+        if (pending.getAndIncrement() == 0) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    /**
+     * Runs {@code task} on the timer thread after {@code initialDelay} and then at a fixed
+     * rate of one run per {@code period}.
+     */
+    public Disposable newPeriodicTimeout(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        PeriodicTask periodic = new PeriodicTask(task, unit.toNanos(period));
+        periodic.arm(initialDelay, unit);
+        return periodic;
+    }
+
+    /**
+     * Stops the timer thread; timeouts that have not expired yet never run.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!stopped) {
+            if (pending.get() == 0) {
+                // nothing to wait for: sleep until newTimeout wakes us, then realign the tick
+                LockSupport.park(this);
+                tick = (System.nanoTime() - startTime) / tickNanos;
+                continue;
+            }
+            long deadline = (tick + 1) * tickNanos;
+            long now = waitUntil(deadline);
+            if (stopped) {
+                return;
+            }
+            removeCancelled();
+            transferAdded(tick);
+            // catch up on the ticks we slept through, bucket by bucket
+            long current = now / tickNanos;
+            for (long t = tick; t < current || t == tick; t++) {
+                wheel[(int) (t & mask)].expire(now);
+            }
+            tick = Math.max(current, tick + 1);
+        }
+    }
+
+    private long waitUntil(long deadline) {
+        for (;;) {
+            long now = System.nanoTime() - startTime;
+            long sleep = deadline - now;
+            if (sleep <= 0 || stopped) {
+                return now;
+            }
+            LockSupport.parkNanos(this, sleep);
+        }
+    }
+
+    private void transferAdded(long tick) {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            long expireTick = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            wheel[(int) (expireTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A scheduled task. States move INIT -> EXPIRED or INIT -> CANCELLED exactly once.
+     */
+    static final class Timeout implements Disposable {
+        static final int INIT = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger(INIT);
+
+        // owned by the timer thread
+        long remainingRounds;
+        Bucket bucket;
+        Timeout next;
+        Timeout prev;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void dispose() {
+            if (state.compareAndSet(INIT, CANCELLED)) {
+                timer.pending.decrementAndGet();
+                timer.cancelled.offer(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return state.get() != INIT;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            timer.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            }
+        }
+    }
+
+    /**
+     * Doubly-linked list of the timeouts hashed to one slot; only touched by the timer thread.
+     */
+    static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    if (timeout.deadline <= now) {
+                        remove(timeout);
+                        timeout.expire();
+                    }
+                } else if (timeout.state.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * Re-arms itself from the timer thread after every run, on a fixed-rate schedule
+     * anchored at the first deadline so delays do not accumulate.
+     */
+    private final class PeriodicTask implements Disposable {
+        private final Runnable task;
+        private final long periodNanos;
+        private volatile Disposable current;
+        private volatile boolean disposed;
+        private long nextDeadline;
+
+        PeriodicTask(Runnable task, long periodNanos) {
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        void arm(long initialDelay, TimeUnit unit) {
+            nextDeadline = System.nanoTime() + unit.toNanos(initialDelay);
+            current = newTimeout(this::fire, initialDelay, unit);
+        }
+
+        private void fire() {
+            if (disposed) {
+                return;
+            }
+            task.run();
+            nextDeadline += periodNanos;
+            current = newTimeout(this::fire, nextDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (disposed) {
+                current.dispose();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            Disposable timeout = current;
+            if (timeout != null) {
+                timeout.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
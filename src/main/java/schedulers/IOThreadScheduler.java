@@ -1,13 +1,38 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class IOThreadScheduler implements Scheduler {
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new DaemonThreadFactory());
+    private final TaskMetrics metrics = new TaskMetrics("io", executor::getPoolSize);
+    private final Executor instrumented = metrics.instrument(executor);
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        instrumented.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public SchedulerMetrics metrics() {
+        return metrics;
     }
 }
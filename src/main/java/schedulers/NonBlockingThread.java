@@ -0,0 +1,9 @@
+package schedulers;
+
+/**
+ * Marks a thread that runs an event loop shared by many streams, such as those of
+ * {@link ComputationScheduler}. Parking such a thread stalls every stream assigned to its
+ * loop, so code that would wait for another thread should take a non-blocking path on it.
+ */
+public interface NonBlockingThread {
+}
@@ -1,7 +1,111 @@
 package schedulers;
 
+import core.Disposable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
 public interface Scheduler {
     void execute(Runnable task);
-}
 
+    /**
+     * Runs {@code task} on this scheduler once {@code delay} has elapsed. The delay is
+     * tracked by the shared {@link HashedWheelTimer}, so pending tasks cost O(1) to add
+     * and to cancel through the returned {@link Disposable}.
+     */
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return HashedWheelTimer.shared().newTimeout(() -> execute(task), delay, unit);
+    }
+
+    /**
+     * Runs {@code task} on this scheduler after {@code initialDelay} and then once per
+     * {@code period}, at a fixed rate. A run that is due while the previous one is still
+     * executing is skipped, so runs never overlap even on a multi-threaded scheduler.
+     */
+    default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return schedulePeriodically(this::execute, task, initialDelay, period, unit);
+    }
+
+    /**
+     * The scheduler's notion of the current time, for time-bounded operators. Only
+     * differences between two readings are meaningful.
+     */
+    default long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a {@link Worker} for one stream. The default worker runs its tasks one at a
+     * time and in submission order on top of {@link #execute}; schedulers backed by
+     * single-threaded event loops override this to pin each worker to one loop.
+     */
+    default Worker createWorker() {
+        return new SerialWorker(this);
+    }
+
+    /**
+     * Stops accepting tasks; tasks already submitted still run. Later submissions are
+     * rejected with {@link java.util.concurrent.RejectedExecutionException}. A scheduler
+     * that owns no threads ignores this.
+     */
+    default void shutdown() {
+    }
 
+    default boolean isShutdown() {
+        return false;
+    }
+
+    /**
+     * Blocks until all tasks have finished after {@link #shutdown()}, or the timeout elapses.
+     *
+     * @return true if the scheduler terminated, false on timeout
+     */
+    default boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return true;
+    }
+
+    /**
+     * Returns this scheduler's live metrics, or {@link SchedulerMetrics#NONE} if it does not
+     * collect any.
+     */
+    default SchedulerMetrics metrics() {
+        return SchedulerMetrics.NONE;
+    }
+
+    /**
+     * A sequential view of a {@link Scheduler}: tasks submitted to one worker never run
+     * concurrently and run in the order they were submitted. Disposing the worker drops
+     * the tasks it has not started yet.
+     */
+    interface Worker extends Disposable {
+        void execute(Runnable task);
+
+        default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return HashedWheelTimer.shared().newTimeout(() -> execute(task), delay, unit);
+        }
+
+        default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return Scheduler.schedulePeriodically(this::execute, task, initialDelay, period, unit);
+        }
+    }
+
+    private static Disposable schedulePeriodically(Consumer<Runnable> executor, Runnable task,
+                                                   long initialDelay, long period, TimeUnit unit) {
+        AtomicBoolean running = new AtomicBoolean();
+        Runnable guarded = () -> {
+            if (running.compareAndSet(false, true)) {
+                try {
+                    task.run();
+                } finally {
+                    running.set(false);
+                }
+            }
+        };
+        return HashedWheelTimer.shared().newPeriodicTimeout(() -> {
+            if (!running.get()) {
+                executor.accept(guarded);
+            }
+        }, initialDelay, period, unit);
+    }
+}
@@ -0,0 +1,81 @@
+package schedulers;
+
+import metrics.LatencyHistogram;
+
+/**
+ * Live view of a {@link Scheduler}'s load, meant to be polled by a metrics exporter.
+ * Counters are cumulative since the scheduler was created; gauges are instantaneous
+ * and approximate while tasks are running.
+ */
+public interface SchedulerMetrics {
+    /**
+     * Metrics of a scheduler that does not collect any: all zeros, empty histograms.
+     */
+    SchedulerMetrics NONE = new SchedulerMetrics() {
+        private final LatencyHistogram empty = new LatencyHistogram();
+
+        @Override
+        public int queueDepth() {
+            return 0;
+        }
+
+        @Override
+        public int activeThreads() {
+            return 0;
+        }
+
+        @Override
+        public int idleThreads() {
+            return 0;
+        }
+
+        @Override
+        public long submittedTasks() {
+            return 0;
+        }
+
+        @Override
+        public long completedTasks() {
+            return 0;
+        }
+
+        @Override
+        public LatencyHistogram queueWait() {
+            return empty;
+        }
+
+        @Override
+        public LatencyHistogram runTime() {
+            return empty;
+        }
+    };
+
+    /**
+     * Tasks submitted but not started yet.
+     */
+    int queueDepth();
+
+    /**
+     * Threads currently running a task.
+     */
+    int activeThreads();
+
+    /**
+     * Started threads currently waiting for work.
+     */
+    int idleThreads();
+
+    long submittedTasks();
+
+    long completedTasks();
+
+    /**
+     * Time from submission to the start of each task.
+     */
+    LatencyHistogram queueWait();
+
+    /**
+     * Time each task spent running.
+     */
+    LatencyHistogram runTime();
+}
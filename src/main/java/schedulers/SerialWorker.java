@@ -0,0 +1,58 @@
+package schedulers;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The default {@link Scheduler.Worker}: queues tasks and runs them from a single drain
+ * submitted to the scheduler, so they execute one at a time and in order even when the
+ * scheduler itself is a multi-threaded pool. A drain only runs the tasks queued before it
+ * started; anything submitted meanwhile, including a task resubmitting itself, waits for
+ * the next drain, which keeps a busy worker from monopolising a shared pool thread.
+ */
+final class SerialWorker extends AtomicInteger implements Scheduler.Worker, Runnable {
+    private final Scheduler scheduler;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private volatile boolean disposed;
+
+    SerialWorker(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (disposed) {
+            return;
+        }
+        queue.offer(task);
+        if (getAndIncrement() == 0) {
+            scheduler.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        // every queued task is counted once in wip, after it has been offered
+        int count = get();
+        for (int i = 0; i < count; i++) {
+            if (disposed) {
+                queue.clear();
+                return;
+            }
+            EventLoopWorker.runSafely(queue.poll());
+        }
+        if (addAndGet(-count) != 0) {
+            scheduler.execute(this);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
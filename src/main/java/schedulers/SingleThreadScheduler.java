@@ -1,13 +1,43 @@
 package schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class SingleThreadScheduler implements Scheduler {
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new DaemonThreadFactory());
+    private final TaskMetrics metrics = new TaskMetrics("single", executor::getPoolSize);
+    private final Executor instrumented = metrics.instrument(executor);
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        instrumented.execute(task);
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new EventLoopWorker(instrumented);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public SchedulerMetrics metrics() {
+        return metrics;
     }
 }
@@ -0,0 +1,32 @@
+package schedulers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded when a scheduler task runs for longer than the threshold (20 ms unless the
+ * JFR settings say otherwise). The event's duration is the run time; a growing
+ * {@code queueWait} across events means the scheduler is saturated. The task's class is
+ * not recorded: worker tasks reach the executor wrapped in a drain that may run several
+ * of them, so it would name the wrapper rather than the slow task.
+ */
+@Name("schedulers.SlowTask")
+@Label("Slow Scheduler Task")
+@Category("Reactive")
+@Description("A scheduler task that ran longer than the threshold")
+@Threshold("20 ms")
+@StackTrace(false)
+final class SlowTaskEvent extends Event {
+    @Label("Scheduler")
+    String scheduler;
+
+    @Label("Queue Wait")
+    @Timespan
+    long queueWait;
+}
@@ -0,0 +1,111 @@
+package schedulers;
+
+import metrics.LatencyHistogram;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Instruments the tasks a scheduler hands to its executors: counts them, records how
+ * long they waited and ran, and commits a {@link SlowTaskEvent} for the slow ones.
+ * Costs two allocations per task, the wrapper and its {@link SlowTaskEvent}, plus three
+ * {@link System#nanoTime()} calls.
+ */
+final class TaskMetrics implements SchedulerMetrics {
+    private final String scheduler;
+    private final IntSupplier threads;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    /**
+     * @param threads the number of started threads, running or idle
+     */
+    TaskMetrics(String scheduler, IntSupplier threads) {
+        this.scheduler = scheduler;
+        this.threads = threads;
+    }
+
+    /**
+     * Returns an executor that instruments every task before passing it to {@code executor}.
+     */
+    Executor instrument(Executor executor) {
+        return task -> execute(executor, task);
+    }
+
+    void execute(Executor executor, Runnable task) {
+        long submittedAt = System.nanoTime();
+        submitted.increment();
+        try {
+            executor.execute(() -> run(task, submittedAt));
+        } catch (RejectedExecutionException e) {
+            submitted.decrement();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task, long submittedAt) {
+        long start = System.nanoTime();
+        started.increment();
+        queueWait.record(start - submittedAt);
+        SlowTaskEvent event = new SlowTaskEvent();
+        event.begin();
+        try {
+            task.run();
+        } finally {
+            event.end();
+            runTime.record(System.nanoTime() - start);
+            completed.increment();
+            if (event.shouldCommit()) {
+                event.scheduler = scheduler;
+                event.queueWait = start - submittedAt;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public int queueDepth() {
+        return (int) Math.max(0, submitted.sum() - started.sum());
+    }
+
+    @Override
+    public int activeThreads() {
+        return (int) Math.max(0, started.sum() - completed.sum());
+    }
+
+    @Override
+    public int idleThreads() {
+        return Math.max(0, threads.getAsInt() - activeThreads());
+    }
+
+    @Override
+    public long submittedTasks() {
+        return submitted.sum();
+    }
+
+    @Override
+    public long completedTasks() {
+        return completed.sum();
+    }
+
+    @Override
+    public LatencyHistogram queueWait() {
+        return queueWait;
+    }
+
+    @Override
+    public LatencyHistogram runTime() {
+        return runTime;
+    }
+
+    @Override
+    public String toString() {
+        return scheduler + "[queued=" + queueDepth() + ", active=" + activeThreads()
+                + ", idle=" + idleThreads() + ", completed=" + completedTasks() + "]";
+    }
+}
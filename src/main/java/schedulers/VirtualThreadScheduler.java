@@ -0,0 +1,76 @@
+package schedulers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every task on its own virtual thread. Meant for blocking I/O stages: a task
+ * blocked on a socket or a JDBC call parks its virtual thread and frees the carrier
+ * thread, so thousands of waiting tasks cost heap for their stacks instead of platform
+ * threads. An optional {@code maxConcurrency} caps how many tasks run at once, e.g. to
+ * match a connection pool size; the rest wait in FIFO order without holding a carrier.
+ */
+public class VirtualThreadScheduler implements Scheduler {
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("virtual-", 0).factory());
+    private final Semaphore permits;
+    // one thread per task, so no thread is ever idle
+    private final TaskMetrics metrics = new TaskMetrics("virtual", () -> 0);
+    private final Executor instrumented;
+
+    public VirtualThreadScheduler() {
+        this.permits = null;
+        this.instrumented = metrics.instrument(executor);
+    }
+
+    public VirtualThreadScheduler(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        // instrumented outside the permit wait, so queue wait includes time spent waiting for a permit
+        this.instrumented = metrics.instrument(task -> executor.execute(() -> runLimited(task)));
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        instrumented.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    private void runLimited(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -1,3 +1,6 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.Observer;
 import org.junit.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
@@ -0,0 +1,145 @@
+import core.BatchObserver;
+import core.Observable;
+import org.junit.jupiter.api.Test;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchTest {
+
+    /**
+     * Takes batches and records their sizes.
+     */
+    static class BatchTestObserver<T> extends TestObserver<T> implements BatchObserver<T> {
+        final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNextBatch(Object[] items, int count) {
+            batches.add(count);
+            for (int i = 0; i < count; i++) {
+                onNext((T) items[i]);
+            }
+        }
+    }
+
+    private static Integer[] items(int count) {
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        return items;
+    }
+
+    @Test
+    void testFromArrayEmitsBatches() {
+        BatchTestObserver<Integer> observer = new BatchTestObserver<>();
+
+        Observable.fromArray(items(300)).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of(128, 128, 44), observer.batches);
+        assertEquals(List.of(items(300)), observer.values);
+    }
+
+    @Test
+    void testMapFilterProcessesWholeBatches() {
+        BatchTestObserver<String> observer = new BatchTestObserver<>();
+
+        Observable.fromArray(items(256))
+                .map(i -> i * 3)
+                .filter(i -> i % 2 == 0)
+                .map(String::valueOf)
+                .subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of(64, 64), observer.batches);
+        assertEquals("0", observer.values.get(0));
+        assertEquals("762", observer.values.get(127));
+    }
+
+    @Test
+    void testPlainObserverGetsItemsAndCanStopMidBatch() {
+        TestObserver<Integer> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 5) {
+                    dispose();
+                }
+            }
+        };
+
+        Observable.fromArray(items(100)).subscribe(observer);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), observer.values);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testMapErrorMidBatchDeliversPrecedingItems() {
+        BatchTestObserver<Integer> observer = new BatchTestObserver<>();
+
+        Observable.fromArray(items(100))
+                .map(i -> {
+                    if (i == 10) {
+                        throw new IllegalStateException("bad item");
+                    }
+                    return i;
+                })
+                .subscribe(observer);
+
+        assertEquals(10, observer.values.size());
+        assertInstanceOf(IllegalStateException.class, observer.error);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testMapStopsMidBatchOnceDisposed() {
+        AtomicInteger mapped = new AtomicInteger();
+        BatchTestObserver<Integer> observer = new BatchTestObserver<>();
+
+        Observable.fromArray(items(300))
+                .map(i -> {
+                    mapped.incrementAndGet();
+                    if (i == 5) {
+                        observer.dispose();
+                    }
+                    return i;
+                })
+                .subscribe(observer);
+
+        assertEquals(6, mapped.get());
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testObserveOnDrainsInBatches() throws InterruptedException {
+        BatchTestObserver<Integer> observer = new BatchTestObserver<>();
+
+        Observable.fromArray(items(10_000))
+                .observeOn(new SingleThreadScheduler())
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of(items(10_000)), observer.values);
+        assertEquals(10_000, observer.batches.stream().mapToInt(Integer::intValue).sum());
+        // the first drain starts after a whole upstream batch is queued
+        assertEquals(128, observer.batches.get(0));
+    }
+
+    @Test
+    void testBufferFillsListsFromBatches() {
+        TestObserver<List<Integer>> observer = new TestObserver<>();
+
+        Observable.fromArray(items(10)).buffer(3).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6, 7, 8), List.of(9)), observer.values);
+    }
+}
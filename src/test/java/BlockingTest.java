@@ -0,0 +1,174 @@
+import core.BlockingIterator;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingTest {
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Emits 0, 1, 2, ... until disposed, counting what it emitted.
+     */
+    private static Observable<Integer> endless(AtomicInteger emitted, AtomicBoolean disposed) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            while (!emitter.isDisposed()) {
+                emitter.onNext(emitted.getAndIncrement());
+            }
+            disposed.set(true);
+        });
+    }
+
+    @Test
+    void testBlockingIterableOverSynchronousSource() {
+        List<Integer> items = new ArrayList<>();
+        for (int item : range(1000).blockingIterable(16)) {
+            items.add(item);
+        }
+
+        assertEquals(1000, items.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, items.get(i));
+        }
+    }
+
+    @Test
+    void testAsynchronousProducerStaysWithinPrefetch() throws InterruptedException {
+        int prefetch = 8;
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicBoolean disposed = new AtomicBoolean();
+        IOThreadScheduler io = new IOThreadScheduler();
+
+        try (Stream<Integer> stream = endless(emitted, disposed).subscribeOn(io).toStream(prefetch)) {
+            Iterator<Integer> iterator = stream.iterator();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, iterator.next());
+                Thread.sleep(1);
+                // the queue plus the item the producer is parked with
+                assertTrue(emitted.get() <= i + 1 + prefetch + 1, "emitted " + emitted.get() + " after " + i);
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!disposed.get() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(disposed.get(), "Closing the stream did not dispose the source");
+        io.shutdown();
+    }
+
+    @Test
+    void testErrorIsRethrownAfterItems() {
+        Iterator<Integer> iterator = Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            emitter.onNext(1);
+            emitter.onError(new IllegalStateException("boom"));
+        }).blockingIterable().iterator();
+
+        assertEquals(1, iterator.next());
+        IllegalStateException e = assertThrows(IllegalStateException.class, iterator::hasNext);
+        assertEquals("boom", e.getMessage());
+    }
+
+    @Test
+    void testClosingBlockingIteratorReleasesWaitingProducer() throws InterruptedException {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicBoolean disposed = new AtomicBoolean();
+        IOThreadScheduler io = new IOThreadScheduler();
+
+        try (BlockingIterator<Integer> iterator = endless(emitted, disposed).subscribeOn(io).blockingIterator(4)) {
+            assertEquals(0, iterator.next());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!disposed.get() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(disposed.get(), "Closing the iterator did not dispose the source");
+        io.shutdown();
+    }
+
+    @Test
+    void testAbandonedIterationDoesNotBlockEventLoop() throws InterruptedException {
+        ComputationScheduler computation = new ComputationScheduler(1);
+
+        for (int item : range(1000).subscribeOn(computation).blockingIterable(4)) {
+            assertEquals(0, item);
+            break;
+        }
+        CountDownLatch ran = new CountDownLatch(1);
+        computation.execute(ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS), "The event loop is parked by the abandoned producer");
+        computation.shutdown();
+    }
+
+    @Test
+    void testBlockingFirstDisposesUpstream() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicBoolean disposed = new AtomicBoolean();
+        IOThreadScheduler io = new IOThreadScheduler();
+
+        assertEquals(0, endless(emitted, disposed).blockingFirst());
+        assertTrue(disposed.get());
+        assertEquals(1, emitted.get());
+        assertEquals(0, endless(new AtomicInteger(), new AtomicBoolean()).subscribeOn(io).blockingFirst());
+        io.shutdown();
+    }
+
+    @Test
+    void testBlockingLast() {
+        assertEquals(999, range(1000).blockingLast());
+        assertThrows(NoSuchElementException.class, () -> range(0).blockingLast());
+        assertThrows(NoSuchElementException.class, () -> range(0).blockingFirst());
+    }
+
+    @Test
+    void testSequentialStream() {
+        assertEquals(List.of("0", "2", "4"), range(6).toStream()
+                .filter(i -> i % 2 == 0)
+                .map(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testParallelStreamSplitsAcrossThreads() {
+        int count = 200_000;
+        IOThreadScheduler io = new IOThreadScheduler();
+
+        long sum;
+        try (Stream<Integer> stream = range(count).subscribeOn(io).toStream(256)) {
+            sum = stream.parallel().mapToLong(i -> i).sum();
+        }
+        List<Integer> ordered;
+        try (Stream<Integer> stream = range(count).subscribeOn(io).toStream(256)) {
+            ordered = stream.parallel().map(i -> i * 2).collect(Collectors.toList());
+        }
+
+        assertEquals((long) count * (count - 1) / 2, sum);
+        assertEquals(count, ordered.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(2 * i, ordered.get(i));
+        }
+        io.shutdown();
+    }
+}
@@ -0,0 +1,190 @@
+import core.Observable;
+import core.Observer;
+import org.junit.jupiter.api.Test;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferWindowTest {
+
+    private static Observable<Integer> range(int start, int count) {
+        return Observable.create(observer -> {
+            for (int i = start; i < start + count; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+    }
+
+    @Test
+    void testBufferByCount() throws InterruptedException {
+        TestObserver<List<Integer>> observer = new TestObserver<>();
+
+        range(1, 7).buffer(3).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                Arrays.asList(4, 5, 6),
+                Collections.singletonList(7)), observer.values);
+    }
+
+    @Test
+    void testBufferRejectsNonPositiveCount() {
+        assertThrows(IllegalArgumentException.class, () -> range(1, 1).buffer(0));
+        assertThrows(IllegalArgumentException.class, () -> range(1, 1).window(-1));
+    }
+
+    @Test
+    void testWindowByCount() throws InterruptedException {
+        List<List<Integer>> windows = Collections.synchronizedList(new ArrayList<>());
+        TestObserver<Observable<Integer>> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Observable<Integer> window) {
+                List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+                windows.add(items);
+                window.subscribe(collectInto(items));
+                super.onNext(window);
+            }
+        };
+
+        range(1, 5).window(2).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(Arrays.asList(
+                Arrays.asList(1, 2),
+                Arrays.asList(3, 4),
+                Collections.singletonList(5)), windows);
+    }
+
+    @Test
+    void testWindowCanBeSubscribedOnlyOnce() throws InterruptedException {
+        TestObserver<Observable<Integer>> observer = new TestObserver<>();
+        range(1, 2).window(2).subscribe(observer);
+        observer.awaitTerminal().assertComplete();
+
+        Observable<Integer> window = observer.values.get(0);
+        TestObserver<Integer> first = new TestObserver<>();
+        TestObserver<Integer> second = new TestObserver<>();
+        window.subscribe(first);
+        window.subscribe(second);
+
+        first.awaitTerminal().assertComplete();
+        assertEquals(Arrays.asList(1, 2), first.values);
+        assertInstanceOf(IllegalStateException.class, second.awaitTerminal().error);
+    }
+
+    @Test
+    void testTimedBufferFlushesOnTickAndSize() throws InterruptedException {
+        TestObserver<List<Integer>> observer = new TestObserver<>();
+
+        Observable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onNext(2);
+            emitter.onNext(3);
+            sleep(150);
+            emitter.onNext(4);
+            emitter.onComplete();
+        }).buffer(2, 50, TimeUnit.MILLISECONDS, new SingleThreadScheduler()).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(Arrays.asList(
+                Arrays.asList(1, 2),
+                Collections.singletonList(3),
+                Collections.singletonList(4)), observer.values);
+    }
+
+    @Test
+    void testTimedWindowEmitsAllItems() throws InterruptedException {
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        TestObserver<Observable<Integer>> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Observable<Integer> window) {
+                window.subscribe(collectInto(items));
+                super.onNext(window);
+            }
+        };
+
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 10; i++) {
+                emitter.onNext(i);
+                sleep(10);
+            }
+            emitter.onComplete();
+        }).window(30, TimeUnit.MILLISECONDS, new SingleThreadScheduler()).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertTrue(observer.values.size() > 1, "Expected the timer to open new windows");
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), items);
+    }
+
+    @Test
+    void testTimedBufferKeepsOrderUnderTicks() throws InterruptedException {
+        int count = 1_000_000;
+        List<Integer> items = new ArrayList<>();
+        TestObserver<List<Integer>> observer = new TestObserver<>() {
+            @Override
+            public void onNext(List<Integer> buffer) {
+                items.addAll(buffer);
+            }
+        };
+
+        range(0, count).buffer(3, 1, TimeUnit.MILLISECONDS, new SingleThreadScheduler()).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertConsecutive(count, items);
+    }
+
+    @Test
+    void testTimedWindowKeepsOrderUnderTicks() throws InterruptedException {
+        int count = 1_000_000;
+        List<List<Integer>> windows = Collections.synchronizedList(new ArrayList<>());
+        TestObserver<Observable<Integer>> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Observable<Integer> window) {
+                List<Integer> windowItems = Collections.synchronizedList(new ArrayList<>());
+                windows.add(windowItems);
+                window.subscribe(collectInto(windowItems));
+            }
+        };
+
+        range(0, count).window(3, 1, TimeUnit.MILLISECONDS, new SingleThreadScheduler()).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        List<Integer> items = new ArrayList<>();
+        for (List<Integer> windowItems : windows) {
+            items.addAll(windowItems);
+        }
+        assertConsecutive(count, items);
+    }
+
+    private static void assertConsecutive(int count, List<Integer> items) {
+        assertEquals(count, items.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, items.get(i), "Out of order at index " + i);
+        }
+    }
+
+    private static <T> Observer<T> collectInto(List<T> items) {
+        return new TestObserver<>() {
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import core.CompositeDisposable;
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+import schedulers.SingleThreadScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisposeTest {
+
+    @Test
+    void testSubscribeReturnsDisposableThatStopsSource() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        Disposable d = Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    emitter.setCancellable(() -> stopped.set(true));
+                    int i = 0;
+                    while (!emitter.isDisposed()) {
+                        emitter.onNext(i++);
+                        started.countDown();
+                    }
+                    cancelled.countDown();
+                })
+                .subscribeOn(io)
+                .map(i -> i + 1)
+                .filter(i -> i % 2 == 0)
+                .subscribe(new TestObserver<>());
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(d.isDisposed());
+        d.dispose();
+
+        assertTrue(d.isDisposed());
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "Source kept emitting after dispose");
+        assertTrue(stopped.get());
+    }
+
+    @Test
+    void testCancellableRunsOnceOnCompletion() {
+        AtomicInteger cancels = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Disposable d = Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            emitter.setCancellable(cancels::incrementAndGet);
+            emitter.onNext(1);
+            emitter.onComplete();
+        }).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(1, cancels.get());
+        assertTrue(d.isDisposed());
+        d.dispose();
+        assertEquals(1, cancels.get());
+    }
+
+    @Test
+    void testDisposePropagatesThroughFlatMapAndObserveOn() throws InterruptedException {
+        ComputationScheduler computation = new ComputationScheduler(2);
+        SingleThreadScheduler single = new SingleThreadScheduler();
+        CountDownLatch innersStarted = new CountDownLatch(3);
+        CountDownLatch innersCancelled = new CountDownLatch(3);
+
+        Disposable d = Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < 3; i++) {
+                        emitter.onNext(i);
+                    }
+                })
+                .flatMap(i -> Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    emitter.setCancellable(innersCancelled::countDown);
+                    innersStarted.countDown();
+                }).subscribeOn(computation))
+                .observeOn(single)
+                .subscribe(new TestObserver<>());
+
+        assertTrue(innersStarted.await(5, TimeUnit.SECONDS));
+        d.dispose();
+        assertTrue(innersCancelled.await(5, TimeUnit.SECONDS), "Inner sources were not disposed");
+    }
+
+    @Test
+    void testDisposeStopsInterval() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(1);
+        TestObserver<Long> observer = new TestObserver<>();
+
+        Disposable d = Observable.interval(1, TimeUnit.MILLISECONDS, scheduler)
+                .map(i -> i * 2)
+                .subscribe(observer);
+
+        Thread.sleep(30);
+        d.dispose();
+        Thread.sleep(20);
+        int size = observer.values.size();
+        Thread.sleep(50);
+
+        assertTrue(size > 0);
+        assertEquals(size, observer.values.size());
+    }
+
+    @Test
+    void testCompositeDisposable() {
+        AtomicInteger disposed = new AtomicInteger();
+        Disposable a = counting(disposed);
+        Disposable b = counting(disposed);
+        CompositeDisposable composite = new CompositeDisposable(a);
+
+        assertTrue(composite.add(b));
+        assertEquals(2, composite.size());
+        assertTrue(composite.delete(a));
+        assertFalse(composite.delete(a));
+        assertEquals(0, disposed.get());
+
+        composite.dispose();
+        assertTrue(composite.isDisposed());
+        assertEquals(1, disposed.get());
+        assertEquals(0, composite.size());
+
+        assertFalse(composite.add(counting(disposed)));
+        assertEquals(2, disposed.get());
+    }
+
+    private static Disposable counting(AtomicInteger counter) {
+        return new Disposable() {
+            private boolean disposed;
+
+            @Override
+            public void dispose() {
+                if (!disposed) {
+                    disposed = true;
+                    counter.incrementAndGet();
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return disposed;
+            }
+        };
+    }
+}
@@ -1,3 +1,6 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.Observer;
 import org.junit.jupiter.api.Test;
 import schedulers.IOThreadScheduler;
 
@@ -0,0 +1,129 @@
+import core.Observable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedulers.IOThreadScheduler;
+import schedulers.SingleThreadScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSourceTest {
+
+    @TempDir
+    Path dir;
+
+    private static String text(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    @Test
+    void testLinesAreSplitOnDelimiter() throws IOException {
+        Path file = Files.writeString(dir.resolve("log.txt"), "first\nsecond line\n\nlast");
+        TestObserver<String> observer = new TestObserver<>();
+
+        Observable.fromFileLines(file).map(FileSourceTest::text).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of("first", "second line", "", "last"), observer.values);
+    }
+
+    @Test
+    void testTrailingDelimiterAndCustomDelimiter() throws IOException {
+        Path file = Files.writeString(dir.resolve("records.csv"), "a;bb;ccc;");
+        TestObserver<String> observer = new TestObserver<>();
+
+        Observable.fromFileLines(file, (byte) ';').map(FileSourceTest::text).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of("a", "bb", "ccc"), observer.values);
+    }
+
+    @Test
+    void testChunksAreReadOnlySlicesCoveringTheFile() throws IOException {
+        byte[] content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(dir.resolve("data.bin"), content);
+        TestObserver<ByteBuffer> observer = new TestObserver<>();
+
+        Observable.fromFile(file, 4096).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(3, observer.values.size());
+        ByteBuffer joined = ByteBuffer.allocate(content.length);
+        for (ByteBuffer chunk : observer.values) {
+            assertTrue(chunk.isReadOnly());
+            joined.put(chunk);
+        }
+        assertArrayEquals(content, joined.array());
+        assertEquals(10_000 - 2 * 4096, observer.values.get(2).capacity());
+    }
+
+    @Test
+    void testEmptyFileCompletes() throws IOException {
+        Path file = Files.createFile(dir.resolve("empty.txt"));
+        TestObserver<ByteBuffer> observer = new TestObserver<>();
+
+        Observable.fromFileLines(file).subscribe(observer);
+
+        observer.assertComplete();
+        assertTrue(observer.values.isEmpty());
+    }
+
+    @Test
+    void testMissingFileSignalsError() {
+        TestObserver<ByteBuffer> observer = new TestObserver<>();
+
+        Observable.fromFile(dir.resolve("missing.txt")).subscribe(observer);
+
+        assertInstanceOf(NoSuchFileException.class, observer.error);
+    }
+
+    @Test
+    void testScanOnIoThreadWithPrefetch() throws IOException, InterruptedException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            content.append(i).append('\n');
+        }
+        Path file = Files.writeString(dir.resolve("numbers.txt"), content);
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.fromFileLines(file)
+                .subscribeOn(new IOThreadScheduler())
+                .observeOn(new SingleThreadScheduler(), 64)
+                .map(line -> Integer.parseInt(text(line)))
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(10_000, observer.values.size());
+        assertEquals(9_999, observer.values.get(9_999));
+    }
+
+    @Test
+    void testDisposeStopsScan() throws IOException {
+        Path file = Files.writeString(dir.resolve("lines.txt"), "1\n2\n3\n4\n5\n");
+        TestObserver<ByteBuffer> observer = new TestObserver<>() {
+            @Override
+            public void onNext(ByteBuffer item) {
+                super.onNext(item);
+                if (values.size() == 2) {
+                    dispose();
+                }
+            }
+        };
+
+        Observable.fromFileLines(file).subscribe(observer);
+
+        assertEquals(2, observer.values.size());
+        assertEquals("2", text(observer.values.get(1)));
+        assertEquals(0, observer.completions);
+    }
+}
@@ -0,0 +1,119 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatMapTest {
+
+    private static Observable<Integer> source(int count) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testCompletesAfterAsyncInners() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        source(20)
+                .flatMap(i -> Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    emitter.onNext(i);
+                    emitter.onComplete();
+                }).subscribeOn(io))
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(20, observer.values.size());
+        assertEquals(20, new HashSet<>(observer.values).size());
+    }
+
+    @Test
+    void testMaxConcurrencyQueuesOuterItems() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(8);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        source(50)
+                .flatMap(i -> Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    emitter.onNext(i);
+                    active.decrementAndGet();
+                    emitter.onComplete();
+                }).subscribeOn(scheduler), 3)
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(50, observer.values.size());
+        assertTrue(maxActive.get() <= 3, "Active inners: " + maxActive.get());
+    }
+
+    @Test
+    void testEmissionsAreSerialized() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(4);
+        AtomicInteger inOnNext = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicInteger received = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Integer item) {
+                if (inOnNext.incrementAndGet() != 1) {
+                    overlapped.set(true);
+                }
+                received.incrementAndGet();
+                inOnNext.decrementAndGet();
+            }
+        };
+
+        source(16)
+                .flatMap(i -> source(1000).subscribeOn(scheduler))
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(16_000, received.get());
+        assertFalse(overlapped.get(), "onNext was called concurrently");
+    }
+
+    @Test
+    void testInnerErrorTerminates() {
+        RuntimeException testError = new RuntimeException("Inner error");
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        source(5)
+                .flatMap(i -> i == 2
+                        ? Observable.<Integer>create(emitter -> emitter.onError(testError))
+                        : source(1).map(v -> i))
+                .subscribe(observer);
+
+        assertEquals(List.of(0, 1), observer.values);
+        assertSame(testError, observer.error);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testInvalidMaxConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> source(1).flatMap(i -> source(i), 0));
+    }
+}
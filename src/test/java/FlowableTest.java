@@ -0,0 +1,308 @@
+import core.BackpressureStrategy;
+import core.Flowable;
+import core.MissingBackpressureException;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowableTest {
+
+    private static List<Integer> range(int start, int count) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = start; i < start + count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    void testFromIterableHonoursRequests() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        Flowable.fromIterable(range(0, 10)).subscribe(subscriber);
+        assertTrue(subscriber.values.isEmpty());
+
+        subscriber.request(3);
+        assertEquals(List.of(0, 1, 2), subscriber.values);
+
+        subscriber.request(7);
+        assertEquals(range(0, 10), subscriber.values);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    void testCreateBufferDeliversOnRequest() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(2);
+
+        Flowable.<Integer>create(emitter -> {
+            for (int i = 0; i < 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }, BackpressureStrategy.BUFFER).subscribe(subscriber);
+
+        assertEquals(List.of(0, 1), subscriber.values);
+        assertEquals(0, subscriber.completions);
+
+        subscriber.request(10);
+        assertEquals(range(0, 5), subscriber.values);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    void testCreateDropAndLatest() {
+        TestSubscriber<Integer> dropped = new TestSubscriber<>(2);
+        TestSubscriber<Integer> latest = new TestSubscriber<>(2);
+
+        Flowable.<Integer>create(emitter -> {
+            for (int i = 0; i < 5; i++) {
+                emitter.onNext(i);
+            }
+        }, BackpressureStrategy.DROP).subscribe(dropped);
+        Flowable.<Integer>create(emitter -> {
+            for (int i = 0; i < 5; i++) {
+                emitter.onNext(i);
+            }
+        }, BackpressureStrategy.LATEST).subscribe(latest);
+
+        dropped.request(1);
+        latest.request(1);
+        assertEquals(List.of(0, 1), dropped.values);
+        assertEquals(List.of(0, 1, 4), latest.values);
+    }
+
+    @Test
+    void testCreateErrorSignalsMissingBackpressure() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        Flowable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onNext(2);
+            emitter.onNext(3);
+        }, BackpressureStrategy.ERROR).subscribe(subscriber);
+
+        assertEquals(List.of(1), subscriber.values);
+        assertInstanceOf(MissingBackpressureException.class, subscriber.error);
+    }
+
+    @Test
+    void testCreateRejectsNonPositiveRequest() {
+        for (BackpressureStrategy strategy : BackpressureStrategy.values()) {
+            for (long n : new long[] { 0, -1 }) {
+                TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+                List<Boolean> cancelled = new ArrayList<>();
+
+                Flowable.<Integer>create(emitter -> {
+                    subscriber.request(n);
+                    cancelled.add(emitter.isCancelled());
+                }, strategy).subscribe(subscriber);
+
+                assertInstanceOf(IllegalArgumentException.class, subscriber.error, strategy + " request(" + n + ")");
+                assertEquals(List.of(true), cancelled);
+            }
+        }
+    }
+
+    @Test
+    void testBadRequestDuringOnNextIsSignalledAfterIt() {
+        for (BackpressureStrategy strategy : BackpressureStrategy.values()) {
+            AtomicBoolean overlapped = new AtomicBoolean();
+            TestSubscriber<Integer> subscriber = new TestSubscriber<>(1) {
+                @Override
+                public void onNext(Integer item) {
+                    super.onNext(item);
+                    request(0);
+                    overlapped.set(error != null);
+                }
+            };
+
+            Flowable.<Integer>create(emitter -> {
+                emitter.onNext(1);
+                emitter.onNext(2);
+                emitter.onComplete();
+            }, strategy).subscribe(subscriber);
+
+            assertFalse(overlapped.get(), strategy.toString());
+            assertEquals(List.of(1), subscriber.values, strategy.toString());
+            assertInstanceOf(IllegalArgumentException.class, subscriber.error, strategy.toString());
+            assertEquals(0, subscriber.completions, strategy.toString());
+        }
+    }
+
+    @Test
+    void testErrorStrategyOverflowCancelsSource() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        Flowable.<Integer>create(emitter -> {
+            emitter.setCancellable(() -> cancelled.set(true));
+            emitter.onNext(1);
+            emitter.onNext(2);
+        }, BackpressureStrategy.ERROR).subscribe(subscriber);
+
+        assertInstanceOf(MissingBackpressureException.class, subscriber.error);
+        assertTrue(cancelled.get(), "Overflow did not cancel the source");
+    }
+
+    @Test
+    void testObserveOnRejectsNonPositiveRequest() throws InterruptedException {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        Flowable.<Integer>create(emitter -> emitter.setCancellable(() -> cancelled.set(true)),
+                        BackpressureStrategy.BUFFER)
+                .observeOn(new SingleThreadScheduler(), 4)
+                .subscribe(subscriber);
+        subscriber.request(-1);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.awaitTerminal().error);
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void testMapAndFilterKeepDemand() {
+        TestSubscriber<String> subscriber = new TestSubscriber<>(3);
+
+        Flowable.fromIterable(range(0, 20))
+                .filter(i -> i % 2 == 0)
+                .map(i -> "v" + i)
+                .subscribe(subscriber);
+
+        assertEquals(List.of("v0", "v2", "v4"), subscriber.values);
+    }
+
+    @Test
+    void testObserveOnBoundsOutstandingItems() throws InterruptedException {
+        int prefetch = 16;
+        AtomicLong produced = new AtomicLong();
+        AtomicLong maxInFlight = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>() {
+            @Override
+            public void onNext(Integer item) {
+                long inFlight = produced.get() - consumed.incrementAndGet();
+                maxInFlight.accumulateAndGet(inFlight, Math::max);
+                super.onNext(item);
+            }
+        };
+
+        Flowable.<Integer>create(emitter -> {
+                    int i = 0;
+                    while (i < 10_000 && !emitter.isCancelled()) {
+                        if (emitter.requested() > 0) {
+                            produced.incrementAndGet();
+                            emitter.onNext(i++);
+                        } else {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    emitter.onComplete();
+                }, BackpressureStrategy.ERROR)
+                .subscribeOn(new IOThreadScheduler())
+                .observeOn(new SingleThreadScheduler(), prefetch)
+                .subscribe(subscriber);
+
+        subscriber.awaitTerminal().assertComplete();
+        assertEquals(range(0, 10_000), subscriber.values);
+        assertTrue(maxInFlight.get() <= prefetch, "In flight: " + maxInFlight.get());
+    }
+
+    @Test
+    void testFlatMapLimitsConcurrency() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ComputationScheduler scheduler = new ComputationScheduler();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+        Flowable.fromIterable(range(0, 50))
+                .flatMap(i -> Flowable.<Integer>create(emitter -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    emitter.onNext(i * 10);
+                    emitter.onNext(i * 10 + 1);
+                    active.decrementAndGet();
+                    emitter.onComplete();
+                }, BackpressureStrategy.BUFFER).subscribeOn(scheduler), 4)
+                .subscribe(subscriber);
+
+        subscriber.awaitTerminal().assertComplete();
+        assertEquals(100, subscriber.values.size());
+        assertTrue(maxActive.get() <= 4, "Active inners: " + maxActive.get());
+    }
+
+    @Test
+    void testFlatMapPropagatesInnerError() {
+        RuntimeException testError = new RuntimeException("Inner error");
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+        Flowable.fromIterable(range(0, 5))
+                .flatMap(i -> i == 2
+                        ? Flowable.<Integer>create(emitter -> emitter.onError(testError), BackpressureStrategy.BUFFER)
+                        : Flowable.fromIterable(List.of(i)))
+                .subscribe(subscriber);
+
+        assertSame(testError, subscriber.error);
+        assertEquals(List.of(0, 1), subscriber.values);
+    }
+
+    @Test
+    void testObservableBridges() throws InterruptedException {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(3);
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < 10; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .toFlowable(BackpressureStrategy.BUFFER)
+                .subscribe(subscriber);
+        assertEquals(List.of(0, 1, 2), subscriber.values);
+
+        TestObserver<Integer> observer = new TestObserver<>();
+        Flowable.fromIterable(range(0, 10))
+                .toObservable()
+                .subscribe(observer);
+        observer.awaitTerminal().assertComplete();
+        assertEquals(range(0, 10), observer.values);
+    }
+
+    @Test
+    void testCancellingBridgeDisposesObservableSource() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    emitter.setCancellable(() -> cancelled.set(true));
+                    for (int i = 0; !cancelled.get(); i++) {
+                        emitter.onNext(i);
+                    }
+                })
+                .subscribeOn(io)
+                .toFlowable(BackpressureStrategy.DROP)
+                .subscribe(subscriber);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.values.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        subscriber.cancel();
+        while (!cancelled.get() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(List.of(0), subscriber.values);
+        assertTrue(cancelled.get(), "Cancelling the flowable did not dispose the observable");
+        io.shutdown();
+    }
+}
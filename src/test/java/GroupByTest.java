@@ -0,0 +1,158 @@
+import core.Disposable;
+import core.GroupedObservable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.PublishSubject;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupByTest {
+
+    @SafeVarargs
+    private static <T> Observable<T> just(T... items) {
+        return Observable.create((ObservableOnSubscribe<T>) emitter -> {
+            for (T item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testGroupsKeepPerKeyOrder() {
+        TestObserver<String> observer = new TestObserver<>();
+
+        just("a1", "b1", "a2", "c1", "b2", "a3")
+                .groupBy(s -> s.charAt(0))
+                .flatMap(group -> group.map(s -> group.getKey() + ":" + s))
+                .subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of("a:a1", "b:b1", "a:a2", "c:c1", "b:b2", "a:a3"), observer.values);
+    }
+
+    @Test
+    void testManyKeysAreRoutedCorrectly() {
+        int keys = 10_000;
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        TestObserver<GroupedObservable<Integer, Integer>> observer = new TestObserver<>() {
+            @Override
+            public void onNext(GroupedObservable<Integer, Integer> group) {
+                super.onNext(group);
+                TestObserver<Integer> items = new TestObserver<>();
+                groups.put(group.getKey(), items.values);
+                group.subscribe(items);
+            }
+        };
+
+        range(3 * keys).groupBy(i -> i % keys).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(keys, observer.values.size());
+        for (int k = 0; k < keys; k++) {
+            assertEquals(List.of(k, k + keys, k + 2 * keys), groups.get(k));
+        }
+    }
+
+    @Test
+    void testDisposedGroupIsEvictedAndReopened() {
+        List<String> keys = new ArrayList<>();
+
+        just("a1", "a2", "b1", "a3")
+                .groupBy(s -> s.charAt(0))
+                .subscribe(new TestObserver<>() {
+                    @Override
+                    public void onNext(GroupedObservable<Character, String> group) {
+                        keys.add(String.valueOf(group.getKey()));
+                        Disposable[] subscription = new Disposable[1];
+                        subscription[0] = group.subscribe(new TestObserver<>() {
+                            @Override
+                            public void onNext(String item) {
+                                subscription[0].dispose();
+                            }
+                        });
+                    }
+                });
+
+        assertEquals(List.of("a", "a", "b", "a"), keys);
+    }
+
+    @Test
+    void testMaxGroupsCompletesEvictedGroup() {
+        AtomicInteger completed = new AtomicInteger();
+        TestObserver<GroupedObservable<String, String>> observer = new TestObserver<>() {
+            @Override
+            public void onNext(GroupedObservable<String, String> group) {
+                super.onNext(group);
+                group.subscribe(new TestObserver<>() {
+                    @Override
+                    public void onComplete() {
+                        completed.incrementAndGet();
+                    }
+                });
+            }
+        };
+
+        PublishSubject<String> subject = PublishSubject.create();
+        subject.groupBy(s -> s, 2).subscribe(observer);
+        subject.onNext("a");
+        subject.onNext("b");
+        subject.onNext("a");
+        assertEquals(0, completed.get());
+        subject.onNext("c");
+        assertEquals(1, completed.get());
+        assertEquals(3, observer.values.size());
+        subject.onComplete();
+        assertEquals(3, completed.get());
+    }
+
+    @Test
+    void testCountByKey() {
+        TestObserver<Map<Integer, Long>> observer = new TestObserver<>();
+
+        range(1000).countByKey(i -> i % 3).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(Map.of(0, 334L, 1, 333L, 2, 333L), observer.values.get(0));
+    }
+
+    @Test
+    void testStripedCountAndReduceByKey() throws InterruptedException {
+        int count = 200_000;
+        ComputationScheduler scheduler = new ComputationScheduler(4);
+        Map<Integer, Long> expectedCounts = new ConcurrentHashMap<>();
+        Map<Integer, Long> expectedSums = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            expectedCounts.merge(i % 101, 1L, Long::sum);
+            expectedSums.merge(i % 101, (long) i, Long::sum);
+        }
+        TestObserver<Map<Integer, Long>> counts = new TestObserver<>();
+        TestObserver<Map<Integer, Long>> sums = new TestObserver<>();
+
+        range(count).countByKey(i -> i % 101, scheduler, 4).subscribe(counts);
+        range(count).reduceByKey(i -> i % 101, i -> (long) i, Long::sum, scheduler, 4).subscribe(sums);
+
+        counts.awaitTerminal().assertComplete();
+        sums.awaitTerminal().assertComplete();
+        assertEquals(expectedCounts, counts.values.get(0));
+        assertEquals(expectedSums, sums.values.get(0));
+    }
+}
@@ -0,0 +1,206 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.PublishSubject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import schedulers.IOThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSourceTest {
+
+    private final IOThreadScheduler io = new IOThreadScheduler();
+
+    @AfterEach
+    void tearDown() {
+        io.shutdown();
+    }
+
+    /**
+     * Emits 0, 1, 2, ... until disposed, then records that it was.
+     */
+    private static Observable<Integer> endless(AtomicBoolean disposed) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            disposed.set(true);
+        });
+    }
+
+    @Test
+    void testMergeAcrossIoThreads() throws InterruptedException {
+        int sources = 8;
+        int count = 20_000;
+        List<Observable<Integer>> list = new ArrayList<>();
+        for (int s = 0; s < sources; s++) {
+            list.add(Observable.range(s * count, count).subscribeOn(io));
+        }
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        @SuppressWarnings("unchecked")
+        Observable<Integer>[] array = list.toArray(new Observable[0]);
+        Observable.merge(array).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(sources * count, observer.values.size());
+        assertEquals(sources * count, new HashSet<>(observer.values).size());
+        // each source keeps its own order
+        int[] last = new int[sources];
+        Arrays.fill(last, -1);
+        for (int item : observer.values) {
+            assertTrue(item > last[item / count]);
+            last[item / count] = item;
+        }
+    }
+
+    @Test
+    void testMergeErrorDisposesOtherSources() {
+        AtomicBoolean disposed = new AtomicBoolean();
+        TestObserver<Integer> observer = new TestObserver<>();
+        PublishSubject<Integer> failing = PublishSubject.create();
+
+        Observable.merge(failing, Observable.just(1)).subscribe(observer);
+        failing.onError(new IllegalStateException("boom"));
+
+        assertEquals(List.of(1), observer.values);
+        assertEquals("boom", observer.error.getMessage());
+
+        TestObserver<Integer> second = new TestObserver<>();
+        Observable.merge(Observable.<Integer>error(new IllegalStateException("x")), endless(disposed))
+                .subscribe(second);
+        assertEquals("x", second.error.getMessage());
+        assertFalse(disposed.get());
+    }
+
+    @Test
+    void testMergeDelayErrorWaitsForAllSources() {
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.mergeDelayError(
+                Observable.<Integer>error(new IllegalStateException("first")),
+                Observable.range(0, 3),
+                Observable.<Integer>error(new IllegalArgumentException("second")),
+                Observable.just(9)).subscribe(observer);
+
+        assertEquals(List.of(0, 1, 2, 9), observer.values);
+        assertEquals("first", observer.error.getMessage());
+        assertEquals(1, observer.error.getSuppressed().length);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testZipPairsItemsAndStopsAtShortestSource() throws InterruptedException {
+        AtomicBoolean disposed = new AtomicBoolean();
+        TestObserver<String> observer = new TestObserver<>();
+
+        Observable.zip(Observable.range(0, 1000).subscribeOn(io), endless(disposed).subscribeOn(io),
+                (a, b) -> a + ":" + b).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(1000, observer.values.size());
+        assertEquals("999:999", observer.values.get(999));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!disposed.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(disposed.get());
+    }
+
+    @Test
+    void testZipOfIterable() {
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.zip(List.of(Observable.range(0, 4), Observable.range(10, 5), Observable.range(100, 6)),
+                row -> (Integer) row[0] + (Integer) row[1] + (Integer) row[2]).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of(110, 113, 116, 119), observer.values);
+    }
+
+    @Test
+    void testCombineLatest() {
+        PublishSubject<String> letters = PublishSubject.create();
+        PublishSubject<Integer> numbers = PublishSubject.create();
+        TestObserver<String> observer = new TestObserver<>();
+
+        Observable.combineLatest(letters, numbers, (l, n) -> l + n).subscribe(observer);
+        letters.onNext("a");
+        letters.onNext("b");
+        numbers.onNext(1);
+        letters.onNext("c");
+        numbers.onNext(2);
+        letters.onComplete();
+        numbers.onNext(3);
+        numbers.onComplete();
+
+        observer.assertComplete();
+        assertEquals(List.of("b1", "c1", "c2", "c3"), observer.values);
+    }
+
+    @Test
+    void testCombineLatestFollowsArrivalOrderWhileDrainIsBusy() {
+        PublishSubject<Integer> numbers = PublishSubject.create();
+        PublishSubject<String> letters = PublishSubject.create();
+        TestObserver<String> observer = new TestObserver<>() {
+            @Override
+            public void onNext(String item) {
+                super.onNext(item);
+                if (values.size() == 1) {
+                    // arrives on another thread while this one holds the drain
+                    Thread producer = new Thread(() -> {
+                        numbers.onNext(1);
+                        numbers.onNext(2);
+                        numbers.onNext(3);
+                        letters.onNext("y");
+                    });
+                    producer.start();
+                    try {
+                        producer.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+
+        Observable.combineLatest(numbers, letters, (n, l) -> n + l).subscribe(observer);
+        numbers.onNext(0);
+        letters.onNext("x");
+
+        assertEquals(List.of("0x", "1x", "2x", "3x", "3y"), observer.values);
+    }
+
+    @Test
+    void testCombineLatestCompletesWhenSourceNeverEmits() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestObserver<Object> observer = new TestObserver<>();
+
+        Observable.combineLatest(List.of(subject, Observable.empty()), latest -> latest[0]).subscribe(observer);
+
+        observer.assertComplete();
+        assertTrue(observer.values.isEmpty());
+        assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    void testCombineLatestAcrossIoThreadsEndsWithLastValues() throws InterruptedException {
+        int sources = 4;
+        List<Observable<?>> list = new ArrayList<>();
+        for (int s = 0; s < sources; s++) {
+            list.add(Observable.range(0, 10_000).subscribeOn(io));
+        }
+        TestObserver<List<Object>> observer = new TestObserver<>();
+
+        Observable.combineLatest(list, List::of).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of(9999, 9999, 9999, 9999), observer.values.get(observer.values.size() - 1));
+    }
+}
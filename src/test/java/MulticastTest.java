@@ -0,0 +1,120 @@
+import core.ConnectableObservable;
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MulticastTest {
+
+    private static Observable<Integer> counted(AtomicInteger subscriptions, int count) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            subscriptions.incrementAndGet();
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testPublishSharesOneSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ConnectableObservable<Integer> published = counted(subscriptions, 5).publish();
+        TestObserver<Integer> first = new TestObserver<>();
+        TestObserver<Integer> second = new TestObserver<>();
+
+        published.subscribe(first);
+        published.map(i -> i * 10).subscribe(second);
+        assertEquals(0, subscriptions.get());
+        published.connect();
+
+        assertEquals(1, subscriptions.get());
+        first.assertComplete();
+        second.assertComplete();
+        assertEquals(List.of(0, 1, 2, 3, 4), first.values);
+        assertEquals(List.of(0, 10, 20, 30, 40), second.values);
+    }
+
+    @Test
+    void testShareDisconnectsWhenLastObserverDisposes() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Observable<Long> shared = Observable.create((ObservableOnSubscribe<Long>) emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.setCancellable(cancelled::countDown);
+        }).share();
+
+        Disposable first = shared.subscribe(new TestObserver<>());
+        Disposable second = shared.subscribe(new TestObserver<>());
+        assertEquals(1, subscriptions.get());
+
+        first.dispose();
+        assertEquals(1, cancelled.getCount());
+        second.dispose();
+        assertEquals(0, cancelled.getCount());
+
+        shared.subscribe(new TestObserver<>()).dispose();
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    void testReplayDeliversBoundedHistoryToLateObservers() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ConnectableObservable<Integer> replayed = counted(subscriptions, 10).replay(3);
+        TestObserver<Integer> early = new TestObserver<>();
+        TestObserver<Integer> late = new TestObserver<>();
+
+        replayed.subscribe(early);
+        replayed.connect();
+        replayed.subscribe(late);
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), early.values);
+        early.assertComplete();
+        assertEquals(List.of(7, 8, 9), late.values);
+        late.assertComplete();
+    }
+
+    @Test
+    void testCacheSubscribesOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> cached = counted(subscriptions, 3).cache();
+        assertEquals(0, subscriptions.get());
+
+        TestObserver<Integer> first = new TestObserver<>();
+        TestObserver<Integer> second = new TestObserver<>();
+        cached.subscribe(first);
+        cached.subscribe(second);
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(List.of(0, 1, 2), first.values);
+        assertEquals(List.of(0, 1, 2), second.values);
+        second.assertComplete();
+    }
+
+    @Test
+    void testLateObserverJoiningWhileUpstreamEmitsSeesOrderedTail() throws InterruptedException {
+        int count = 200_000;
+        ComputationScheduler scheduler = new ComputationScheduler(1);
+        AtomicInteger subscriptions = new AtomicInteger();
+        ConnectableObservable<Integer> replayed = counted(subscriptions, count).subscribeOn(scheduler).replay(16);
+        TestObserver<Integer> late = new TestObserver<>();
+
+        replayed.connect();
+        replayed.subscribe(late);
+        late.awaitTerminal().assertComplete();
+
+        assertFalse(late.values.isEmpty());
+        for (int i = 1; i < late.values.size(); i++) {
+            assertTrue(late.values.get(i) > late.values.get(i - 1), "Out of order at " + i);
+        }
+        assertEquals(count - 1, late.values.get(late.values.size() - 1));
+    }
+}
@@ -0,0 +1,89 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObserveOnTest {
+
+    @Test
+    void testObserveOnPreservesOrderOnComputationScheduler() throws InterruptedException {
+        int testItems = 100_000;
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < testItems; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .observeOn(new ComputationScheduler())
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < testItems; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, observer.values);
+    }
+
+    @Test
+    void testErrorIsDeliveredAfterQueuedItems() throws InterruptedException {
+        RuntimeException testError = new RuntimeException("Test error");
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    emitter.onNext(1);
+                    emitter.onNext(2);
+                    emitter.onError(testError);
+                })
+                .observeOn(new ComputationScheduler())
+                .subscribe(observer);
+
+        observer.awaitTerminal();
+        assertEquals(List.of(1, 2), observer.values);
+        assertSame(testError, observer.error);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testDrainYieldsAfterBatchSize() throws InterruptedException {
+        AtomicInteger submitted = new AtomicInteger();
+        ComputationScheduler pool = new ComputationScheduler(1);
+        Scheduler counting = task -> {
+            submitted.incrementAndGet();
+            pool.execute(task);
+        };
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < 1000; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .subscribeOn(pool)
+                .observeOn(counting, 10)
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(1000, observer.values.size());
+        assertTrue(submitted.get() >= 100, "Each drain should stop after 10 items");
+        assertEquals(1, new HashSet<>(observer.threads).size());
+    }
+
+    @Test
+    void testInvalidBatchSize() {
+        Observable<Integer> source = Observable.create(emitter -> emitter.onComplete());
+        assertThrows(IllegalArgumentException.class,
+                () -> source.observeOn(new ComputationScheduler(1), 0));
+    }
+}
@@ -1,3 +1,6 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.Observer;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
@@ -186,4 +189,96 @@ class OperatorsTest {
 
         assertTrue(errorReceived.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFusedMapFilterChain() {
+        TestObserver<String> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < 10; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .map(i -> i * 3)
+                .filter(i -> i % 2 == 0)
+                .map(i -> i + 1)
+                .filter(i -> i > 5)
+                .map(i -> "v" + i)
+                .subscribe(observer);
+
+        assertEquals(List.of("v7", "v13", "v19", "v25"), observer.values);
+        observer.assertComplete();
+    }
+
+    @Test
+    void testFusedStagesDoNotLeakIntoSiblingChains() {
+        Observable<Integer> doubled = Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    emitter.onNext(1);
+                    emitter.onNext(2);
+                    emitter.onComplete();
+                })
+                .map(i -> i * 2);
+        TestObserver<Integer> plus = new TestObserver<>();
+        TestObserver<Integer> even = new TestObserver<>();
+        TestObserver<Integer> base = new TestObserver<>();
+
+        doubled.map(i -> i + 1).subscribe(plus);
+        doubled.filter(i -> i > 2).subscribe(even);
+        doubled.subscribe(base);
+
+        assertEquals(List.of(3, 5), plus.values);
+        assertEquals(List.of(4), even.values);
+        assertEquals(List.of(2, 4), base.values);
+    }
+
+    @Test
+    void testFusedChainStopsAfterError() {
+        RuntimeException testError = new RuntimeException("Filter error");
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < 5; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .map(i -> i + 1)
+                .filter(i -> {
+                    if (i == 3) throw testError;
+                    return true;
+                })
+                .subscribe(observer);
+
+        assertEquals(List.of(1, 2), observer.values);
+        assertSame(testError, observer.error);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testFusedChainSeesObserverDisposingItself() {
+        AtomicBoolean sourceSawDispose = new AtomicBoolean();
+        TestObserver<Integer> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 4) {
+                    dispose();
+                }
+            }
+        };
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < 1000 && !emitter.isDisposed(); i++) {
+                        emitter.onNext(i);
+                    }
+                    sourceSawDispose.set(emitter.isDisposed());
+                })
+                .map(i -> i * 2)
+                .filter(i -> i % 4 == 0)
+                .subscribe(observer);
+
+        assertEquals(List.of(0, 4), observer.values);
+        assertTrue(sourceSawDispose.get());
+    }
+}
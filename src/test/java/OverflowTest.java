@@ -0,0 +1,184 @@
+import core.MissingBackpressureException;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.OverflowObservable;
+import core.OverflowStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import schedulers.IOThreadScheduler;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverflowTest {
+
+    private final SingleThreadScheduler single = new SingleThreadScheduler();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        single.shutdown();
+    }
+
+    /**
+     * Occupies the scheduler's only thread until {@link #release} opens, so everything
+     * emitted meanwhile piles up in front of the hop.
+     */
+    private void blockScheduler() {
+        single.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static Observable<Integer> range(int count, AtomicInteger emitted) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    private static List<Integer> list(int from, int to) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    @Test
+    void testDropKeepsQueuedItems() throws InterruptedException {
+        List<Integer> shed = Collections.synchronizedList(new ArrayList<>());
+        TestObserver<Integer> observer = new TestObserver<>();
+        blockScheduler();
+
+        OverflowObservable<Integer> dropping = range(100, new AtomicInteger())
+                .onOverflowBuffer(10, OverflowStrategy.DROP_LATEST, shed::add, single);
+        dropping.subscribe(observer);
+        release.countDown();
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(list(0, 10), observer.values);
+        assertEquals(list(10, 100), shed);
+        assertEquals(90, dropping.dropped());
+    }
+
+    @Test
+    void testDropOldestKeepsNewestItems() throws InterruptedException {
+        List<Integer> shed = Collections.synchronizedList(new ArrayList<>());
+        TestObserver<Integer> observer = new TestObserver<>();
+        blockScheduler();
+
+        OverflowObservable<Integer> dropping = range(100, new AtomicInteger())
+                .onOverflowBuffer(10, OverflowStrategy.DROP_OLDEST, shed::add, single);
+        dropping.subscribe(observer);
+        release.countDown();
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(list(90, 100), observer.values);
+        assertEquals(list(0, 90), shed);
+        assertEquals(90, dropping.dropped());
+    }
+
+    @Test
+    void testLatestDeliversMostRecentItem() throws InterruptedException {
+        TestObserver<Integer> observer = new TestObserver<>();
+        blockScheduler();
+
+        OverflowObservable<Integer> latest = range(100, new AtomicInteger()).onOverflowLatest(single);
+        latest.subscribe(observer);
+        release.countDown();
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of(99), observer.values);
+        assertEquals(99, latest.dropped());
+    }
+
+    @Test
+    void testOnOverflowDropWithoutCallback() throws InterruptedException {
+        TestObserver<Integer> observer = new TestObserver<>();
+        blockScheduler();
+
+        OverflowObservable<Integer> dropping = range(100, new AtomicInteger()).onOverflowDrop(4, single);
+        dropping.subscribe(observer);
+        release.countDown();
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(list(0, 4), observer.values);
+        assertEquals(96, dropping.dropped());
+    }
+
+    @Test
+    void testErrorStrategyDisposesUpstream() throws InterruptedException {
+        AtomicInteger emitted = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<>();
+        blockScheduler();
+
+        range(100, emitted).onOverflowBuffer(10, OverflowStrategy.ERROR, null, single).subscribe(observer);
+        release.countDown();
+
+        observer.awaitTerminal();
+        assertEquals(list(0, 10), observer.values);
+        assertInstanceOf(MissingBackpressureException.class, observer.error);
+        assertEquals(11, emitted.get());
+    }
+
+    @Test
+    void testFailingCallbackSignalsError() throws InterruptedException {
+        AtomicInteger emitted = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<>();
+        blockScheduler();
+
+        range(100, emitted).onOverflowBuffer(10, OverflowStrategy.DROP_LATEST, item -> {
+            throw new IllegalStateException("rejected " + item);
+        }, single).subscribe(observer);
+        release.countDown();
+
+        observer.awaitTerminal();
+        assertEquals("rejected 10", observer.error.getMessage());
+        assertEquals(11, emitted.get());
+    }
+
+    @Test
+    void testConcurrentDropOldestLosesNothingUncounted() throws InterruptedException {
+        int count = 500_000;
+        IOThreadScheduler io = new IOThreadScheduler();
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<>() {
+            private int last = -1;
+
+            @Override
+            public void onNext(Integer item) {
+                if (item <= last) {
+                    outOfOrder.incrementAndGet();
+                }
+                last = item;
+                received.incrementAndGet();
+            }
+        };
+
+        OverflowObservable<Integer> dropping = Observable.range(0, count)
+                .subscribeOn(io)
+                .onOverflowBuffer(8, OverflowStrategy.DROP_OLDEST, null, single);
+        dropping.subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(0, outOfOrder.get());
+        assertEquals(count, received.get() + dropping.dropped());
+        io.shutdown();
+    }
+}
@@ -0,0 +1,112 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTest {
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testSequentialDeliversEveryItem() throws InterruptedException {
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        range(10_000).parallel(4)
+                .runOn(new ComputationScheduler(4))
+                .map(i -> i * 2)
+                .filter(i -> i % 3 == 0)
+                .sequential()
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        List<Integer> expected = IntStream.range(0, 10_000).map(i -> i * 2).filter(i -> i % 3 == 0)
+                .boxed().collect(Collectors.toList());
+        List<Integer> actual = new ArrayList<>(observer.values);
+        actual.sort(Comparator.naturalOrder());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testRailsRunOnDifferentThreads() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+
+        range(1000).parallel(2)
+                .runOn(new ComputationScheduler(2))
+                .map(i -> Thread.currentThread().getName())
+                .sequential()
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(2, new HashSet<>(observer.values).size());
+    }
+
+    @Test
+    void testSortedMergesRailsInOrder() throws InterruptedException {
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        range(1000).map(i -> (i * 7919) % 1000)
+                .parallel(3)
+                .runOn(new ComputationScheduler(3))
+                .sorted(Comparator.naturalOrder())
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), observer.values);
+    }
+
+    @Test
+    void testReduce() throws InterruptedException {
+        TestObserver<Integer> total = new TestObserver<>();
+        TestObserver<Integer> perRail = new TestObserver<>();
+
+        range(101).parallel(4).runOn(new ComputationScheduler(4)).reduce(Integer::sum).subscribe(total);
+        range(100).parallel(4).reduce(() -> 0, (acc, i) -> acc + 1).sequential().subscribe(perRail);
+
+        total.awaitTerminal().assertComplete();
+        assertEquals(List.of(5050), total.values);
+        perRail.awaitTerminal().assertComplete();
+        assertEquals(List.of(25, 25, 25, 25), perRail.values);
+    }
+
+    @Test
+    void testErrorInRailTerminatesOnce() throws InterruptedException {
+        TestObserver<Integer> observer = new TestObserver<>();
+        RuntimeException failure = new RuntimeException("boom");
+
+        range(100).parallel(4)
+                .runOn(new ComputationScheduler(4))
+                .map(i -> {
+                    if (i == 50) {
+                        throw failure;
+                    }
+                    return i;
+                })
+                .sequential()
+                .subscribe(observer);
+
+        observer.awaitTerminal();
+        assertSame(failure, observer.error);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testInvalidRails() {
+        assertThrows(IllegalArgumentException.class, () -> range(1).parallel(0));
+    }
+}
@@ -0,0 +1,100 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.ObservablePlugins;
+import core.StageMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import schedulers.SingleThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PluginsTest {
+
+    @AfterEach
+    void resetPlugins() {
+        ObservablePlugins.reset();
+    }
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testAssemblyHookSeesEveryOperator() throws InterruptedException {
+        List<String> assembled = new ArrayList<>();
+        ObservablePlugins.setOnAssembly(observable -> {
+            assembled.add(StageMetrics.operatorName(observable));
+            return observable;
+        });
+
+        TestObserver<Integer> observer = new TestObserver<>();
+        range(3).map(i -> i + 1).flatMap(i -> range(i)).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of("Create", "MapFilter", "FlatMap", "Create", "Create", "Create"), assembled);
+    }
+
+    @Test
+    void testStageMetricsCountsItemsPerStage() throws InterruptedException {
+        StageMetrics metrics = new StageMetrics();
+        ObservablePlugins.setOnSubscribe(metrics);
+
+        TestObserver<Integer> observer = new TestObserver<>();
+        range(100)
+                .map(i -> i * 2)
+                .filter(i -> i % 4 == 0)
+                .observeOn(new SingleThreadScheduler())
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        Map<String, StageMetrics.Stage> stages = metrics.stages();
+        assertEquals(100, stages.get("Create").items());
+        assertEquals(50, stages.get("MapFilter").items());
+        assertEquals(50, stages.get("ObserveOn").items());
+        assertEquals(1, stages.get("ObserveOn").completions());
+        assertEquals(50, stages.get("ObserveOn").onNextLatency().count());
+    }
+
+    @Test
+    void testStageMetricsCountsErrors() throws InterruptedException {
+        StageMetrics metrics = new StageMetrics();
+        ObservablePlugins.setOnSubscribe(metrics);
+
+        TestObserver<Integer> observer = new TestObserver<>();
+        range(10).map(i -> 10 / (i - 5)).subscribe(observer);
+
+        observer.awaitTerminal();
+        assertInstanceOf(ArithmeticException.class, observer.error);
+        assertEquals(1, metrics.stages().get("MapFilter").errors());
+        assertEquals(5, metrics.stages().get("MapFilter").items());
+    }
+
+    @Test
+    void testNoWrappingAfterReset() throws InterruptedException {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ObservablePlugins.setOnSubscribe((observable, observer) -> {
+            subscriptions.incrementAndGet();
+            return observer;
+        });
+        range(1).map(i -> i).subscribe(new TestObserver<>());
+        int seen = subscriptions.get();
+
+        ObservablePlugins.reset();
+        TestObserver<Integer> observer = new TestObserver<>();
+        range(1).map(i -> i).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(2, seen);
+        assertEquals(2, subscriptions.get());
+    }
+}
@@ -0,0 +1,315 @@
+import core.Disposable;
+import core.DoubleObservable;
+import core.IntObservable;
+import core.LongObservable;
+import core.LongObserver;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.Observer;
+import org.junit.jupiter.api.Test;
+import schedulers.IOThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveObservablesTest {
+
+    private static List<Long> collect(LongObservable observable, AtomicBoolean completed) {
+        List<Long> received = new ArrayList<>();
+        observable.subscribe(new LongObserver() {
+            private boolean disposed = false;
+
+            @Override
+            public void onNext(long item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail("Unexpected error");
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+
+            @Override
+            public void dispose() {
+                disposed = true;
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return disposed;
+            }
+        });
+        return received;
+    }
+
+    /**
+     * Emits until its cancellable runs; it never polls isDisposed, so only a dispose
+     * that reaches the subscription stops it.
+     */
+    private static Observable<Integer> untilCancelled(AtomicBoolean cancelled) {
+        return Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+            emitter.setCancellable(() -> cancelled.set(true));
+            for (int i = 0; !cancelled.get(); i++) {
+                emitter.onNext(i);
+            }
+        });
+    }
+
+    private static void awaitTrue(AtomicBoolean flag) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!flag.get() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(flag.get());
+    }
+
+    @Test
+    void testLongMapFilter() {
+        AtomicBoolean completed = new AtomicBoolean();
+
+        List<Long> received = collect(LongObservable.range(0, 10)
+                .map(i -> i * 1_000_000_000L)
+                .filter(i -> i % 3 == 0), completed);
+
+        assertEquals(List.of(0L, 3_000_000_000L, 6_000_000_000L, 9_000_000_000L), received);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testLongAggregates() {
+        assertEquals(List.of(45L), collect(LongObservable.range(0, 10).sum(), new AtomicBoolean()));
+        assertEquals(List.of(3L), collect(LongObservable.fromArray(7, 3, 9).min(), new AtomicBoolean()));
+        assertEquals(List.of(9L), collect(LongObservable.fromArray(7, 3, 9).max(), new AtomicBoolean()));
+        assertEquals(List.of(120L), collect(LongObservable.range(1, 5).reduce(1, (a, b) -> a * b), new AtomicBoolean()));
+
+        AtomicBoolean completed = new AtomicBoolean();
+        assertEquals(List.of(), collect(LongObservable.fromArray().max(), completed));
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testRangeEdges() {
+        assertEquals(List.of(Long.MAX_VALUE - 1, Long.MAX_VALUE),
+                collect(LongObservable.range(Long.MAX_VALUE - 1, 2), new AtomicBoolean()));
+        assertEquals(List.of(), collect(LongObservable.range(Long.MAX_VALUE, 0), new AtomicBoolean()));
+        assertThrows(IllegalArgumentException.class, () -> LongObservable.range(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> LongObservable.range(Long.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> LongObservable.range(2, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> IntObservable.range(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> IntObservable.range(Integer.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> IntObservable.range(2, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testBoxedAndMapToObj() {
+        TestObserver<Integer> boxed = new TestObserver<>();
+        TestObserver<String> mapped = new TestObserver<>();
+
+        IntObservable.range(1, 3).boxed().subscribe(boxed);
+        DoubleObservable.fromArray(0.5, 1.5).mapToObj(d -> "d" + d).subscribe(mapped);
+
+        assertEquals(List.of(1, 2, 3), boxed.values);
+        boxed.assertComplete();
+        assertEquals(List.of("d0.5", "d1.5"), mapped.values);
+        mapped.assertComplete();
+    }
+
+    @Test
+    void testObservableToPrimitiveAndBack() {
+        TestObserver<Double> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<String>) emitter -> {
+                    emitter.onNext("1.5");
+                    emitter.onNext("2.5");
+                    emitter.onNext("-4");
+                    emitter.onComplete();
+                })
+                .mapToDouble(Double::parseDouble)
+                .filter(d -> d > 0)
+                .sum()
+                .boxed()
+                .subscribe(observer);
+
+        assertEquals(List.of(4.0), observer.values);
+        observer.assertComplete();
+    }
+
+    @Test
+    void testPrimitiveMapError() {
+        RuntimeException testError = new RuntimeException("Map error");
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        IntObservable.range(0, 5)
+                .map(i -> {
+                    if (i == 2) throw testError;
+                    return i;
+                })
+                .boxed()
+                .subscribe(observer);
+
+        assertEquals(List.of(0, 1), observer.values);
+        assertSame(testError, observer.error);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testFunctionErrorStopsSource() {
+        RuntimeException testError = new RuntimeException("Function error");
+        AtomicLong produced = new AtomicLong();
+        LongObservable counted = LongObservable.range(0, 1_000_000)
+                .filter(i -> produced.incrementAndGet() > 0);
+        List<LongObservable> failing = List.of(
+                counted.map(i -> {
+                    if (i == 3) throw testError;
+                    return i;
+                }),
+                counted.filter(i -> {
+                    if (i == 3) throw testError;
+                    return true;
+                }),
+                counted.reduce(0, (a, b) -> {
+                    if (b == 3) throw testError;
+                    return a + b;
+                }),
+                Observable.create((ObservableOnSubscribe<Long>) emitter -> {
+                            for (long i = 0; i < 1_000_000 && !emitter.isDisposed(); i++) {
+                                produced.incrementAndGet();
+                                emitter.onNext(i);
+                            }
+                        })
+                        .mapToLong(i -> {
+                            if (i == 3) throw testError;
+                            return i;
+                        }));
+
+        for (LongObservable observable : failing) {
+            produced.set(0);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            observable.subscribe(new LongObserver() {
+                @Override
+                public void onNext(long item) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    fail("Unexpected completion");
+                }
+
+                @Override
+                public void dispose() {
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return false;
+                }
+            });
+
+            assertSame(testError, error.get());
+            assertEquals(4, produced.get());
+        }
+    }
+
+    @Test
+    void testDisposeReachesObservableUpstream() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CountDownLatch first = new CountDownLatch(1);
+
+        Disposable subscription = untilCancelled(cancelled)
+                .subscribeOn(io)
+                .mapToLong(i -> i)
+                .map(i -> i + 1)
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long item) {
+                        first.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+
+                    @Override
+                    public void dispose() {
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return false;
+                    }
+                });
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        subscription.dispose();
+
+        awaitTrue(cancelled);
+        io.shutdown();
+    }
+
+    @Test
+    void testDisposeOfBoxedStreamStopsPrimitiveSource() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        AtomicLong produced = new AtomicLong();
+        AtomicBoolean disposed = new AtomicBoolean();
+
+        Disposable subscription = LongObservable.range(0, Long.MAX_VALUE)
+                .filter(i -> produced.incrementAndGet() > 0)
+                .boxed()
+                .subscribeOn(io)
+                .subscribe(new Observer<Long>() {
+                    @Override
+                    public void onNext(Long item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+
+                    @Override
+                    public void dispose() {
+                        disposed.set(true);
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return disposed.get();
+                    }
+                });
+        while (produced.get() == 0) {
+            Thread.sleep(1);
+        }
+        subscription.dispose();
+        Thread.sleep(20);
+        long afterDispose = produced.get();
+        Thread.sleep(100);
+
+        assertEquals(afterDispose, produced.get());
+        io.shutdown();
+    }
+}
@@ -0,0 +1,156 @@
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.IOThreadScheduler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceTest {
+
+    private final IOThreadScheduler io = new IOThreadScheduler();
+    private final ComputationScheduler timers = new ComputationScheduler(2);
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger disposals = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        io.shutdown();
+        timers.shutdown();
+    }
+
+    /**
+     * Stands in for a backend call: the n-th subscription answers "reply n" after
+     * {@code latencies[n]} milliseconds, or the last latency once they run out. A negative
+     * latency fails after its absolute value instead.
+     */
+    private Observable<String> backend(long... latencies) {
+        return Observable.create((ObservableOnSubscribe<String>) emitter -> {
+            int n = subscriptions.getAndIncrement();
+            long latency = latencies[Math.min(n, latencies.length - 1)];
+            Disposable reply = io.schedule(() -> {
+                if (latency < 0) {
+                    emitter.onError(new IllegalStateException("failure " + n));
+                } else {
+                    emitter.onNext("reply " + n);
+                    emitter.onComplete();
+                }
+            }, Math.abs(latency), TimeUnit.MILLISECONDS);
+            emitter.setCancellable(() -> {
+                if (!reply.isDisposed()) {
+                    disposals.incrementAndGet();
+                }
+                reply.dispose();
+            });
+        });
+    }
+
+    @Test
+    void testTimeoutSwitchesToFallback() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+
+        backend(500).timeout(30, TimeUnit.MILLISECONDS, Observable.just("fallback"), timers).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of("fallback"), observer.values);
+        assertEquals(1, disposals.get());
+    }
+
+    @Test
+    void testTimeoutKeepsTimelySource() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+
+        backend(5).timeout(500, TimeUnit.MILLISECONDS, Observable.just("fallback"), timers).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of("reply 0"), observer.values);
+    }
+
+    @Test
+    void testRetryWithBackoffWaitsLongerEachTime() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+        long start = System.nanoTime();
+
+        backend(-1, -1, -1, 1).retryWithBackoff(5, 20, 1000, TimeUnit.MILLISECONDS, timers).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of("reply 3"), observer.values);
+        assertEquals(4, subscriptions.get());
+        // waits of 20, 40 and 80 ms, each shortened by at most half
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(70));
+    }
+
+    @Test
+    void testRetryWithBackoffGivesUpAfterMaxRetries() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+
+        backend(-1).retryWithBackoff(2, 1, 10, TimeUnit.MILLISECONDS, timers).subscribe(observer);
+
+        observer.awaitTerminal();
+        assertEquals("failure 2", observer.error.getMessage());
+        assertEquals(3, subscriptions.get());
+    }
+
+    @Test
+    void testRetryWhenHandlerEndsStream() throws InterruptedException {
+        TestObserver<String> completed = new TestObserver<>();
+        TestObserver<String> failed = new TestObserver<>();
+
+        backend(5).retryWhen(errors -> Observable.empty()).subscribe(completed);
+        backend(-1).retryWhen(errors -> errors.flatMap(e -> Observable.error(new IllegalArgumentException("stop"))))
+                .subscribe(failed);
+
+        completed.awaitTerminal().assertComplete();
+        assertTrue(completed.values.isEmpty());
+        failed.awaitTerminal();
+        assertEquals("stop", failed.error.getMessage());
+    }
+
+    @Test
+    void testHedgeKeepsFasterAttemptAndDisposesSlowOne() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+        long start = System.nanoTime();
+
+        backend(2000, 20).hedge(50, TimeUnit.MILLISECONDS, 3, timers).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of("reply 1"), observer.values);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(2, subscriptions.get());
+        assertEquals(1, disposals.get());
+    }
+
+    @Test
+    void testHedgeDoesNotResubscribeFastSource() throws InterruptedException {
+        TestObserver<String> observer = new TestObserver<>();
+
+        backend(5).hedge(200, TimeUnit.MILLISECONDS, 3, timers).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        Thread.sleep(250);
+        assertEquals(List.of("reply 0"), observer.values);
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void testHedgeFailsOnlyWhenEveryAttemptFails() throws InterruptedException {
+        TestObserver<String> recovered = new TestObserver<>();
+        TestObserver<String> failed = new TestObserver<>();
+
+        backend(-5, 5).hedge(1000, TimeUnit.MILLISECONDS, 2, timers).subscribe(recovered);
+        recovered.awaitTerminal().assertComplete();
+        assertEquals(List.of("reply 1"), recovered.values);
+
+        subscriptions.set(0);
+        backend(-5).hedge(1000, TimeUnit.MILLISECONDS, 3, timers).subscribe(failed);
+        failed.awaitTerminal();
+        assertEquals("failure 2", failed.error.getMessage());
+        assertEquals(3, subscriptions.get());
+    }
+}
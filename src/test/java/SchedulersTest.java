@@ -1,17 +1,34 @@
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.Observer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 import schedulers.ComputationScheduler;
 import schedulers.IOThreadScheduler;
+import schedulers.Scheduler;
+import schedulers.SchedulerMetrics;
 import schedulers.SingleThreadScheduler;
+import schedulers.VirtualThreadScheduler;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class SchedulersTest {
 
@@ -235,4 +252,227 @@ class SchedulersTest {
         assertNotEquals(threadNames.get(1), threadNames.get(2));
         assertNotEquals(threadNames.get(0), threadNames.get(2));
     }
+
+    @Test
+    void testVirtualThreadScheduler() throws InterruptedException {
+        TestObserver<Boolean> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Boolean>) emitter -> {
+                    emitter.onNext(Thread.currentThread().isVirtual());
+                    emitter.onComplete();
+                })
+                .subscribeOn(new VirtualThreadScheduler())
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of(true), observer.values);
+    }
+
+    @Test
+    void testVirtualThreadSchedulerConcurrencyLimit() throws InterruptedException {
+        int tasks = 200;
+        int limit = 8;
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler(limit);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++) {
+            scheduler.execute(() -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                active.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(maxActive.get() <= limit, "Active tasks: " + maxActive.get());
+    }
+
+    @Test
+    void testComputationWorkerIsPinnedToOneThread() throws InterruptedException {
+        Scheduler.Worker worker = new ComputationScheduler(4).createWorker();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            worker.execute(() -> {
+                order.add(index);
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), order);
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    void testComputationWorkersAreSpreadRoundRobin() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.createWorker().execute(() -> {
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    void testDefaultWorkerRunsTasksSerially() throws InterruptedException {
+        Scheduler.Worker worker = new IOThreadScheduler().createWorker();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(50);
+
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            worker.execute(() -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                order.add(index);
+                active.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, maxActive.get());
+        assertEquals(IntStream.range(0, 50).boxed().collect(Collectors.toList()), order);
+    }
+
+    @Test
+    void testDisposedWorkerDropsPendingTasks() throws InterruptedException {
+        Scheduler.Worker worker = new SingleThreadScheduler().createWorker();
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        worker.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.execute(runs::incrementAndGet);
+        worker.dispose();
+        worker.execute(runs::incrementAndGet);
+        blocker.countDown();
+        Thread.sleep(50);
+
+        assertTrue(worker.isDisposed());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testShutdownDrainsSubmittedTasks() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2);
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(() -> {
+                sleep(5);
+                runs.incrementAndGet();
+            });
+        }
+
+        scheduler.shutdown();
+
+        assertTrue(scheduler.isShutdown());
+        assertTrue(scheduler.awaitTermination(2, TimeUnit.SECONDS));
+        assertEquals(10, runs.get());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> { }));
+    }
+
+    @Test
+    void testSchedulerThreadsAreDaemons() throws InterruptedException {
+        for (Scheduler scheduler : List.of(new ComputationScheduler(1), new IOThreadScheduler(), new SingleThreadScheduler())) {
+            TestObserver<Boolean> observer = new TestObserver<>();
+            Observable.create((ObservableOnSubscribe<Boolean>) emitter -> {
+                emitter.onNext(Thread.currentThread().isDaemon());
+                emitter.onComplete();
+            }).subscribeOn(scheduler).subscribe(observer);
+
+            observer.awaitTerminal().assertComplete();
+            assertEquals(List.of(true), observer.values);
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void testMetricsCountTasksAndLatencies() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 4; i++) {
+            scheduler.execute(() -> sleep(1));
+        }
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        SchedulerMetrics metrics = scheduler.metrics();
+        assertEquals(5, metrics.submittedTasks());
+        assertEquals(4, metrics.queueDepth());
+        assertEquals(1, metrics.activeThreads());
+        assertEquals(0, metrics.idleThreads());
+
+        blocker.countDown();
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(5, metrics.completedTasks());
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(5, metrics.queueWait().count());
+        assertEquals(5, metrics.runTime().count());
+        assertTrue(metrics.runTime().percentile(80) >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void testSlowTasksAreRecordedAsJfrEvents() throws Exception {
+        Path file = Files.createTempFile("scheduler", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("schedulers.SlowTask").withThreshold(Duration.ofMillis(10));
+            recording.start();
+            SingleThreadScheduler scheduler = new SingleThreadScheduler();
+            scheduler.execute(() -> sleep(1));
+            scheduler.execute(() -> sleep(30));
+            scheduler.shutdown();
+            assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertEquals(1, events.size());
+        assertEquals("single", events.get(0).getString("scheduler"));
+        assertTrue(events.get(0).getDuration().toMillis() >= 30);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
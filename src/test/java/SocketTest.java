@@ -0,0 +1,162 @@
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocketTest {
+
+    private AsynchronousChannelGroup group;
+    private AsynchronousServerSocketChannel server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        group = AsynchronousChannelGroup.withFixedThreadPool(2, Executors.defaultThreadFactory());
+        server = AsynchronousServerSocketChannel.open(group)
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        server.close();
+        group.shutdownNow();
+        group.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private AsynchronousSocketChannel connect() throws Exception {
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open(group);
+        client.connect(server.getLocalAddress()).get(5, TimeUnit.SECONDS);
+        return client;
+    }
+
+    private static Observable<ByteBuffer> buffers(String... parts) {
+        return Observable.create((ObservableOnSubscribe<ByteBuffer>) emitter -> {
+            for (String part : parts) {
+                emitter.onNext(ByteBuffer.wrap(part.getBytes(StandardCharsets.UTF_8)));
+            }
+            emitter.onComplete();
+        });
+    }
+
+    private static String text(List<ByteBuffer> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void close(AsynchronousSocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testEchoServerHandlesManyConnectionsOnTwoThreads() throws Exception {
+        int clients = 100;
+        TestObserver<Long> serverObserver = new TestObserver<>();
+        Disposable serverSubscription = Observable.accept(server)
+                .flatMap(channel -> Observable.writeTo(Observable.fromChannel(channel), channel)
+                        .map(bytes -> {
+                            close(channel);
+                            return bytes;
+                        }))
+                .subscribe(serverObserver);
+
+        List<AsynchronousSocketChannel> channels = new ArrayList<>();
+        List<TestObserver<Long>> writes = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            AsynchronousSocketChannel client = connect();
+            TestObserver<Long> write = new TestObserver<>();
+            Observable.writeTo(buffers("hello ", "from ", "client " + i), client).subscribe(write);
+            channels.add(client);
+            writes.add(write);
+        }
+        List<TestObserver<ByteBuffer>> reads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            writes.get(i).awaitTerminal().assertComplete();
+            channels.get(i).shutdownOutput();
+            TestObserver<ByteBuffer> read = new TestObserver<>();
+            Observable.fromChannel(channels.get(i)).subscribe(read);
+            reads.add(read);
+        }
+
+        for (int i = 0; i < clients; i++) {
+            reads.get(i).awaitTerminal().assertComplete();
+            assertEquals("hello from client " + i, text(reads.get(i).values));
+            channels.get(i).close();
+        }
+        serverSubscription.dispose();
+        assertFalse(server.isOpen());
+        assertNull(serverObserver.error);
+    }
+
+    @Test
+    void testGatheringWriteSendsEveryBuffer() throws Exception {
+        int buffers = 10_000;
+        TestObserver<ByteBuffer> received = new TestObserver<>();
+        Observable.accept(server)
+                .flatMap(Observable::fromChannel)
+                .subscribe(received);
+        AsynchronousSocketChannel client = connect();
+        TestObserver<Long> write = new TestObserver<>();
+
+        Observable.writeTo(Observable.create((ObservableOnSubscribe<ByteBuffer>) emitter -> {
+            for (int i = 0; i < buffers; i++) {
+                emitter.onNext(ByteBuffer.wrap(new byte[]{(byte) i, (byte) (i >> 8)}));
+            }
+            emitter.onComplete();
+        }), client).subscribe(write);
+
+        write.awaitTerminal().assertComplete();
+        assertEquals(List.of(2L * buffers), write.values);
+        client.shutdownOutput();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        long total = 0;
+        while (total < 2L * buffers && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            synchronized (received.values) {
+                total = received.values.stream().mapToLong(ByteBuffer::remaining).sum();
+            }
+        }
+        assertEquals(2L * buffers, total);
+        client.close();
+    }
+
+    @Test
+    void testDisposeStopsReadingWithoutClosing() throws Exception {
+        TestObserver<AsynchronousSocketChannel> accepted = new TestObserver<>();
+        Observable.accept(server).subscribe(accepted);
+        AsynchronousSocketChannel client = connect();
+        TestObserver<ByteBuffer> read = new TestObserver<>();
+
+        Disposable d = Observable.fromChannel(client).subscribe(read);
+        d.dispose();
+        Thread.sleep(50);
+
+        assertTrue(client.isOpen());
+        assertNull(read.error);
+        assertEquals(0, read.completions);
+        client.close();
+    }
+}
@@ -0,0 +1,162 @@
+import core.Observable;
+import core.ObservablePlugins;
+import core.StageMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import schedulers.IOThreadScheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourcesTest {
+
+    @AfterEach
+    void resetPlugins() {
+        ObservablePlugins.reset();
+    }
+
+    @Test
+    void testRange() {
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.range(5, 4).subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(List.of(5, 6, 7, 8), observer.values);
+    }
+
+    @Test
+    void testRangeEdges() {
+        TestObserver<Integer> empty = new TestObserver<>();
+        TestObserver<Integer> last = new TestObserver<>();
+
+        Observable.range(0, 0).subscribe(empty);
+        Observable.range(Integer.MAX_VALUE - 1, 2).subscribe(last);
+
+        empty.assertComplete();
+        assertTrue(empty.values.isEmpty());
+        last.assertComplete();
+        assertEquals(List.of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), last.values);
+        assertThrows(IllegalArgumentException.class, () -> Observable.range(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> Observable.range(Integer.MAX_VALUE, 2));
+    }
+
+    @Test
+    void testRangeStopsWhenDisposed() {
+        TestObserver<Integer> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 2) {
+                    dispose();
+                }
+            }
+        };
+
+        Observable.range(0, 1_000_000).subscribe(observer);
+
+        assertEquals(List.of(0, 1, 2), observer.values);
+        assertEquals(0, observer.completions);
+    }
+
+    @Test
+    void testFromArrayAndFromIterable() {
+        TestObserver<String> array = new TestObserver<>();
+        TestObserver<String> iterable = new TestObserver<>();
+
+        Observable.fromArray("a", "b", "c").subscribe(array);
+        Observable.fromIterable(List.of("x", "y")).subscribe(iterable);
+
+        array.assertComplete();
+        assertEquals(List.of("a", "b", "c"), array.values);
+        iterable.assertComplete();
+        assertEquals(List.of("x", "y"), iterable.values);
+    }
+
+    @Test
+    void testFromIterableFailingIterator() {
+        TestObserver<Integer> observer = new TestObserver<>();
+        Iterable<Integer> failing = () -> new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 2) {
+                    throw new IllegalStateException("broken");
+                }
+                return next++;
+            }
+        };
+
+        Observable.fromIterable(failing).subscribe(observer);
+
+        assertEquals(List.of(0, 1), observer.values);
+        assertInstanceOf(IllegalStateException.class, observer.error);
+    }
+
+    @Test
+    void testJustEmptyError() {
+        TestObserver<Integer> just = new TestObserver<>();
+        TestObserver<Integer> empty = new TestObserver<>();
+        TestObserver<Integer> error = new TestObserver<>();
+
+        Observable.just(1).subscribe(just);
+        Observable.<Integer>empty().subscribe(empty);
+        Observable.<Integer>error(new IllegalStateException("failed")).subscribe(error);
+
+        just.assertComplete();
+        assertEquals(List.of(1), just.values);
+        empty.assertComplete();
+        assertTrue(empty.values.isEmpty());
+        assertEquals("failed", error.error.getMessage());
+    }
+
+    @Test
+    void testFlatMapEmitsScalarInnersWithoutSubscribing() {
+        StageMetrics metrics = new StageMetrics();
+        ObservablePlugins.setOnSubscribe(metrics);
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.range(0, 100)
+                .flatMap(i -> i % 2 == 0 ? Observable.just(i) : Observable.<Integer>empty())
+                .subscribe(observer);
+
+        observer.assertComplete();
+        assertEquals(50, observer.values.size());
+        assertEquals(98, observer.values.get(49));
+        assertFalse(metrics.stages().containsKey("Just"));
+        assertFalse(metrics.stages().containsKey("Empty"));
+    }
+
+    @Test
+    void testConcatMapKeepsOrderAcrossScalarAndAsyncInners() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.range(0, 50)
+                .concatMap(i -> i % 3 == 0
+                        ? Observable.just(i * 10)
+                        : Observable.range(i * 10, 3).subscribeOn(io))
+                .subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            if (i % 3 == 0) {
+                expected.add(i * 10);
+            } else {
+                expected.addAll(List.of(i * 10, i * 10 + 1, i * 10 + 2));
+            }
+        }
+        assertEquals(expected, observer.values);
+        io.shutdown();
+    }
+}
@@ -0,0 +1,147 @@
+import core.BehaviorSubject;
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import core.PublishSubject;
+import core.ReplaySubject;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubjectsTest {
+
+    @Test
+    void testPublishSubjectEmitsOnlyLaterItems() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestObserver<Integer> early = new TestObserver<>();
+        TestObserver<Integer> late = new TestObserver<>();
+
+        subject.subscribe(early);
+        subject.onNext(1);
+        Disposable d = subject.map(i -> i * 10).subscribe(late);
+        assertTrue(subject.hasObservers());
+        subject.onNext(2);
+        d.dispose();
+        subject.onNext(3);
+        subject.onComplete();
+
+        assertEquals(List.of(1, 2, 3), early.values);
+        early.assertComplete();
+        assertEquals(List.of(20), late.values);
+        assertEquals(0, late.completions);
+        assertTrue(subject.hasComplete());
+
+        TestObserver<Integer> afterTerminal = new TestObserver<>();
+        subject.subscribe(afterTerminal);
+        assertTrue(afterTerminal.values.isEmpty());
+        afterTerminal.assertComplete();
+    }
+
+    @Test
+    void testBehaviorSubjectStartsWithLatest() {
+        BehaviorSubject<String> subject = BehaviorSubject.createDefault("a");
+        TestObserver<String> first = new TestObserver<>();
+        TestObserver<String> second = new TestObserver<>();
+
+        subject.subscribe(first);
+        subject.onNext("b");
+        subject.onNext("c");
+        subject.subscribe(second);
+        subject.onNext("d");
+
+        assertEquals(List.of("a", "b", "c", "d"), first.values);
+        assertEquals(List.of("c", "d"), second.values);
+        assertEquals("d", subject.getValue());
+
+        RuntimeException error = new RuntimeException("boom");
+        subject.onError(error);
+        TestObserver<String> afterTerminal = new TestObserver<>();
+        subject.subscribe(afterTerminal);
+        assertTrue(afterTerminal.values.isEmpty());
+        assertSame(error, afterTerminal.error);
+        assertSame(error, subject.getThrowable());
+    }
+
+    @Test
+    void testReplaySubjectWithSize() {
+        ReplaySubject<Integer> subject = ReplaySubject.createWithSize(2);
+        for (int i = 0; i < 5; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+        TestObserver<Integer> late = new TestObserver<>();
+
+        subject.subscribe(late);
+
+        assertEquals(List.of(3, 4), late.values);
+        late.assertComplete();
+    }
+
+    @Test
+    void testReplaySubjectWithTimeSkipsStaleItems() {
+        AtomicLong now = new AtomicLong();
+        Scheduler clock = new Scheduler() {
+            @Override
+            public void execute(Runnable task) {
+                task.run();
+            }
+
+            @Override
+            public long now(TimeUnit unit) {
+                return unit.convert(now.get(), TimeUnit.MILLISECONDS);
+            }
+        };
+        ReplaySubject<Integer> subject = ReplaySubject.createWithTimeAndSize(100, TimeUnit.MILLISECONDS, clock, 10);
+
+        subject.onNext(1);
+        now.set(50);
+        subject.onNext(2);
+        now.set(120);
+        subject.onNext(3);
+        TestObserver<Integer> late = new TestObserver<>();
+        subject.subscribe(late);
+
+        assertEquals(List.of(2, 3), late.values);
+    }
+
+    @Test
+    void testSubjectAsObserverBridgesConcurrentSubscribers() throws InterruptedException {
+        int count = 100_000;
+        ComputationScheduler scheduler = new ComputationScheduler(2);
+        ReplaySubject<Integer> subject = ReplaySubject.createWithSize(8);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        TestObserver<Integer> early = new TestObserver<>();
+        subject.subscribe(early);
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> {
+                    for (int i = 0; i < count; i++) {
+                        if (i == count / 2) {
+                            subscribed.countDown();
+                        }
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .subscribeOn(scheduler)
+                .subscribe(subject);
+
+        assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+        TestObserver<Integer> late = new TestObserver<>();
+        subject.subscribe(late);
+
+        early.awaitTerminal().assertComplete();
+        late.awaitTerminal().assertComplete();
+        assertEquals(count, early.values.size());
+        for (int i = 1; i < late.values.size(); i++) {
+            assertTrue(late.values.get(i) > late.values.get(i - 1), "Out of order at " + i);
+        }
+        assertEquals(count - 1, late.values.get(late.values.size() - 1));
+    }
+}
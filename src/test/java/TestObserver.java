@@ -0,0 +1,61 @@
+import core.Observer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records every signal it receives and lets a test wait for the terminal event.
+ */
+class TestObserver<T> implements Observer<T> {
+    final List<T> values = Collections.synchronizedList(new ArrayList<>());
+    final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile Throwable error;
+    volatile int completions;
+    private volatile boolean disposed;
+
+    @Override
+    public void onNext(T item) {
+        values.add(item);
+        threads.add(Thread.currentThread().getName());
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completions++;
+        terminated.countDown();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    TestObserver<T> awaitTerminal() throws InterruptedException {
+        assertTrue(terminated.await(5, TimeUnit.SECONDS), "No terminal event in time");
+        return this;
+    }
+
+    void assertComplete() {
+        assertNull(error, "Unexpected error");
+        assertEquals(1, completions);
+    }
+}
@@ -0,0 +1,76 @@
+import core.Subscriber;
+import core.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records every signal it receives. Requests {@code initialRequest} items on subscription;
+ * more can be requested from the test with {@link #request(long)}.
+ */
+class TestSubscriber<T> implements Subscriber<T> {
+    final List<T> values = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile Throwable error;
+    volatile int completions;
+    private final long initialRequest;
+    private volatile Subscription subscription;
+
+    TestSubscriber() {
+        this(Long.MAX_VALUE);
+    }
+
+    TestSubscriber(long initialRequest) {
+        this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = s;
+        if (initialRequest != 0) {
+            s.request(initialRequest);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        values.add(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completions++;
+        terminated.countDown();
+    }
+
+    void request(long n) {
+        subscription.request(n);
+    }
+
+    void cancel() {
+        subscription.cancel();
+    }
+
+    TestSubscriber<T> awaitTerminal() throws InterruptedException {
+        assertTrue(terminated.await(5, TimeUnit.SECONDS), "No terminal event in time");
+        return this;
+    }
+
+    void assertComplete() {
+        assertNull(error, "Unexpected error");
+        assertEquals(1, completions);
+    }
+}
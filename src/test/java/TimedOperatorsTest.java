@@ -0,0 +1,140 @@
+import core.Disposable;
+import core.Observable;
+import core.ObservableOnSubscribe;
+import org.junit.jupiter.api.Test;
+import schedulers.ComputationScheduler;
+import schedulers.HashedWheelTimer;
+import schedulers.SingleThreadScheduler;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedOperatorsTest {
+
+    @Test
+    void testScheduleRunsAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        new ComputationScheduler(1).schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void testCancelledTaskNeverRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+
+        Disposable task = scheduler.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        task.dispose();
+        Thread.sleep(100);
+
+        assertTrue(task.isDisposed());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testSchedulePeriodically() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(5);
+        AtomicInteger runs = new AtomicInteger();
+
+        Disposable task = new ComputationScheduler(2).schedulePeriodically(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        task.dispose();
+        int stoppedAt = runs.get();
+        Thread.sleep(50);
+        assertTrue(runs.get() <= stoppedAt + 1, "Task kept running after dispose");
+    }
+
+    @Test
+    void testWheelHandlesManyTimeouts() throws InterruptedException {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 64);
+        int count = 100_000;
+        CountDownLatch fired = new CountDownLatch(count / 2);
+        AtomicInteger cancelledRuns = new AtomicInteger();
+
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                timer.newTimeout(fired::countDown, i % 200, TimeUnit.MILLISECONDS);
+            } else {
+                timer.newTimeout(cancelledRuns::incrementAndGet, 100 + i % 200, TimeUnit.MILLISECONDS).dispose();
+            }
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        Thread.sleep(350);
+        assertEquals(0, cancelledRuns.get());
+        timer.stop();
+    }
+
+    @Test
+    void testTimer() throws InterruptedException {
+        TestObserver<Long> observer = new TestObserver<>();
+
+        Observable.timer(20, TimeUnit.MILLISECONDS, new SingleThreadScheduler()).subscribe(observer);
+
+        observer.awaitTerminal().assertComplete();
+        assertEquals(List.of(0L), observer.values);
+    }
+
+    @Test
+    void testIntervalStopsWhenDisposed() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(5);
+        TestObserver<Long> observer = new TestObserver<>() {
+            @Override
+            public void onNext(Long item) {
+                super.onNext(item);
+                latch.countDown();
+                if (item == 4) {
+                    dispose();
+                }
+            }
+        };
+
+        Observable.interval(5, TimeUnit.MILLISECONDS, new ComputationScheduler()).subscribe(observer);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), observer.values);
+    }
+
+    @Test
+    void testTimeoutFiresOnSilentSource() throws InterruptedException {
+        TestObserver<Integer> observer = new TestObserver<>();
+
+        Observable.create((ObservableOnSubscribe<Integer>) emitter -> emitter.onNext(1))
+                .timeout(30, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+                .subscribe(observer);
+
+        observer.awaitTerminal();
+        assertEquals(List.of(1), observer.values);
+        assertInstanceOf(TimeoutException.class, observer.error);
+    }
+
+    @Test
+    void testTimeoutDoesNotFireOnTimelySource() throws InterruptedException {
+        TestObserver<Long> observer = new TestObserver<>();
+        ComputationScheduler scheduler = new ComputationScheduler();
+
+        Observable.interval(5, TimeUnit.MILLISECONDS, scheduler)
+                .filter(i -> i < 10)
+                .timeout(500, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(observer);
+
+        Thread.sleep(200);
+        assertNull(observer.error);
+        assertEquals(10, observer.values.size());
+        observer.dispose();
+    }
+}